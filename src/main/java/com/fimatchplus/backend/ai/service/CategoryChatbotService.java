@@ -3,7 +3,7 @@ package com.fimatchplus.backend.ai.service;
 import com.fimatchplus.backend.backtest.domain.HoldingSnapshot;
 import com.fimatchplus.backend.backtest.domain.PortfolioSnapshot;
 import com.fimatchplus.backend.backtest.repository.SnapshotRepository;
-import com.fimatchplus.backend.stock.repository.StockRepository;
+import com.fimatchplus.backend.stock.service.StockMasterRegistry;
 import com.fimatchplus.backend.stock.domain.Stock;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,14 +21,14 @@ import java.util.stream.Collectors;
 public class CategoryChatbotService {
     
     private final ChatbotAIService chatbotAIService;
-    private final StockRepository stockRepository;
+    private final StockMasterRegistry stockMasterRegistry;
     private final SnapshotRepository snapshotRepository;
     
     public CategoryChatbotService(ChatbotAIService chatbotAIService, 
-                                StockRepository stockRepository,
+                                StockMasterRegistry stockMasterRegistry,
                                 SnapshotRepository snapshotRepository) {
         this.chatbotAIService = chatbotAIService;
-        this.stockRepository = stockRepository;
+        this.stockMasterRegistry = stockMasterRegistry;
         this.snapshotRepository = snapshotRepository;
     }
     
@@ -197,7 +197,7 @@ public class CategoryChatbotService {
             return Map.of();
         }
         
-        List<Stock> stocks = stockRepository.findByTickerIn(stockCodes);
+        List<Stock> stocks = stockMasterRegistry.findByTickers(stockCodes);
         
         return stocks.stream()
                 .collect(Collectors.toMap(
@@ -13,7 +13,7 @@ import com.fimatchplus.backend.backtest.repository.SnapshotRepository;
 import com.fimatchplus.backend.backtest.repository.BenchmarkPriceRepository;
 import com.fimatchplus.backend.common.exception.ResourceNotFoundException;
 import com.fimatchplus.backend.stock.domain.Stock;
-import com.fimatchplus.backend.stock.repository.StockRepository;
+import com.fimatchplus.backend.stock.service.StockMasterRegistry;
 import com.fimatchplus.backend.backtest.repository.BacktestRuleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,7 +36,7 @@ public class BacktestQueryService {
 
     private final BacktestRepository backtestRepository;
     private final SnapshotRepository snapshotRepository;
-    private final StockRepository stockRepository;
+    private final StockMasterRegistry stockMasterRegistry;
     private final BenchmarkPriceRepository benchmarkPriceRepository;
     private final BacktestRuleRepository backtestRuleRepository;
     private final ObjectMapper objectMapper;
@@ -220,7 +220,7 @@ public class BacktestQueryService {
             return new HashMap<>();
         }
         
-        List<Stock> stocks = stockRepository.findByTickerIn(new ArrayList<>(stockCodes));
+        List<Stock> stocks = stockMasterRegistry.findByTickers(stockCodes);
         
         return stocks.stream()
                 .collect(Collectors.toMap(
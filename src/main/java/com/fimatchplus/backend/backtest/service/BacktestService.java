@@ -37,8 +37,9 @@ public class BacktestService {
     public CreateBacktestResult createBacktest(Long portfolioId, CreateBacktestRequest request) {
         log.info("Creating backtest for portfolioId: {}, title: {}", portfolioId, request.title());
 
-        portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new ResourceNotFoundException("Portfolio not found with id: " + portfolioId));
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new ResourceNotFoundException("Portfolio not found with id: " + portfolioId);
+        }
 
         Backtest backtest = Backtest.create(
                 portfolioId,
@@ -82,8 +83,9 @@ public class BacktestService {
     public List<Backtest> getBacktestsByPortfolioId(Long portfolioId) {
         log.info("Getting backtests for portfolioId: {}", portfolioId);
 
-        portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new ResourceNotFoundException("Portfolio not found with id: " + portfolioId));
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new ResourceNotFoundException("Portfolio not found with id: " + portfolioId);
+        }
 
         return backtestRepository.findByPortfolioIdOrderByCreatedAtDesc(portfolioId);
     }
@@ -97,8 +99,9 @@ public class BacktestService {
     public Map<String, String> getBacktestStatusesByPortfolioId(Long portfolioId) {
         log.info("Getting backtest statuses for portfolioId: {}", portfolioId);
 
-        portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new ResourceNotFoundException("Portfolio not found with id: " + portfolioId));
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new ResourceNotFoundException("Portfolio not found with id: " + portfolioId);
+        }
 
         List<Backtest> backtests = backtestRepository.findByPortfolioIdOrderByCreatedAtDesc(portfolioId);
         
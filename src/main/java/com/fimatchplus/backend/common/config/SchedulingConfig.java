@@ -0,0 +1,35 @@
+package com.fimatchplus.backend.common.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 주기 작업(@Scheduled) 활성화
+ * <ul>
+ *     <li>기본 스케줄러는 스레드 1개라 한 작업이 늦어지면 다른 주기 작업(스트림 flush, 시세 warm 등)이 모두 밀림</li>
+ *     <li>전용 풀로 실행하고, 오래 걸리는 작업은 각 작업에서 backgroundTaskExecutor 등으로 넘김</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("Scheduler-");
+
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+
+        log.info("Task scheduler initialized with pool={}", poolSize);
+
+        return scheduler;
+    }
+}
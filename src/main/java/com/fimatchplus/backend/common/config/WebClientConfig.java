@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -16,20 +17,48 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * KIS API 호출용. 호출별 타임아웃은 응답 시간 분포에 따라 KisPriceClient에서 적용하고, 여기 값은 상한
+     */
     @Bean
     public WebClient stockApiWebClient(
             WebClient.Builder builder,
-            @Value("${kis.stock.base-url}") String baseUrl
+            @Value("${kis.stock.base-url}") String baseUrl,
+            @Value("${kis.http.connect-timeout-ms:5000}") int connectTimeoutMillis,
+            @Value("${kis.http.response-timeout-ms:10000}") long responseTimeoutMillis
     ) {
-        HttpClient httpClient = HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-                .responseTimeout(Duration.ofSeconds(10))
+        return kisWebClient(builder, baseUrl, ConnectionProvider.create("kis"), connectTimeoutMillis, responseTimeoutMillis);
+    }
+
+    /**
+     * KIS 헤지 요청용. 첫 요청과 커넥션 풀을 나누어 느린 커넥션 뒤에 줄 서지 않도록 함
+     */
+    @Bean
+    public WebClient stockApiHedgeWebClient(
+            WebClient.Builder builder,
+            @Value("${kis.stock.base-url}") String baseUrl,
+            @Value("${kis.http.connect-timeout-ms:5000}") int connectTimeoutMillis,
+            @Value("${kis.http.response-timeout-ms:10000}") long responseTimeoutMillis
+    ) {
+        return kisWebClient(builder, baseUrl, ConnectionProvider.create("kis-hedge"), connectTimeoutMillis, responseTimeoutMillis);
+    }
+
+    private WebClient kisWebClient(
+            WebClient.Builder builder,
+            String baseUrl,
+            ConnectionProvider connectionProvider,
+            int connectTimeoutMillis,
+            long responseTimeoutMillis
+    ) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis))
                 .doOnConnected(conn -> 
-                    conn.addHandlerLast(new ReadTimeoutHandler(10, TimeUnit.SECONDS))
-                        .addHandlerLast(new WriteTimeoutHandler(5, TimeUnit.SECONDS))
+                    conn.addHandlerLast(new ReadTimeoutHandler(responseTimeoutMillis, TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(connectTimeoutMillis, TimeUnit.MILLISECONDS))
                 );
 
-        return builder
+        return builder.clone()
                 .baseUrl(baseUrl)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
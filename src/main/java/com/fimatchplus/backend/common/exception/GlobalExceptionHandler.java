@@ -1,7 +1,9 @@
 package com.fimatchplus.backend.common.exception;
 
 import com.fimatchplus.backend.common.dto.ApiResponse;
+import com.fimatchplus.backend.stock.exception.KisRateLimitExceededException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -35,6 +37,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(KisRateLimitExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleKisRateLimitExceededException(KisRateLimitExceededException ex) {
+        log.warn("KIS rate limit exceeded: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error("요청이 많아 잠시 후 다시 시도해주세요");
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         log.error("Validation exception occurred", ex);
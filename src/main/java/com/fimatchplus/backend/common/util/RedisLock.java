@@ -0,0 +1,53 @@
+package com.fimatchplus.backend.common.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Redis 기반 클러스터 단위 락
+ * <ul>
+ *     <li>SET NX + TTL로 획득, 보유자가 죽어도 TTL 후 자동 해제</li>
+ *     <li>해제는 보유자 토큰이 일치할 때만 삭제 (다른 노드의 락을 지우지 않음)</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class RedisLock {
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisLock(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * @return 획득 시 해제에 사용할 보유자 토큰, 이미 다른 노드가 보유 중이면 empty
+     */
+    public Optional<String> tryLock(String key, Duration ttl) {
+        String owner = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, owner, ttl);
+        return Boolean.TRUE.equals(acquired) ? Optional.of(owner) : Optional.empty();
+    }
+
+    public boolean unlock(String key, String owner) {
+        try {
+            Long deleted = redisTemplate.execute(UNLOCK_SCRIPT, List.of(key), owner);
+            return deleted != null && deleted > 0;
+        } catch (Exception e) {
+            log.warn("Failed to release redis lock: {}, error: {}", key, e.getMessage());
+            return false;
+        }
+    }
+}
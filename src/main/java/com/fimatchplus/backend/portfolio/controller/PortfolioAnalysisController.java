@@ -30,11 +30,12 @@ public class PortfolioAnalysisController {
 
     /**
      * 포트폴리오 분석 엔진에서 콜백 수신
-     * 백테스트 엔진의 포트폴리오 분석 결과를 처리
+     * 백테스트 엔진의 포트폴리오 분석 결과를 처리 (runId는 요청 시 콜백 URL에 넣어 보낸 분석 실행 ID)
      */
     @PostMapping("/callback")
     public ResponseEntity<Object> handlePortfolioAnalysisCallback(
             @RequestBody PortfolioAnalysisResponse analysisResponse,
+            @RequestParam(required = false) String runId,
             HttpServletRequest request) {
         
         String clientIP = getClientIP(request);
@@ -46,17 +47,21 @@ public class PortfolioAnalysisController {
                 log.error("Missing portfolioId in callback");
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
             }
+            if (runId == null || runId.isBlank()) {
+                log.error("Missing runId in callback - portfolioId: {}", portfolioId);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
             
             if (Boolean.TRUE.equals(analysisResponse.success())) {
                 PortfolioAnalysisSuccessEvent successEvent = new PortfolioAnalysisSuccessEvent(
-                        portfolioId, analysisResponse);
+                        portfolioId, runId, analysisResponse);
                 applicationEventPublisher.publishEvent(successEvent);
                 
                 log.info("Portfolio analysis success event published - portfolioId: {}", 
                         portfolioId);
             } else {
                 PortfolioAnalysisFailureEvent failureEvent = new PortfolioAnalysisFailureEvent(
-                        portfolioId, "Portfolio analysis failed");
+                        portfolioId, runId, "Portfolio analysis failed");
                 applicationEventPublisher.publishEvent(failureEvent);
                 
                 log.warn("Portfolio analysis failure event published - portfolioId: {}", 
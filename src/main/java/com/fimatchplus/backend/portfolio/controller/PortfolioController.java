@@ -6,11 +6,14 @@ import com.fimatchplus.backend.portfolio.dto.*;
 import com.fimatchplus.backend.portfolio.service.PortfolioAnalysisDetailService;
 import com.fimatchplus.backend.portfolio.service.PortfolioCommandService;
 import com.fimatchplus.backend.portfolio.service.PortfolioQueryService;
+import com.fimatchplus.backend.portfolio.service.PortfolioSummaryStreamService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
@@ -21,6 +24,7 @@ public class PortfolioController {
     private final PortfolioCommandService portfolioCommandService;
     private final PortfolioQueryService portfolioQueryService;
     private final PortfolioAnalysisDetailService portfolioAnalysisDetailService;
+    private final PortfolioSummaryStreamService portfolioSummaryStreamService;
     private final AuthUtil authUtil;
 
     /**
@@ -40,6 +44,21 @@ public class PortfolioController {
         return ApiResponse.success("포트폴리오 통합 정보를 조회합니다", response);
     }
 
+    /**
+     * 사용자 포트폴리오 통합 합계 실시간 구독 (SSE)
+     * <ul>
+     *     <li>연결 직후 현재 합계를 보내고, 보유 종목 시세가 바뀌면 갱신된 합계를 전송</li>
+     *     <li>이벤트 이름: summary, 데이터 형식은 /summary 응답과 동일</li>
+     * </ul>
+     * */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPortfolioSummary(HttpServletRequest request) {
+        Long userId = authUtil.getUserIdFromRequest(request);
+        log.info("GET /api/portfolios/stream - userId: {}", userId);
+
+        return portfolioSummaryStreamService.subscribe(userId);
+    }
+
     /**
      * 포트폴리오 생성
      * <ul>
@@ -0,0 +1,70 @@
+package com.fimatchplus.backend.portfolio.domain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 포트폴리오 보유 종목의 기존 행과 새 목록 사이 변경분
+ * <ul>
+ *     <li>같은 종목(symbol)끼리 순서대로 짝지어 값이 달라진 행만 updates (id, createdAt 유지)</li>
+ *     <li>짝이 없는 새 종목은 inserts, 짝이 없는 기존 행은 deleteIds</li>
+ *     <li>값이 같은 행은 어디에도 포함하지 않음</li>
+ * </ul>
+ */
+public record HoldingChanges(
+        List<Holding> inserts,
+        List<Holding> updates,
+        List<Long> deleteIds
+) {
+
+    public static HoldingChanges between(List<Holding> existing, List<Holding> desired) {
+        Map<String, Deque<Holding>> existingBySymbol = new HashMap<>();
+        for (Holding holding : existing) {
+            existingBySymbol.computeIfAbsent(holding.symbol(), symbol -> new ArrayDeque<>()).add(holding);
+        }
+
+        List<Holding> inserts = new ArrayList<>();
+        List<Holding> updates = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Holding holding : desired) {
+            Deque<Holding> candidates = existingBySymbol.get(holding.symbol());
+            Holding current = candidates != null ? candidates.poll() : null;
+            if (current == null) {
+                inserts.add(holding);
+            } else if (!sameValues(current, holding)) {
+                updates.add(Holding.of(
+                        current.id(), current.portfolioId(), holding.symbol(), holding.shares(),
+                        holding.currentPrice(), holding.totalValue(), holding.changeAmount(), holding.changePercent(),
+                        holding.weight(), current.createdAt(), now
+                ));
+            }
+        }
+
+        List<Long> deleteIds = existingBySymbol.values().stream()
+                .flatMap(Deque::stream)
+                .map(Holding::id)
+                .toList();
+
+        return new HoldingChanges(inserts, updates, deleteIds);
+    }
+
+    public boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && deleteIds.isEmpty();
+    }
+
+    private static boolean sameValues(Holding a, Holding b) {
+        return Objects.equals(a.shares(), b.shares())
+                && Double.compare(a.currentPrice(), b.currentPrice()) == 0
+                && Double.compare(a.totalValue(), b.totalValue()) == 0
+                && Objects.equals(a.changeAmount(), b.changeAmount())
+                && Objects.equals(a.changePercent(), b.changePercent())
+                && Double.compare(a.weight(), b.weight()) == 0;
+    }
+}
@@ -1,6 +1,8 @@
 package com.fimatchplus.backend.portfolio.domain;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 
 public record Portfolio(
         Long id,
@@ -21,7 +23,25 @@ public record Portfolio(
         PENDING,
         RUNNING,
         COMPLETED,
-        FAILED
+        FAILED;
+
+        /**
+         * 이 상태로 바뀔 수 있는 이전 상태
+         * <ul>
+         *     <li>RUNNING: 분석 중이 아닐 때만 (중복 실행 방지). 분석 중이라도 lease(updated_at 기준)가 지났으면 다시 시작 가능</li>
+         *     <li>COMPLETED: 분석 중일 때만 (수정으로 초기화된 뒤 늦게 도착한 결과 무시)</li>
+         *     <li>FAILED: 대기 또는 분석 중일 때만</li>
+         *     <li>PENDING: 포트폴리오 수정 시 어떤 상태에서든</li>
+         * </ul>
+         */
+        public Set<PortfolioStatus> allowedPrevious() {
+            return switch (this) {
+                case RUNNING -> EnumSet.of(PENDING, COMPLETED, FAILED);
+                case COMPLETED -> EnumSet.of(RUNNING);
+                case FAILED -> EnumSet.of(PENDING, RUNNING);
+                case PENDING -> EnumSet.allOf(PortfolioStatus.class);
+            };
+        }
     }
 
     public static Portfolio of(
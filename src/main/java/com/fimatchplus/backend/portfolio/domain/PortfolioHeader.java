@@ -0,0 +1,19 @@
+package com.fimatchplus.backend.portfolio.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오 기본 정보 (분석/리포트 결과 JSON 제외)
+ * 저장용이 아닌 조회 전용 투영이므로 수정 후 저장이 필요하면 {@link Portfolio}를 사용한다.
+ */
+public record PortfolioHeader(
+        Long id,
+        String name,
+        String description,
+        String ruleId,
+        boolean isMain,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long userId,
+        Portfolio.PortfolioStatus status
+) {}
@@ -0,0 +1,13 @@
+package com.fimatchplus.backend.portfolio.domain;
+
+import java.util.List;
+
+/**
+ * 목록 화면용 포트폴리오 기본 정보와 보유 종목 (분석/리포트 결과 제외)
+ */
+public record PortfolioHoldings(
+        Long id,
+        String name,
+        String description,
+        List<Holding> holdings
+) {}
@@ -16,5 +16,9 @@ public record PortfolioStatusResponse(
                 portfolio.status().name()
         );
     }
+
+    public static PortfolioStatusResponse of(Long portfolioId, Portfolio.PortfolioStatus status) {
+        return new PortfolioStatusResponse(portfolioId, status.name());
+    }
 }
 
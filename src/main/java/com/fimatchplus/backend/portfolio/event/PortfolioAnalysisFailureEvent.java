@@ -11,11 +11,13 @@ import org.springframework.context.ApplicationEvent;
 public class PortfolioAnalysisFailureEvent extends ApplicationEvent {
     
     private final Long portfolioId;
+    private final String runId;
     private final String errorMessage;
     
-    public PortfolioAnalysisFailureEvent(Long portfolioId, String errorMessage) {
+    public PortfolioAnalysisFailureEvent(Long portfolioId, String runId, String errorMessage) {
         super(errorMessage);
         this.portfolioId = portfolioId;
+        this.runId = runId;
         this.errorMessage = errorMessage;
     }
 }
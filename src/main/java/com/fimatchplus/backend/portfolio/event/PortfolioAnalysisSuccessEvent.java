@@ -12,11 +12,13 @@ import org.springframework.context.ApplicationEvent;
 public class PortfolioAnalysisSuccessEvent extends ApplicationEvent {
     
     private final Long portfolioId;
+    private final String runId;
     private final PortfolioAnalysisResponse analysisResponse;
     
-    public PortfolioAnalysisSuccessEvent(Long portfolioId, PortfolioAnalysisResponse analysisResponse) {
+    public PortfolioAnalysisSuccessEvent(Long portfolioId, String runId, PortfolioAnalysisResponse analysisResponse) {
         super(analysisResponse);
         this.portfolioId = portfolioId;
+        this.runId = runId;
         this.analysisResponse = analysisResponse;
     }
 }
@@ -2,22 +2,101 @@ package com.fimatchplus.backend.portfolio.repository;
 
 import com.fimatchplus.backend.portfolio.domain.Portfolio;
 import com.fimatchplus.backend.portfolio.domain.Holding;
+import com.fimatchplus.backend.portfolio.domain.HoldingChanges;
+import com.fimatchplus.backend.portfolio.domain.PortfolioHeader;
+import com.fimatchplus.backend.portfolio.domain.PortfolioHoldings;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface PortfolioRepository {
 
-    List<Portfolio> findByUserId(Long userId);
+    /**
+     * 사용자의 삭제되지 않은 포트폴리오 기본 정보 (목록 정렬 순서)
+     */
+    List<PortfolioHeader> findByUserId(Long userId);
 
+    /**
+     * 분석/리포트 결과까지 포함한 전체 정보 (수정 후 저장할 때 사용)
+     */
     Optional<Portfolio> findById(Long portfolioId);
 
+    Optional<PortfolioHeader> findHeaderById(Long portfolioId);
+
+    Optional<Portfolio.PortfolioStatus> findStatusById(Long portfolioId);
+
+    Optional<Long> findOwnerIdById(Long portfolioId);
+
+    boolean existsById(Long portfolioId);
+
+    /**
+     * 현재 상태가 expected 중 하나일 때만 상태 변경 (결과 JSON 컬럼은 건드리지 않음)
+     *
+     * @return 변경되었으면 true
+     */
+    boolean updateStatus(Long portfolioId, Portfolio.PortfolioStatus status, Set<Portfolio.PortfolioStatus> expected);
+
+    /**
+     * 현재 상태가 expected 중 하나이거나, RUNNING이지만 updated_at이 leaseExpiredBefore 이전(멈춘 분석)일 때
+     * RUNNING으로 변경하고 analysis_run_id를 runId로 교체
+     *
+     * @return 변경되었으면 true
+     */
+    boolean updateStatusToRunning(Long portfolioId, Set<Portfolio.PortfolioStatus> expected, LocalDateTime leaseExpiredBefore, String runId);
+
+    /**
+     * 현재 상태가 expected 중 하나이고 analysis_run_id가 runId일 때만 상태 변경
+     *
+     * @return 변경되었으면 true
+     */
+    boolean updateRunStatus(Long portfolioId, String runId, Portfolio.PortfolioStatus status, Set<Portfolio.PortfolioStatus> expected);
+
+    /**
+     * 현재 상태가 expected 중 하나이고 analysis_run_id가 runId일 때만 분석 결과와 상태를 함께 저장
+     *
+     * @return 저장되었으면 true
+     */
+    boolean updateAnalysisResult(Long portfolioId, String runId, String analysisResult,
+                                 Portfolio.PortfolioStatus status, Set<Portfolio.PortfolioStatus> expected);
+
+    /**
+     * 현재 상태가 expected일 때만 리포트 결과 저장. runId가 있으면 analysis_run_id도 같아야 저장
+     *
+     * @param runId 분석 실행 ID (DB에 저장된 분석 결과로 수동 생성하는 경우 null)
+     * @return 저장되었으면 true
+     */
+    boolean updateReportResult(Long portfolioId, String runId, String reportResult, Portfolio.PortfolioStatus expected);
+
     Portfolio save(Portfolio portfolio);
 
     void softDelete(Long portfolioId);
 
-    Holding saveHolding(Holding holding);
+    /**
+     * 보유 종목 다건 삽입 (여러 행 VALUES로 묶어서)
+     *
+     * @return 삽입한 행 수
+     */
+    int saveHoldings(List<Holding> holdings);
+
+    /**
+     * 포트폴리오 보유 종목을 holdings로 교체 (기존 행과 비교해 바뀐 행만 삽입/수정/삭제)
+     */
+    HoldingChanges replaceHoldings(Long portfolioId, List<Holding> holdings);
+
     List<Holding> findHoldingsByPortfolioId(Long portfolioId);
     List<Holding> findHoldingsByUserId(Long userId);
+
+    /**
+     * 사용자의 삭제되지 않은 포트폴리오와 보유 종목을 한 번의 조회로 (목록 정렬 순서 유지)
+     */
+    List<PortfolioHoldings> findPortfolioHoldingsByUserId(Long userId);
+
     void deleteHoldingsByPortfolioId(Long portfolioId);
+
+    /**
+     * 삭제되지 않은 전체 포트폴리오의 보유 종목 (중복 제거, 보유 포트폴리오 수 많은 순)
+     */
+    List<String> findDistinctHeldSymbols();
 }
@@ -2,8 +2,12 @@ package com.fimatchplus.backend.portfolio.repository;
 
 import com.fimatchplus.backend.portfolio.domain.Portfolio;
 import com.fimatchplus.backend.portfolio.domain.Holding;
+import com.fimatchplus.backend.portfolio.domain.HoldingChanges;
+import com.fimatchplus.backend.portfolio.domain.PortfolioHeader;
+import com.fimatchplus.backend.portfolio.domain.PortfolioHoldings;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -11,9 +15,12 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 @RequiredArgsConstructor
@@ -39,6 +46,21 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
         );
     };
 
+    private static final RowMapper<PortfolioHeader> PORTFOLIO_HEADER_ROW_MAPPER = (rs, rowNum) -> new PortfolioHeader(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getString("rule_id"),
+            "Y".equals(rs.getString("is_main")),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            rs.getTimestamp("updated_at").toLocalDateTime(),
+            rs.getLong("user_id"),
+            rs.getString("status") != null ? Portfolio.PortfolioStatus.valueOf(rs.getString("status")) : null
+    );
+
+    /** 한 INSERT 문에 묶는 최대 행 수 (바인드 파라미터 수 제한 32767 이내) */
+    private static final int HOLDING_INSERT_CHUNK_SIZE = 1000;
+
     private static final RowMapper<Holding> HOLDING_ROW_MAPPER = (rs, rowNum) -> {
         java.math.BigDecimal changeAmount = rs.getBigDecimal("change_amount");
         java.math.BigDecimal changePercent = rs.getBigDecimal("change_percent");
@@ -61,15 +83,53 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
     };
 
     @Override
-    public List<Portfolio> findByUserId(Long userId) {
+    public List<PortfolioHeader> findByUserId(Long userId) {
         String sql = """
-            SELECT id, name, description, rule_id, is_main, created_at, updated_at, user_id, status, analysis_result, report_result, deleted_at
+            SELECT id, name, description, rule_id, is_main, created_at, updated_at, user_id, status
             FROM portfolios
             WHERE user_id = ? AND deleted_at IS NULL
             ORDER BY CASE WHEN is_main = 'Y' THEN 0 ELSE 1 END, created_at DESC
             """;
 
-        return jdbcTemplate.query(sql, PORTFOLIO_ROW_MAPPER, userId);
+        return jdbcTemplate.query(sql, PORTFOLIO_HEADER_ROW_MAPPER, userId);
+    }
+
+    @Override
+    public Optional<PortfolioHeader> findHeaderById(Long portfolioId) {
+        String sql = """
+            SELECT id, name, description, rule_id, is_main, created_at, updated_at, user_id, status
+            FROM portfolios
+            WHERE id = ? AND deleted_at IS NULL
+            """;
+
+        List<PortfolioHeader> results = jdbcTemplate.query(sql, PORTFOLIO_HEADER_ROW_MAPPER, portfolioId);
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
+    @Override
+    public Optional<Portfolio.PortfolioStatus> findStatusById(Long portfolioId) {
+        String sql = "SELECT status FROM portfolios WHERE id = ? AND deleted_at IS NULL";
+
+        List<String> results = jdbcTemplate.queryForList(sql, String.class, portfolioId);
+        if (results.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(results.get(0)).map(Portfolio.PortfolioStatus::valueOf);
+    }
+
+    @Override
+    public Optional<Long> findOwnerIdById(Long portfolioId) {
+        String sql = "SELECT user_id FROM portfolios WHERE id = ? AND deleted_at IS NULL";
+
+        List<Long> results = jdbcTemplate.queryForList(sql, Long.class, portfolioId);
+        return results.isEmpty() ? Optional.empty() : Optional.ofNullable(results.get(0));
+    }
+
+    @Override
+    public boolean existsById(Long portfolioId) {
+        String sql = "SELECT EXISTS (SELECT 1 FROM portfolios WHERE id = ? AND deleted_at IS NULL)";
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(sql, Boolean.class, portfolioId));
     }
 
     @Override
@@ -148,6 +208,108 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
         return portfolio;
     }
 
+    @Override
+    public boolean updateStatus(Long portfolioId, Portfolio.PortfolioStatus status, Set<Portfolio.PortfolioStatus> expected) {
+        String sql = """
+            UPDATE portfolios
+            SET status = ?, updated_at = ?
+            WHERE id = ? AND deleted_at IS NULL AND status IN (%s)
+            """.formatted(placeholders(expected.size()));
+
+        List<Object> args = new ArrayList<>();
+        args.add(status.name());
+        args.add(java.sql.Timestamp.valueOf(java.time.LocalDateTime.now()));
+        args.add(portfolioId);
+        expected.forEach(previous -> args.add(previous.name()));
+
+        return jdbcTemplate.update(sql, args.toArray()) > 0;
+    }
+
+    @Override
+    public boolean updateStatusToRunning(Long portfolioId, Set<Portfolio.PortfolioStatus> expected,
+                                         java.time.LocalDateTime leaseExpiredBefore, String runId) {
+        String sql = """
+            UPDATE portfolios
+            SET status = ?, updated_at = ?, analysis_run_id = ?
+            WHERE id = ? AND deleted_at IS NULL
+              AND (status IN (%s) OR (status = ? AND updated_at < ?))
+            """.formatted(placeholders(expected.size()));
+
+        List<Object> args = new ArrayList<>();
+        args.add(Portfolio.PortfolioStatus.RUNNING.name());
+        args.add(java.sql.Timestamp.valueOf(java.time.LocalDateTime.now()));
+        args.add(runId);
+        args.add(portfolioId);
+        expected.forEach(previous -> args.add(previous.name()));
+        args.add(Portfolio.PortfolioStatus.RUNNING.name());
+        args.add(java.sql.Timestamp.valueOf(leaseExpiredBefore));
+
+        return jdbcTemplate.update(sql, args.toArray()) > 0;
+    }
+
+    @Override
+    public boolean updateRunStatus(Long portfolioId, String runId,
+                                   Portfolio.PortfolioStatus status, Set<Portfolio.PortfolioStatus> expected) {
+        String sql = """
+            UPDATE portfolios
+            SET status = ?, updated_at = ?
+            WHERE id = ? AND deleted_at IS NULL AND analysis_run_id = ? AND status IN (%s)
+            """.formatted(placeholders(expected.size()));
+
+        List<Object> args = new ArrayList<>();
+        args.add(status.name());
+        args.add(java.sql.Timestamp.valueOf(java.time.LocalDateTime.now()));
+        args.add(portfolioId);
+        args.add(runId);
+        expected.forEach(previous -> args.add(previous.name()));
+
+        return jdbcTemplate.update(sql, args.toArray()) > 0;
+    }
+
+    @Override
+    public boolean updateAnalysisResult(Long portfolioId, String runId, String analysisResult,
+                                        Portfolio.PortfolioStatus status, Set<Portfolio.PortfolioStatus> expected) {
+        String sql = """
+            UPDATE portfolios
+            SET analysis_result = ?::jsonb, status = ?, updated_at = ?
+            WHERE id = ? AND deleted_at IS NULL AND analysis_run_id = ? AND status IN (%s)
+            """.formatted(placeholders(expected.size()));
+
+        List<Object> args = new ArrayList<>();
+        args.add(analysisResult);
+        args.add(status.name());
+        args.add(java.sql.Timestamp.valueOf(java.time.LocalDateTime.now()));
+        args.add(portfolioId);
+        args.add(runId);
+        expected.forEach(previous -> args.add(previous.name()));
+
+        return jdbcTemplate.update(sql, args.toArray()) > 0;
+    }
+
+    @Override
+    public boolean updateReportResult(Long portfolioId, String runId, String reportResult, Portfolio.PortfolioStatus expected) {
+        String sql = """
+            UPDATE portfolios
+            SET report_result = ?::jsonb, updated_at = ?
+            WHERE id = ? AND deleted_at IS NULL AND status = ?%s
+            """.formatted(runId != null ? " AND analysis_run_id = ?" : "");
+
+        List<Object> args = new ArrayList<>();
+        args.add(reportResult);
+        args.add(java.sql.Timestamp.valueOf(java.time.LocalDateTime.now()));
+        args.add(portfolioId);
+        args.add(expected.name());
+        if (runId != null) {
+            args.add(runId);
+        }
+
+        return jdbcTemplate.update(sql, args.toArray()) > 0;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", java.util.Collections.nCopies(count, "?"));
+    }
+
     @Override
     public void softDelete(Long portfolioId) {
         String sql = """
@@ -159,33 +321,71 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
     }
 
 
-    public Holding saveHolding(Holding holding) {
-        String sql = """
-            INSERT INTO holdings (portfolio_id, symbol, shares, current_price, total_value, change_amount, change_percent, weight, created_at, updated_at)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
+    @Override
+    public int saveHoldings(List<Holding> holdings) {
+        int inserted = 0;
+        for (int from = 0; from < holdings.size(); from += HOLDING_INSERT_CHUNK_SIZE) {
+            List<Holding> chunk = holdings.subList(from, Math.min(holdings.size(), from + HOLDING_INSERT_CHUNK_SIZE));
+            String sql = """
+                INSERT INTO holdings (portfolio_id, symbol, shares, current_price, total_value, change_amount, change_percent, weight, created_at, updated_at)
+                VALUES %s
+                """.formatted(String.join(", ", java.util.Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")));
 
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(connection -> {
-            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            ps.setLong(1, holding.portfolioId());
-            ps.setString(2, holding.symbol());
-            ps.setInt(3, holding.shares());
-            ps.setDouble(4, holding.currentPrice());
-            ps.setDouble(5, holding.totalValue());
-            if (holding.changeAmount() == null) ps.setNull(6, java.sql.Types.NUMERIC); else ps.setDouble(6, holding.changeAmount());
-            if (holding.changePercent() == null) ps.setNull(7, java.sql.Types.NUMERIC); else ps.setDouble(7, holding.changePercent());
-            ps.setDouble(8, holding.weight());
-            ps.setTimestamp(9, java.sql.Timestamp.valueOf(holding.createdAt()));
-            ps.setTimestamp(10, java.sql.Timestamp.valueOf(holding.updatedAt()));
-            return ps;
-        }, keyHolder);
+            List<Object> args = new ArrayList<>(chunk.size() * 10);
+            for (Holding holding : chunk) {
+                args.add(holding.portfolioId());
+                args.add(holding.symbol());
+                args.add(holding.shares());
+                args.add(holding.currentPrice());
+                args.add(holding.totalValue());
+                args.add(holding.changeAmount());
+                args.add(holding.changePercent());
+                args.add(holding.weight());
+                args.add(java.sql.Timestamp.valueOf(holding.createdAt()));
+                args.add(java.sql.Timestamp.valueOf(holding.updatedAt()));
+            }
+            inserted += jdbcTemplate.update(sql, args.toArray());
+        }
+        return inserted;
+    }
 
-        Long id = extractGeneratedId(keyHolder);
-        return Holding.of(
-                id, holding.portfolioId(), holding.symbol(), holding.shares(), holding.currentPrice(), holding.totalValue(),
-                holding.changeAmount(), holding.changePercent(), holding.weight(), holding.createdAt(), holding.updatedAt()
-        );
+    @Override
+    public HoldingChanges replaceHoldings(Long portfolioId, List<Holding> holdings) {
+        String lockSql = "SELECT id FROM holdings WHERE portfolio_id = ? ORDER BY id FOR UPDATE";
+        jdbcTemplate.queryForList(lockSql, Long.class, portfolioId);
+
+        HoldingChanges changes = HoldingChanges.between(findHoldingsByPortfolioId(portfolioId), holdings);
+
+        if (!changes.deleteIds().isEmpty()) {
+            String deleteSql = "DELETE FROM holdings WHERE id IN (%s)"
+                    .formatted(placeholders(changes.deleteIds().size()));
+            jdbcTemplate.update(deleteSql, changes.deleteIds().toArray());
+        }
+
+        if (!changes.updates().isEmpty()) {
+            String updateSql = """
+                UPDATE holdings
+                SET shares = ?, current_price = ?, total_value = ?, change_amount = ?, change_percent = ?, weight = ?, updated_at = ?
+                WHERE id = ?
+                """;
+            List<Object[]> batchArgs = changes.updates().stream()
+                    .map(holding -> new Object[]{
+                            holding.shares(),
+                            holding.currentPrice(),
+                            holding.totalValue(),
+                            holding.changeAmount(),
+                            holding.changePercent(),
+                            holding.weight(),
+                            java.sql.Timestamp.valueOf(holding.updatedAt()),
+                            holding.id()
+                    })
+                    .toList();
+            jdbcTemplate.batchUpdate(updateSql, batchArgs);
+        }
+
+        saveHoldings(changes.inserts());
+
+        return changes;
     }
 
     public List<Holding> findHoldingsByPortfolioId(Long portfolioId) {
@@ -198,6 +398,39 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
         return jdbcTemplate.query(sql, HOLDING_ROW_MAPPER, portfolioId);
     }
 
+    @Override
+    public List<PortfolioHoldings> findPortfolioHoldingsByUserId(Long userId) {
+        String sql = """
+            SELECT p.id AS p_id, p.name AS p_name, p.description AS p_description,
+                   h.id, h.portfolio_id, h.symbol, h.shares, h.current_price, h.total_value,
+                   h.change_amount, h.change_percent, h.weight, h.created_at, h.updated_at
+            FROM portfolios p
+            LEFT JOIN holdings h ON h.portfolio_id = p.id
+            WHERE p.user_id = ? AND p.deleted_at IS NULL
+            ORDER BY CASE WHEN p.is_main = 'Y' THEN 0 ELSE 1 END, p.created_at DESC, p.id, h.weight DESC
+            """;
+
+        ResultSetExtractor<List<PortfolioHoldings>> extractor = rs -> {
+            Map<Long, PortfolioHoldings> portfolios = new LinkedHashMap<>();
+            int rowNum = 0;
+            while (rs.next()) {
+                long portfolioId = rs.getLong("p_id");
+                PortfolioHoldings portfolio = portfolios.get(portfolioId);
+                if (portfolio == null) {
+                    portfolio = new PortfolioHoldings(portfolioId, rs.getString("p_name"), rs.getString("p_description"), new ArrayList<>());
+                    portfolios.put(portfolioId, portfolio);
+                }
+                if (rs.getObject("id") != null) {
+                    portfolio.holdings().add(HOLDING_ROW_MAPPER.mapRow(rs, rowNum));
+                }
+                rowNum++;
+            }
+            return new ArrayList<>(portfolios.values());
+        };
+
+        return jdbcTemplate.query(sql, extractor, userId);
+    }
+
     @Override
     public List<Holding> findHoldingsByUserId(Long userId) {
         String sql = """
@@ -217,6 +450,19 @@ public class PortfolioRepositoryImpl implements PortfolioRepository {
         jdbcTemplate.update(sql, portfolioId);
     }
 
+    @Override
+    public List<String> findDistinctHeldSymbols() {
+        String sql = """
+            SELECT h.symbol
+            FROM holdings h
+            INNER JOIN portfolios p ON h.portfolio_id = p.id
+            WHERE p.deleted_at IS NULL
+            GROUP BY h.symbol
+            ORDER BY COUNT(*) DESC, h.symbol
+            """;
+        return jdbcTemplate.queryForList(sql, String.class);
+    }
+
     private static Long extractGeneratedId(KeyHolder keyHolder) {
         Map<String, Object> keys = keyHolder.getKeys();
         if (keys != null && !keys.isEmpty()) {
@@ -2,7 +2,6 @@ package com.fimatchplus.backend.portfolio.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fimatchplus.backend.portfolio.domain.Holding;
-import com.fimatchplus.backend.portfolio.domain.Portfolio;
 import com.fimatchplus.backend.portfolio.dto.PortfolioAnalysisRequest;
 import com.fimatchplus.backend.portfolio.dto.PortfolioAnalysisStartResponse;
 import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
@@ -39,14 +38,17 @@ public class PortfolioAnalysisEngineClient {
 
     /**
      * 실행 엔진에 포트폴리오 최적화 비동기 요청 제출
+     *
+     * @param runId {@link PortfolioCommandService#startAnalysisRun(Long)}가 발급한 실행 ID (콜백 URL로 되돌려 받음)
      */
     @Async("backgroundTaskExecutor")
-    public CompletableFuture<Void> submitToPortfolioAnalysisEngineAsync(Long portfolioId) {
+    public CompletableFuture<Void> submitToPortfolioAnalysisEngineAsync(Long portfolioId, String runId) {
         try {
-            Portfolio portfolio = portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new RuntimeException("포트폴리오를 찾을 수 없습니다: " + portfolioId));
+            if (!portfolioRepository.existsById(portfolioId)) {
+                throw new RuntimeException("포트폴리오를 찾을 수 없습니다: " + portfolioId);
+            }
 
-            PortfolioAnalysisRequest request = createPortfolioAnalysisRequest(portfolio);
+            PortfolioAnalysisRequest request = createPortfolioAnalysisRequest(portfolioId, runId);
 
             try {
                 String requestBody = objectMapper.writeValueAsString(request);
@@ -69,7 +71,7 @@ public class PortfolioAnalysisEngineClient {
         } catch (Exception e) {
             log.error("Failed to submit portfolio analysis to engine: portfolioId={}", portfolioId, e);
             try {
-                eventPublisher.publishEvent(new PortfolioAnalysisFailureEvent(portfolioId,  e.getMessage()));
+                eventPublisher.publishEvent(new PortfolioAnalysisFailureEvent(portfolioId, runId, e.getMessage()));
             } catch (Exception publishError) {
                 log.warn("Failed to publish PortfolioAnalysisFailureEvent for portfolioId: {} - {}", portfolioId, publishError.getMessage());
             }
@@ -79,20 +81,20 @@ public class PortfolioAnalysisEngineClient {
     }
 
     /**
-     *  포트폴리오 최적화 요청 생성
+     *  포트폴리오 최적화 요청 생성 (콜백 URL에 실행 ID 포함)
      */
-    public PortfolioAnalysisRequest createPortfolioAnalysisRequest(Portfolio portfolio) {
+    public PortfolioAnalysisRequest createPortfolioAnalysisRequest(Long portfolioId, String runId) {
         try {
-            List<Holding> holdings = portfolioRepository.findHoldingsByPortfolioId(portfolio.id());
+            List<Holding> holdings = portfolioRepository.findHoldingsByPortfolioId(portfolioId);
             
             return PortfolioAnalysisRequest.of(
-                portfolio.id(),
+                portfolioId,
                 holdings,
-                callbackBaseUrl + "/portfolio-analysis/callback"
+                callbackBaseUrl + "/portfolio-analysis/callback?runId=" + runId
             );
 
         } catch (Exception e) {
-            log.error("Failed to create portfolio analysis request for portfolioId: {}", portfolio.id(), e);
+            log.error("Failed to create portfolio analysis request for portfolioId: {}", portfolioId, e);
             throw new RuntimeException("Failed to create portfolio analysis request", e);
         }
     }
@@ -2,6 +2,7 @@ package com.fimatchplus.backend.portfolio.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fimatchplus.backend.common.exception.BusinessException;
 import com.fimatchplus.backend.portfolio.domain.Portfolio;
 import com.fimatchplus.backend.portfolio.dto.PortfolioAnalysisResponse;
 import com.fimatchplus.backend.portfolio.event.PortfolioAnalysisSuccessEvent;
@@ -44,13 +45,13 @@ public class PortfolioAnalysisService {
         Long portfolioId = event.getPortfolioId();
         log.info("Starting portfolio analysis for portfolioId: {}", portfolioId);
 
+        String runId = portfolioCommandService.startAnalysisRun(portfolioId);
         try {
-            portfolioCommandService.updatePortfolioStatus(portfolioId, Portfolio.PortfolioStatus.RUNNING);
-            portfolioAnalysisEngineClient.submitToPortfolioAnalysisEngineAsync(portfolioId);
+            portfolioAnalysisEngineClient.submitToPortfolioAnalysisEngineAsync(portfolioId, runId);
 
         } catch (Exception e) {
             log.error("Failed to start portfolio analysis for portfolioId: {}", portfolioId, e);
-            portfolioCommandService.updatePortfolioStatus(portfolioId, Portfolio.PortfolioStatus.FAILED);
+            portfolioCommandService.markPortfolioFailed(portfolioId, runId);
         }
     }
 
@@ -60,8 +61,8 @@ public class PortfolioAnalysisService {
     @Transactional
     public void startPortfolioAnalysis(Long portfolioId) {
         log.info("Manually starting portfolio analysis for portfolioId: {}", portfolioId);
-        portfolioCommandService.updatePortfolioStatus(portfolioId, Portfolio.PortfolioStatus.RUNNING);
-        portfolioAnalysisEngineClient.submitToPortfolioAnalysisEngineAsync(portfolioId);
+        String runId = portfolioCommandService.startAnalysisRun(portfolioId);
+        portfolioAnalysisEngineClient.submitToPortfolioAnalysisEngineAsync(portfolioId, runId);
     }
 
     /**
@@ -80,8 +81,10 @@ public class PortfolioAnalysisService {
             
             String analysisResultJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(analysisResponse);
             
-            savePortfolioAnalysisResult(event.getPortfolioId(), analysisResultJson);
-            generatePortfolioAnalysisReport(event.getPortfolioId(), analysisResultJson);
+            if (!savePortfolioAnalysisResult(event.getPortfolioId(), event.getRunId(), analysisResultJson)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            generatePortfolioAnalysisReport(event.getPortfolioId(), event.getRunId(), analysisResultJson);
             
             log.info("Portfolio analysis processing completed - portfolioId: {}", 
                     event.getPortfolioId());
@@ -91,7 +94,7 @@ public class PortfolioAnalysisService {
                     event.getPortfolioId(), e);
             
             try {
-                portfolioCommandService.updatePortfolioStatus(event.getPortfolioId(), Portfolio.PortfolioStatus.FAILED);
+                portfolioCommandService.markPortfolioFailed(event.getPortfolioId(), event.getRunId());
             } catch (Exception updateException) {
                 log.error("Failed to update portfolio status to FAILED - portfolioId: {}", 
                         event.getPortfolioId(), updateException);
@@ -112,8 +115,7 @@ public class PortfolioAnalysisService {
                 event.getPortfolioId(), event.getErrorMessage());
         
         try {
-            portfolioCommandService.updatePortfolioStatus(event.getPortfolioId(), 
-                    Portfolio.PortfolioStatus.FAILED);
+            portfolioCommandService.markPortfolioFailed(event.getPortfolioId(), event.getRunId());
             
         } catch (Exception e) {
             log.error("Failed to update portfolio status to FAILED - portfolioId: {}", 
@@ -166,11 +168,16 @@ public class PortfolioAnalysisService {
 
     /**
      * 포트폴리오 분석 결과 저장
+     *
+     * @return 저장되었으면 true, 늦게 도착해 버려진 결과면 false (리포트 생성 생략)
      */
-    private void savePortfolioAnalysisResult(Long portfolioId, String analysisResultJson) {
+    private boolean savePortfolioAnalysisResult(Long portfolioId, String runId, String analysisResultJson) {
         try {
-            portfolioCommandService.savePortfolioAnalysisResult(portfolioId, analysisResultJson);
-            log.info("Portfolio analysis result saved successfully - portfolioId: {}", portfolioId);
+            boolean saved = portfolioCommandService.savePortfolioAnalysisResult(portfolioId, runId, analysisResultJson);
+            if (saved) {
+                log.info("Portfolio analysis result saved successfully - portfolioId: {}", portfolioId);
+            }
+            return saved;
             
         } catch (Exception e) {
             log.error("Failed to save portfolio analysis result - portfolioId: {}", portfolioId, e);
@@ -179,16 +186,18 @@ public class PortfolioAnalysisService {
     }
 
     /**
-     * 포트폴리오 분석 리포트 생성 (비동기)
+     * 포트폴리오 분석 리포트 생성 (비동기, 같은 분석 실행의 결과일 때만 저장)
      */
     @Async("backgroundTaskExecutor")
-    public CompletableFuture<String> generatePortfolioAnalysisReport(Long portfolioId, String analysisResultJson) {
+    public CompletableFuture<String> generatePortfolioAnalysisReport(Long portfolioId, String runId, String analysisResultJson) {
         log.info("Generating portfolio analysis report for portfolioId: {}", portfolioId);
         
         try {
             String report = portfolioReportService.generateOptimizationInsightFromAnalysis(analysisResultJson);
             
-            portfolioCommandService.savePortfolioReportResult(portfolioId, report);
+            if (!portfolioCommandService.savePortfolioReportResult(portfolioId, runId, report)) {
+                return CompletableFuture.completedFuture(null);
+            }
             
             log.info("Portfolio analysis report generated and saved successfully - portfolioId: {}, report length: {}", 
                     portfolioId, report.length());
@@ -215,7 +224,9 @@ public class PortfolioAnalysisService {
             }
             
             String report = portfolioReportService.generateOptimizationInsightFromAnalysis(portfolio.analysisResult());
-            portfolioCommandService.savePortfolioReportResult(portfolioId, report);
+            if (!portfolioCommandService.savePortfolioReportResult(portfolioId, null, report)) {
+                throw new BusinessException("분석이 완료된 포트폴리오에만 리포트를 저장할 수 있습니다: " + portfolioId);
+            }
             
             log.info("Portfolio analysis report generated and saved successfully from DB - portfolioId: {}, report length: {}", 
                     portfolioId, report.length());
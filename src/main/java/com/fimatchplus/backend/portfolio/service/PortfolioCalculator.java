@@ -41,6 +41,25 @@ public class PortfolioCalculator {
         return new PortfolioTotals(totalAssets, dailyChange, dailyReturnPercent);
     }
 
+    /**
+     * 한 종목의 가격 변경분만 기존 총계에 반영 (전체 재계산 없이 증분 갱신)
+     * previous가 null이면 {@link #calculateTotals}와 같이 저장된 평가금액을 이전 값으로 본다.
+     */
+    public PortfolioTotals applyPriceChange(
+            PortfolioTotals totals,
+            Holding holding,
+            StockService.StockPriceInfo previous,
+            StockService.StockPriceInfo next) {
+        double previousValue = previous != null ? previous.currentPrice() * holding.shares() : holding.totalValue();
+        double previousDailyChange = previous != null ? previous.dailyChangePrice() * holding.shares() : 0.0;
+
+        double totalAssets = totals.totalAssets() - previousValue + next.currentPrice() * holding.shares();
+        double dailyChange = totals.dailyChange() - previousDailyChange + next.dailyChangePrice() * holding.shares();
+
+        double dailyReturnPercent = totalAssets > 0 ? (dailyChange / totalAssets) * 100 : 0.0;
+        return new PortfolioTotals(totalAssets, dailyChange, dailyReturnPercent);
+    }
+
     /**
      * downside_deviation로 risk level 결정
      * 0.10 미만: LOW, 0.15 이상: HIGH, 0.10 이상 0.15 미만: MEDIUM
@@ -1,27 +1,32 @@
 package com.fimatchplus.backend.portfolio.service;
 
+import com.fimatchplus.backend.common.exception.BusinessException;
 import com.fimatchplus.backend.common.exception.ResourceNotFoundException;
 import com.fimatchplus.backend.portfolio.domain.BenchmarkIndex;
 import com.fimatchplus.backend.portfolio.domain.Holding;
+import com.fimatchplus.backend.portfolio.domain.HoldingChanges;
 import com.fimatchplus.backend.portfolio.domain.Portfolio;
 import com.fimatchplus.backend.portfolio.domain.Rules;
 import com.fimatchplus.backend.portfolio.dto.CreatePortfolioRequest;
 import com.fimatchplus.backend.portfolio.dto.CreatePortfolioResult;
 import com.fimatchplus.backend.portfolio.event.PortfolioCreatedEvent;
+import com.fimatchplus.backend.portfolio.event.PortfolioDeletedEvent;
 import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
 import com.fimatchplus.backend.portfolio.repository.RulesRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @Transactional
 public class PortfolioCommandService {
 
@@ -29,6 +34,20 @@ public class PortfolioCommandService {
     private final RulesRepository rulesRepository;
     private final BenchmarkDeterminerService benchmarkDeterminerService;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final Duration runningLease;
+
+    public PortfolioCommandService(
+            PortfolioRepository portfolioRepository,
+            RulesRepository rulesRepository,
+            BenchmarkDeterminerService benchmarkDeterminerService,
+            ApplicationEventPublisher applicationEventPublisher,
+            @Value("${portfolio.analysis.running-lease-ms:1800000}") long runningLeaseMillis) {
+        this.portfolioRepository = portfolioRepository;
+        this.rulesRepository = rulesRepository;
+        this.benchmarkDeterminerService = benchmarkDeterminerService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.runningLease = Duration.ofMillis(runningLeaseMillis);
+    }
 
     /**
      * 새로운 포트폴리오 생성
@@ -63,19 +82,19 @@ public class PortfolioCommandService {
         Portfolio savedPortfolio = portfolioRepository.save(portfolio);
 
         if (request.holdings() != null && !request.holdings().isEmpty()) {
-            for (CreatePortfolioRequest.HoldingRequest holdingRequest : request.holdings()) {
-                Holding holding = Holding.create(
-                        savedPortfolio.id(),
-                        holdingRequest.symbol(),
-                        holdingRequest.shares(),
-                        holdingRequest.currentPrice(),
-                        holdingRequest.totalValue(),
-                        holdingRequest.change(),
-                        holdingRequest.changePercent(),
-                        holdingRequest.weight()
-                );
-                portfolioRepository.saveHolding(holding);
-            }
+            List<Holding> holdings = request.holdings().stream()
+                    .map(holdingRequest -> Holding.create(
+                            savedPortfolio.id(),
+                            holdingRequest.symbol(),
+                            holdingRequest.shares(),
+                            holdingRequest.currentPrice(),
+                            holdingRequest.totalValue(),
+                            holdingRequest.change(),
+                            holdingRequest.changePercent(),
+                            holdingRequest.weight()
+                    ))
+                    .toList();
+            portfolioRepository.saveHoldings(holdings);
         }
 
         CreatePortfolioResult result = new CreatePortfolioResult(
@@ -94,47 +113,114 @@ public class PortfolioCommandService {
     }
 
     /**
-     * 포트폴리오 상태 업데이트
+     * 포트폴리오 상태 업데이트 (허용된 이전 상태일 때만 변경, {@link Portfolio.PortfolioStatus#allowedPrevious()})
+     * <ul>
+     *     <li>RUNNING은 실행 ID가 필요하므로 {@link #startAnalysisRun(Long)} 사용</li>
+     * </ul>
      */
     public void updatePortfolioStatus(Long portfolioId, Portfolio.PortfolioStatus status) {
-        Portfolio portfolio = portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new ResourceNotFoundException("포트폴리오를 찾을 수 없습니다: " + portfolioId));
-        
-        Portfolio updatedPortfolio = portfolio.withStatus(status);
-        portfolioRepository.save(updatedPortfolio);
+        if (status == Portfolio.PortfolioStatus.RUNNING) {
+            throw new IllegalArgumentException("RUNNING 상태는 startAnalysisRun으로 변경해야 합니다: " + portfolioId);
+        }
+        if (!portfolioRepository.updateStatus(portfolioId, status, status.allowedPrevious())) {
+            rejectTransition(portfolioId, status);
+        }
         
         log.info("Updated portfolio status - portfolioId: {}, status: {}", portfolioId, status);
     }
 
     /**
-     * 포트폴리오 분석 결과 저장
+     * 분석 시작: RUNNING으로 변경하고 새 실행 ID 발급
+     * <ul>
+     *     <li>분석 중이 아닐 때, 또는 분석 중이지만 마지막 변경 후 running-lease가 지났을 때(멈춘 분석 재시작) 변경</li>
+     *     <li>결과/리포트/실패는 같은 실행 ID로만 반영되므로, 수정 후 다시 시작하면 이전 실행의 콜백은 버려짐</li>
+     * </ul>
+     *
+     * @return 엔진 요청과 콜백에 실어 보낼 실행 ID
      */
-    public void savePortfolioAnalysisResult(Long portfolioId, String analysisResult) {
-        Portfolio portfolio = portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new ResourceNotFoundException("포트폴리오를 찾을 수 없습니다: " + portfolioId));
-        
-        Portfolio updatedPortfolio = portfolio.withStatusAndResult(
-                Portfolio.PortfolioStatus.COMPLETED, 
-                analysisResult
-        );
-        portfolioRepository.save(updatedPortfolio);
-        
-        log.info("Saved portfolio analysis result - portfolioId: {}, result length: {}", 
-                portfolioId, analysisResult != null ? analysisResult.length() : 0);
+    public String startAnalysisRun(Long portfolioId) {
+        Portfolio.PortfolioStatus running = Portfolio.PortfolioStatus.RUNNING;
+        String runId = UUID.randomUUID().toString();
+        if (!portfolioRepository.updateStatusToRunning(
+                portfolioId, running.allowedPrevious(), LocalDateTime.now().minus(runningLease), runId)) {
+            rejectTransition(portfolioId, running);
+        }
+
+        log.info("Updated portfolio status - portfolioId: {}, status: {}, runId: {}", portfolioId, running, runId);
+        return runId;
     }
 
     /**
-     * 포트폴리오 레포트 결과 저장
+     * 분석 실패 표시 (같은 실행이 대기 또는 분석 중인 경우에만)
+     *
+     * @return 반영되었으면 true, 이미 완료/수정/재시작된 포트폴리오에 늦게 도착한 실패면 false (예외 없이 무시)
      */
-    public void savePortfolioReportResult(Long portfolioId, String reportResult) {
-        Portfolio portfolio = portfolioRepository.findById(portfolioId)
-                .orElseThrow(() -> new ResourceNotFoundException("포트폴리오를 찾을 수 없습니다: " + portfolioId));
+    public boolean markPortfolioFailed(Long portfolioId, String runId) {
+        Portfolio.PortfolioStatus failed = Portfolio.PortfolioStatus.FAILED;
+        if (portfolioRepository.updateRunStatus(portfolioId, runId, failed, failed.allowedPrevious())) {
+            log.info("Updated portfolio status - portfolioId: {}, status: {}, runId: {}", portfolioId, failed, runId);
+            return true;
+        }
+        return dropLate(portfolioId, runId, "analysis failure");
+    }
+
+    /**
+     * 포트폴리오 분석 결과 저장 (같은 실행이 분석 중인 경우에만 COMPLETED로 변경)
+     *
+     * @return 저장되었으면 true, 수정/재시작으로 무효가 된 뒤 늦게 도착한 결과면 false (예외 없이 무시)
+     */
+    public boolean savePortfolioAnalysisResult(Long portfolioId, String runId, String analysisResult) {
+        Portfolio.PortfolioStatus completed = Portfolio.PortfolioStatus.COMPLETED;
+        boolean updated = portfolioRepository.updateAnalysisResult(
+                portfolioId, runId, analysisResult, completed, completed.allowedPrevious());
+        if (!updated) {
+            return dropLate(portfolioId, runId, "analysis result");
+        }
         
-        Portfolio updatedPortfolio = portfolio.withReportResult(reportResult);
-        portfolioRepository.save(updatedPortfolio);
+        log.info("Saved portfolio analysis result - portfolioId: {}, runId: {}, result length: {}", 
+                portfolioId, runId, analysisResult != null ? analysisResult.length() : 0);
+        return true;
+    }
+
+    /**
+     * 포트폴리오 레포트 결과 저장 (분석 완료 상태이고, runId가 있으면 같은 실행의 결과인 경우에만)
+     *
+     * @param runId 분석 실행 ID (DB에 저장된 분석 결과로 수동 생성하는 경우 null)
+     * @return 저장되었으면 true, 리포트 생성 중 포트폴리오가 수정/재분석되었으면 false (예외 없이 무시)
+     */
+    public boolean savePortfolioReportResult(Long portfolioId, String runId, String reportResult) {
+        boolean updated = portfolioRepository.updateReportResult(
+                portfolioId, runId, reportResult, Portfolio.PortfolioStatus.COMPLETED);
+        if (!updated) {
+            return dropLate(portfolioId, runId, "report result");
+        }
         
         log.info("Saved portfolio report result - portfolioId: {}, report length: {}", 
                 portfolioId, reportResult != null ? reportResult.length() : 0);
+        return true;
+    }
+
+    /**
+     * 늦게 도착한 결과는 로그만 남기고 버림 (포트폴리오가 없으면 예외)
+     */
+    private boolean dropLate(Long portfolioId, String runId, String what) {
+        Portfolio.PortfolioStatus current = portfolioRepository.findStatusById(portfolioId)
+                .orElseThrow(() -> new ResourceNotFoundException("포트폴리오를 찾을 수 없습니다: " + portfolioId));
+
+        log.info("Dropped late portfolio {} - portfolioId: {}, runId: {}, current status: {}", what, portfolioId, runId, current);
+        return false;
+    }
+
+    /**
+     * 상태 변경이 반영되지 않은 원인에 맞는 예외 (포트폴리오 없음 / 허용되지 않는 상태 전이)
+     */
+    private void rejectTransition(Long portfolioId, Portfolio.PortfolioStatus status) {
+        Portfolio.PortfolioStatus current = portfolioRepository.findStatusById(portfolioId)
+                .orElseThrow(() -> new ResourceNotFoundException("포트폴리오를 찾을 수 없습니다: " + portfolioId));
+
+        log.warn("Rejected portfolio status transition - portfolioId: {}, current: {}, requested: {}",
+                portfolioId, current, status);
+        throw new BusinessException("포트폴리오 상태를 " + current + "에서 " + status + "(으)로 변경할 수 없습니다: " + portfolioId);
     }
 
     /**
@@ -168,11 +254,8 @@ public class PortfolioCommandService {
                 .withStatusAndReports(Portfolio.PortfolioStatus.PENDING, null, null);
         portfolioRepository.save(updatedPortfolio);
 
-        portfolioRepository.deleteHoldingsByPortfolioId(portfolioId);
-
-        if (request.holdings() != null && !request.holdings().isEmpty()) {
-            for (com.fimatchplus.backend.portfolio.dto.UpdatePortfolioRequest.HoldingRequest holdingRequest : request.holdings()) {
-                Holding holding = Holding.create(
+        List<Holding> holdings = request.holdings() == null ? List.of() : request.holdings().stream()
+                .map(holdingRequest -> Holding.create(
                         portfolioId,
                         holdingRequest.symbol(),
                         holdingRequest.shares(),
@@ -181,10 +264,11 @@ public class PortfolioCommandService {
                         holdingRequest.change(),
                         holdingRequest.changePercent(),
                         holdingRequest.weight()
-                );
-                portfolioRepository.saveHolding(holding);
-            }
-        }
+                ))
+                .toList();
+        HoldingChanges changes = portfolioRepository.replaceHoldings(portfolioId, holdings);
+        log.info("Holdings replaced - portfolioId: {}, inserted: {}, updated: {}, deleted: {}",
+                portfolioId, changes.inserts().size(), changes.updates().size(), changes.deleteIds().size());
 
         if (request.rules() != null && portfolio.ruleId() != null) {
             List<Holding> holdingsForAnalysis = convertUpdateHoldingsFromRequest(request.holdings());
@@ -210,16 +294,18 @@ public class PortfolioCommandService {
     public void deletePortfolio(Long portfolioId, Long userId) {
         log.info("Deleting portfolio - portfolioId: {}, userId: {}", portfolioId, userId);
 
-        Portfolio portfolio = portfolioRepository.findById(portfolioId)
+        Long ownerId = portfolioRepository.findOwnerIdById(portfolioId)
                 .orElseThrow(() -> new ResourceNotFoundException("포트폴리오를 찾을 수 없습니다: " + portfolioId));
         
-        if (!portfolio.userId().equals(userId)) {
+        if (!ownerId.equals(userId)) {
             throw new ResourceNotFoundException("포트폴리오 삭제 권한이 없습니다: " + portfolioId);
         }
 
         portfolioRepository.softDelete(portfolioId);
 
         log.info("Portfolio soft deleted successfully - portfolioId: {}", portfolioId);
+
+        applicationEventPublisher.publishEvent(new PortfolioDeletedEvent(portfolioId, userId));
     }
 
     private Rules createRulesFromRequest(CreatePortfolioRequest.RulesRequest rulesRequest, String benchmarkCode) {
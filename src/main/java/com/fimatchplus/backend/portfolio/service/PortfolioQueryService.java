@@ -5,6 +5,8 @@ import com.fimatchplus.backend.common.exception.ResourceNotFoundException;
 import com.fimatchplus.backend.portfolio.domain.BenchmarkIndex;
 import com.fimatchplus.backend.portfolio.domain.Holding;
 import com.fimatchplus.backend.portfolio.domain.Portfolio;
+import com.fimatchplus.backend.portfolio.domain.PortfolioHeader;
+import com.fimatchplus.backend.portfolio.domain.PortfolioHoldings;
 import com.fimatchplus.backend.portfolio.domain.Rules;
 import com.fimatchplus.backend.portfolio.dto.*;
 import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -32,33 +35,25 @@ public class PortfolioQueryService {
     private final RulesRepository rulesRepository;
     private final StockService stockService;
     private final PortfolioCalculator portfolioCalculator;
+    private final PortfolioValuationEngine portfolioValuationEngine;
     private final ObjectMapper objectMapper;
 
     /**
      * 사용자별 포트폴리오 합계 정보 조회
+     * <ul>
+     *     <li>{@link PortfolioValuationEngine}이 메모리에 유지하는 합계를 반환 (처음 조회 시에만 DB/현재가 조회)</li>
+     * </ul>
      */
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PortfolioSummaryResponse getPortfolioSummary(Long userId) {
         log.info("Getting portfolio summary for userId: {}", userId);
 
-        List<Holding> allHoldings = getAllUserHoldingsWithTransaction(userId);
-        if (allHoldings.isEmpty()) {
-            return new PortfolioSummaryResponse(0.0, 0.0, 0.0);
-        }
-
-        try {
-            Map<String, StockService.StockPriceInfo> priceMap = getPriceMapForHoldings(allHoldings);
-            PortfolioCalculator.PortfolioTotals totals = calculatePortfolioSummaryTotals(allHoldings, priceMap);
-
-            return new PortfolioSummaryResponse(
-                    totals.totalAssets(),
-                    totals.dailyReturnPercent(),
-                    totals.dailyChange()
-            );
-        } catch (Exception e) {
-            log.error("KIS API 호출 실패, DB 가격 데이터 사용: {}", e.getMessage());
-            return getPortfolioSummaryFromStoredData(allHoldings);
-        }
+        PortfolioCalculator.PortfolioTotals totals = portfolioValuationEngine.userTotals(userId);
+        return new PortfolioSummaryResponse(
+                totals.totalAssets(),
+                totals.dailyReturnPercent(),
+                totals.dailyChange()
+        );
     }
 
     /**
@@ -119,44 +114,33 @@ public class PortfolioQueryService {
 
     /**
      * 사용자 포트폴리오 리스트 조회
+     * <ul>
+     *     <li>포트폴리오, 보유 종목, 합계, 현재가를 모두 {@link PortfolioValuationEngine}의 같은 스냅샷에서 가져옴 (보유 종목과 합계가 어긋나지 않음)</li>
+     *     <li>처음 조회 시에만 DB/현재가를 조회하므로 트랜잭션 밖에서 실행</li>
+     * </ul>
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PortfolioListResponse getPortfolioList(Long userId) {
         log.info("Getting portfolio list for userId: {}", userId);
 
-        List<Portfolio> portfolios = portfolioRepository.findByUserId(userId);
-
-        if (portfolios.isEmpty()) {
+        Map<Long, PortfolioValuationEngine.PortfolioValuation> valuations = portfolioValuationEngine.portfolios(userId);
+        if (valuations.isEmpty()) {
             return new PortfolioListResponse(List.of());
         }
 
-        List<Holding> allHoldings = portfolios.stream()
-                .flatMap(portfolio -> portfolioRepository.findHoldingsByPortfolioId(portfolio.id()).stream())
-                .toList();
-
-        if (allHoldings.isEmpty()) {
-            return new PortfolioListResponse(portfolios.stream()
-                    .map(portfolio -> new PortfolioListResponse.PortfolioListItem(
-                            portfolio.id(),
-                            portfolio.name(),
-                            portfolio.description(),
-                            List.of(),
-                            0.0,
-                            0.0,
-                            0.0
-                    ))
-                    .collect(Collectors.toList()));
-        }
-
-        List<String> allTickers = allHoldings.stream()
+        List<String> allTickers = valuations.values().stream()
+                .flatMap(valuation -> valuation.portfolio().holdings().stream())
                 .map(Holding::symbol)
                 .distinct()
                 .collect(Collectors.toList());
 
-        Map<String, StockService.StockPriceInfo> priceMap = stockService.getMultiCurrentPrices(allTickers);
+        Map<String, Stock> stockMap = allTickers.isEmpty() ? Map.of() : stockService.getStocksByTickers(allTickers).stream()
+                .collect(Collectors.toMap(Stock::getTicker, stock -> stock, (a, b) -> a));
 
-        List<PortfolioListResponse.PortfolioListItem> portfolioItems = portfolios.stream()
-                .map(portfolio -> createPortfolioListItemWithPriceMap(portfolio, priceMap))
-                .collect(Collectors.toList());
+        List<PortfolioListResponse.PortfolioListItem> portfolioItems = new ArrayList<>(valuations.size());
+        for (PortfolioValuationEngine.PortfolioValuation valuation : valuations.values()) {
+            portfolioItems.add(createPortfolioListItem(valuation, stockMap));
+        }
 
         return new PortfolioListResponse(portfolioItems);
     }
@@ -192,10 +176,10 @@ public class PortfolioQueryService {
     public PortfolioStatusResponse getPortfolioStatus(Long portfolioId) {
         log.info("Getting portfolio status for portfolioId: {}", portfolioId);
         
-        Portfolio portfolio = portfolioRepository.findById(portfolioId)
+        Portfolio.PortfolioStatus status = portfolioRepository.findStatusById(portfolioId)
                 .orElseThrow(() -> new ResourceNotFoundException("Portfolio", "id", portfolioId));
         
-        return PortfolioStatusResponse.from(portfolio);
+        return PortfolioStatusResponse.of(portfolioId, status);
     }
 
     /**
@@ -204,7 +188,7 @@ public class PortfolioQueryService {
     public PortfolioDetailResponse getPortfolioDetail(Long portfolioId) {
         log.info("Getting portfolio detail for portfolioId: {}", portfolioId);
 
-        Portfolio portfolio = portfolioRepository.findById(portfolioId)
+        PortfolioHeader portfolio = portfolioRepository.findHeaderById(portfolioId)
                 .orElseThrow(() -> new ResourceNotFoundException("Portfolio", "id", portfolioId));
 
         List<Holding> holdings = portfolioRepository.findHoldingsByPortfolioId(portfolioId);
@@ -245,27 +229,6 @@ public class PortfolioQueryService {
         return portfolioRepository.findHoldingsByUserId(userId);
     }
 
-    private PortfolioSummaryResponse getPortfolioSummaryFromStoredData(List<Holding> allHoldings) {
-        double totalAssets = allHoldings.stream()
-                .mapToDouble(Holding::totalValue)
-                .sum();
-
-        return new PortfolioSummaryResponse(totalAssets, 0.0, 0.0);
-    }
-
-    private Map<String, StockService.StockPriceInfo> getPriceMapForHoldings(List<Holding> holdings) {
-        List<String> tickers = holdings.stream()
-                .map(Holding::symbol)
-                .distinct()
-                .collect(Collectors.toList());
-
-        return stockService.getMultiCurrentPrices(tickers);
-    }
-
-    private PortfolioCalculator.PortfolioTotals calculatePortfolioSummaryTotals(List<Holding> holdings, Map<String, StockService.StockPriceInfo> priceMap) {
-        return portfolioCalculator.calculateTotals(holdings, priceMap);
-    }
-
     private record PortfolioData(
             Portfolio portfolio,
             List<Holding> holdings,
@@ -292,7 +255,10 @@ public class PortfolioQueryService {
                 .stream()
                 .collect(Collectors.toMap(Stock::getTicker, stock -> stock));
 
-        Map<String, StockService.StockPriceInfo> priceMap = stockService.getMultiCurrentPrices(tickers);
+        Map<String, StockService.StockPriceInfo> priceMap = portfolioValuationEngine.portfolio(portfolio.userId(), portfolioId)
+                .map(PortfolioValuationEngine.PortfolioValuation::prices)
+                .filter(prices -> prices.keySet().containsAll(tickers))
+                .orElseGet(() -> stockService.getMultiCurrentPrices(tickers));
 
         return new PortfolioData(portfolio, holdings, stockMap, priceMap);
     }
@@ -354,11 +320,11 @@ public class PortfolioQueryService {
         }
     }
 
-    private PortfolioListResponse.PortfolioListItem createPortfolioListItemWithPriceMap(
-            Portfolio portfolio,
-            Map<String, StockService.StockPriceInfo> priceMap) {
-        List<Holding> holdings = portfolioRepository.findHoldingsByPortfolioId(portfolio.id());
-
+    private PortfolioListResponse.PortfolioListItem createPortfolioListItem(
+            PortfolioValuationEngine.PortfolioValuation valuation,
+            Map<String, Stock> stockMap) {
+        PortfolioHoldings portfolio = valuation.portfolio();
+        List<Holding> holdings = portfolio.holdings();
         if (holdings.isEmpty()) {
             return new PortfolioListResponse.PortfolioListItem(
                     portfolio.id(),
@@ -371,105 +337,65 @@ public class PortfolioQueryService {
             );
         }
 
-        PortfolioCalculator.PortfolioTotals totals = portfolioCalculator.calculateTotals(holdings, priceMap);
-        double totalAssets = totals.totalAssets();
-        double dailyRate = totals.dailyReturnPercent();
-        double dailyChange = totals.dailyChange();
+        Map<String, StockService.StockPriceInfo> priceMap = valuation.prices();
+        PortfolioCalculator.PortfolioTotals totals = valuation.totals();
 
-        List<PortfolioListResponse.HoldingStock> holdingStocks = getHoldingStocksWithPriceMap(portfolio.id(), priceMap);
+        List<PortfolioListResponse.HoldingStock> holdingStocks = new ArrayList<>(holdings.size());
+        for (Holding holding : holdings) {
+            holdingStocks.add(toHoldingStock(holding, stockMap.get(holding.symbol()), priceMap.get(holding.symbol())));
+        }
 
         return new PortfolioListResponse.PortfolioListItem(
                 portfolio.id(),
                 portfolio.name(),
                 portfolio.description(),
                 holdingStocks,
-                totalAssets,
-                dailyRate,
-                dailyChange
+                totals.totalAssets(),
+                totals.dailyReturnPercent(),
+                totals.dailyChange()
         );
     }
 
-    private List<PortfolioListResponse.HoldingStock> getHoldingStocksWithPriceMap(Long portfolioId, Map<String, StockService.StockPriceInfo> priceMap) {
-        try {
-            List<Holding> holdings = portfolioRepository.findHoldingsByPortfolioId(portfolioId);
-
-            if (holdings.isEmpty()) {
-                return List.of();
-            }
-
-            List<String> tickers = holdings.stream()
-                    .map(Holding::symbol)
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            Map<String, Stock> stockMap = stockService.getStocksByTickers(tickers)
-                    .stream()
-                    .collect(Collectors.toMap(Stock::getTicker, stock -> stock));
+    private PortfolioListResponse.HoldingStock toHoldingStock(
+            Holding holding,
+            Stock stock,
+            StockService.StockPriceInfo priceInfo) {
+        if (stock == null) {
+            log.warn("Stock not found for ticker: {}", holding.symbol());
+            return new PortfolioListResponse.HoldingStock(
+                    "Unknown",
+                    "Unknown Stock",
+                    holding.shares(),
+                    holding.weight(),
+                    holding.totalValue(),
+                    0.0,
+                    0.0
+            );
+        }
 
-            return holdings.stream()
-                    .map(holding -> {
-                        try {
-                            Stock stock = stockMap.get(holding.symbol());
-                            if (stock == null) {
-                                log.warn("Stock not found for ticker: {}", holding.symbol());
-                                return new PortfolioListResponse.HoldingStock(
-                                        "Unknown",
-                                        "Unknown Stock",
-                                        holding.shares(),
-                                        holding.weight(),
-                                        holding.totalValue(),
-                                        0.0,
-                                        0.0
-                                );
-                            }
-
-                            StockService.StockPriceInfo priceInfo = priceMap.get(holding.symbol());
-
-                            if (priceInfo == null) {
-                                log.warn("가격 정보를 찾을 수 없습니다: {}", holding.symbol());
-                                return new PortfolioListResponse.HoldingStock(
-                                        stock.getTicker(),
-                                        stock.getName(),
-                                        holding.shares(),
-                                        holding.weight(),
-                                        holding.totalValue(),
-                                        0.0,
-                                        0.0
-                                );
-                            }
-
-                            double currentPrice = priceInfo.currentPrice();
-                            double dailyRate = priceInfo.dailyChangeRate();
-
-                            double value = holding.shares() * currentPrice;
-
-                            return new PortfolioListResponse.HoldingStock(
-                                    stock.getTicker(),
-                                    stock.getName(),
-                                    holding.shares(),
-                                    holding.weight(),
-                                    value,
-                                    dailyRate,
-                                    currentPrice
-                            );
-                        } catch (Exception e) {
-                            log.warn("Failed to get stock information for holding: {}, error: {}", holding.symbol(), e.getMessage());
-                            return new PortfolioListResponse.HoldingStock(
-                                    "Unknown",
-                                    "Unknown Stock",
-                                    holding.shares(),
-                                    holding.weight(),
-                                    holding.totalValue(),
-                                    0.0,
-                                    0.0
-                            );
-                        }
-                    })
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.warn("Failed to get holding stocks for portfolio: {}, error: {}", portfolioId, e.getMessage());
-            return List.of();
+        if (priceInfo == null) {
+            log.warn("가격 정보를 찾을 수 없습니다: {}", holding.symbol());
+            return new PortfolioListResponse.HoldingStock(
+                    stock.getTicker(),
+                    stock.getName(),
+                    holding.shares(),
+                    holding.weight(),
+                    holding.totalValue(),
+                    0.0,
+                    0.0
+            );
         }
+
+        double currentPrice = priceInfo.currentPrice();
+        return new PortfolioListResponse.HoldingStock(
+                stock.getTicker(),
+                stock.getName(),
+                holding.shares(),
+                holding.weight(),
+                holding.shares() * currentPrice,
+                priceInfo.dailyChangeRate(),
+                currentPrice
+        );
     }
 
     private PortfolioLongResponse.RulesDetail convertRulesToDetail(Rules rules) {
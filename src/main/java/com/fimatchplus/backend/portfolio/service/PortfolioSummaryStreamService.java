@@ -0,0 +1,171 @@
+package com.fimatchplus.backend.portfolio.service;
+
+import com.fimatchplus.backend.portfolio.dto.PortfolioSummaryResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 사용자 포트폴리오 합계 실시간 전송 (SSE)
+ * <ul>
+ *     <li>합계는 {@link PortfolioValuationEngine}이 시세 변경마다 증분 갱신한 값을 그대로 읽음 (연결별 계산/시세 조회 없음)</li>
+ *     <li>보유 종목 변경, 노드 간 무효화, 실시간 피드 장애 시 조회도 엔진이 처리</li>
+ *     <li>연결당 초당 최대 N회로 묶어서 전송 (그 사이 변경은 마지막 값만 전송)</li>
+ *     <li>스케줄러 스레드는 보낼 값만 정하고 실제 전송은 quickTaskExecutor에서 수행 (느린 클라이언트가 다른 주기 작업을 막지 않음)</li>
+ *     <li>연결당 전송은 한 번에 하나만, 전송이 send-timeout 안에 끝나지 않으면 연결을 끊음</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class PortfolioSummaryStreamService {
+
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 15_000;
+
+    private final PortfolioValuationEngine portfolioValuationEngine;
+    private final Executor sendExecutor;
+
+    private final Map<SseEmitter, Connection> connections = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis;
+    private final long minIntervalMillis;
+    private final long sendTimeoutMillis;
+
+    public PortfolioSummaryStreamService(
+            PortfolioValuationEngine portfolioValuationEngine,
+            @Qualifier("quickTaskExecutor") Executor sendExecutor,
+            @Value("${portfolio.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${portfolio.stream.max-updates-per-second:2}") int maxUpdatesPerSecond,
+            @Value("${portfolio.stream.send-timeout-ms:5000}") long sendTimeoutMillis) {
+        this.portfolioValuationEngine = portfolioValuationEngine;
+        this.sendExecutor = sendExecutor;
+        this.timeoutMillis = timeoutMillis;
+        this.minIntervalMillis = 1000L / Math.max(1, maxUpdatesPerSecond);
+        this.sendTimeoutMillis = sendTimeoutMillis;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(() -> unregister(connection));
+        emitter.onError(e -> unregister(connection));
+
+        connections.put(emitter, connection);
+        send(connection, toSummary(portfolioValuationEngine.userTotals(userId)));
+
+        log.info("Portfolio summary stream opened - userId: {}, connections: {}", userId, connections.size());
+        return emitter;
+    }
+
+    /**
+     * 합계가 바뀐 연결에 전송. 연결별 최소 전송 간격을 지키고, 한동안 변경이 없으면 heartbeat 전송
+     */
+    @Scheduled(fixedDelayString = "${portfolio.stream.flush-interval-ms:100}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Connection connection : connections.values()) {
+            if (connection.sending.get()) {
+                if (now - connection.sendStartedAt >= sendTimeoutMillis) {
+                    log.info("Portfolio summary stream send timed out - userId: {}", connection.userId);
+                    connection.emitter.complete();
+                    unregister(connection);
+                }
+                continue;
+            }
+            if (now - connection.lastSentAt < minIntervalMillis) {
+                continue;
+            }
+
+            PortfolioSummaryResponse summary = portfolioValuationEngine.cachedUserTotals(connection.userId)
+                    .map(this::toSummary)
+                    .orElse(null);
+            if (summary != null && !summary.equals(connection.lastSummary)) {
+                dispatch(connection, () -> send(connection, summary));
+            } else if (now - connection.lastSentAt >= HEARTBEAT_INTERVAL_MILLIS) {
+                dispatch(connection, () -> heartbeat(connection));
+            }
+        }
+    }
+
+    private PortfolioSummaryResponse toSummary(PortfolioCalculator.PortfolioTotals totals) {
+        return new PortfolioSummaryResponse(totals.totalAssets(), totals.dailyReturnPercent(), totals.dailyChange());
+    }
+
+    /**
+     * 연결의 이전 전송이 끝났을 때만 전송 작업을 넘김. 풀이 가득 차면 다음 flush에서 다시 시도
+     */
+    private void dispatch(Connection connection, Runnable task) {
+        if (!connection.sending.compareAndSet(false, true)) {
+            return;
+        }
+        connection.sendStartedAt = System.currentTimeMillis();
+        try {
+            sendExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    connection.sending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            connection.sending.set(false);
+            log.debug("Portfolio summary stream send deferred, executor busy - userId: {}", connection.userId);
+        }
+    }
+
+    private void send(Connection connection, PortfolioSummaryResponse summary) {
+        try {
+            connection.lastSummary = summary;
+            connection.lastSentAt = System.currentTimeMillis();
+            connection.emitter.send(SseEmitter.event().name("summary").data(summary));
+        } catch (Exception e) {
+            log.debug("Portfolio summary stream send failed - userId: {}, error: {}", connection.userId, e.getMessage());
+            connection.emitter.completeWithError(e);
+            unregister(connection);
+        }
+    }
+
+    private void heartbeat(Connection connection) {
+        try {
+            connection.lastSentAt = System.currentTimeMillis();
+            connection.emitter.send(SseEmitter.event().comment("heartbeat"));
+        } catch (Exception e) {
+            connection.emitter.completeWithError(e);
+            unregister(connection);
+        }
+    }
+
+    private void unregister(Connection connection) {
+        if (connections.remove(connection.emitter) != null) {
+            log.info("Portfolio summary stream closed - userId: {}, connections: {}", connection.userId, connections.size());
+        }
+    }
+
+    /**
+     * 연결별 마지막 전송 값과 시각, 전송 중 여부
+     */
+    private static final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private volatile PortfolioSummaryResponse lastSummary;
+        private volatile long lastSentAt;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long sendStartedAt;
+
+        private Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+}
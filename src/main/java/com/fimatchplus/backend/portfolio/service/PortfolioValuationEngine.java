@@ -0,0 +1,445 @@
+package com.fimatchplus.backend.portfolio.service;
+
+import com.fimatchplus.backend.portfolio.domain.Holding;
+import com.fimatchplus.backend.portfolio.domain.PortfolioHoldings;
+import com.fimatchplus.backend.portfolio.event.PortfolioCreatedEvent;
+import com.fimatchplus.backend.portfolio.event.PortfolioDeletedEvent;
+import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
+import com.fimatchplus.backend.stock.event.StockPriceUpdatedEvent;
+import com.fimatchplus.backend.stock.service.KisRateLimiter;
+import com.fimatchplus.backend.stock.service.KisRealtimePriceTable;
+import com.fimatchplus.backend.stock.service.StockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 포트폴리오 평가금액 메모리 계산기
+ * <ul>
+ *     <li>사용자를 처음 조회할 때 포트폴리오/보유 종목과 현재가를 한 번 읽어 합계를 계산하고 메모리에 유지</li>
+ *     <li>종목 → 포트폴리오 색인으로 시세 변경 시 해당 종목을 보유한 포트폴리오만 {@link PortfolioCalculator#applyPriceChange}로 반영</li>
+ *     <li>포트폴리오 생성/수정/삭제 시 portfolio:valuation:invalidate 채널로 모든 노드에 알려 해당 사용자를 다시 적재</li>
+ *     <li>알림을 놓쳐도 reload-after-ms가 지나면 다시 적재</li>
+ *     <li>실시간 피드가 비정상이면 poll-active-window-ms 안에 조회된 사용자(스트림 연결 포함)의 종목만 주기적으로 한 번에 조회 (BACKGROUND 우선순위, backgroundTaskExecutor)</li>
+ *     <li>max-users를 넘으면 가장 오래 조회되지 않은 사용자부터 제거</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PortfolioValuationEngine implements MessageListener {
+
+    private static final String INVALIDATION_CHANNEL = "portfolio:valuation:invalidate";
+
+    private final PortfolioRepository portfolioRepository;
+    private final StockService stockService;
+    private final PortfolioCalculator portfolioCalculator;
+    private final KisRealtimePriceTable realtimePriceTable;
+    private final StringRedisTemplate redisTemplate;
+    private final Executor executor;
+    private final Scheduler backgroundScheduler;
+    private final int maxUsers;
+    private final long reloadAfterMillis;
+    private final long pollActiveWindowMillis;
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<Long, UserBook> users = new ConcurrentHashMap<>();
+    private final Map<String, Set<PortfolioBook>> portfoliosByTicker = new ConcurrentHashMap<>();
+
+    public PortfolioValuationEngine(
+            PortfolioRepository portfolioRepository,
+            StockService stockService,
+            PortfolioCalculator portfolioCalculator,
+            KisRealtimePriceTable realtimePriceTable,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Qualifier("backgroundTaskExecutor") Executor executor,
+            @Value("${portfolio.valuation.max-users:10000}") int maxUsers,
+            @Value("${portfolio.valuation.reload-after-ms:600000}") long reloadAfterMillis,
+            @Value("${portfolio.valuation.poll-active-window-ms:300000}") long pollActiveWindowMillis) {
+        this.portfolioRepository = portfolioRepository;
+        this.stockService = stockService;
+        this.portfolioCalculator = portfolioCalculator;
+        this.realtimePriceTable = realtimePriceTable;
+        this.redisTemplate = redisTemplate;
+        this.executor = executor;
+        this.backgroundScheduler = Schedulers.fromExecutor(executor);
+        this.maxUsers = maxUsers;
+        this.reloadAfterMillis = reloadAfterMillis;
+        this.pollActiveWindowMillis = pollActiveWindowMillis;
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 포트폴리오 기본 정보/보유 종목, 합계, 합계 계산에 쓴 종목별 시세
+     */
+    public record PortfolioValuation(
+            PortfolioHoldings portfolio,
+            PortfolioCalculator.PortfolioTotals totals,
+            Map<String, StockService.StockPriceInfo> prices
+    ) {}
+
+    /**
+     * 사용자 전체 포트폴리오 합계 (적재되지 않았거나 오래되었으면 먼저 적재)
+     */
+    public PortfolioCalculator.PortfolioTotals userTotals(Long userId) {
+        return sum(loadedUser(userId));
+    }
+
+    /**
+     * 이미 적재된 사용자의 합계만 반환 (DB/KIS 조회 없음). 다시 적재할 때가 되었으면 백그라운드로 적재
+     */
+    public Optional<PortfolioCalculator.PortfolioTotals> cachedUserTotals(Long userId) {
+        UserBook user = users.get(userId);
+        if (user == null || !user.loaded) {
+            return Optional.empty();
+        }
+        user.touch();
+        if (user.needsReload(reloadAfterMillis)) {
+            scheduleReload(user);
+        }
+        return Optional.of(sum(user));
+    }
+
+    /**
+     * 사용자의 포트폴리오 ID → 평가 정보 (목록 정렬 순서 유지)
+     */
+    public Map<Long, PortfolioValuation> portfolios(Long userId) {
+        Map<Long, PortfolioValuation> result = new LinkedHashMap<>();
+        for (PortfolioBook book : loadedUser(userId).portfolios.values()) {
+            result.put(book.portfolio.id(), book.snapshot());
+        }
+        return result;
+    }
+
+    public Optional<PortfolioValuation> portfolio(Long userId, Long portfolioId) {
+        return Optional.ofNullable(loadedUser(userId).portfolios.get(portfolioId))
+                .map(PortfolioBook::snapshot);
+    }
+
+    @EventListener
+    public void handleStockPriceUpdated(StockPriceUpdatedEvent event) {
+        Set<PortfolioBook> holders = portfoliosByTicker.get(event.getTicker());
+        if (holders == null) {
+            return;
+        }
+        holders.forEach(book -> book.applyPrice(event.getTicker(), event.getPriceInfo()));
+    }
+
+    /**
+     * 포트폴리오 생성/수정 후 보유 종목이 바뀌었으므로 모든 노드에서 해당 사용자를 다시 적재
+     */
+    @Async("backgroundTaskExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handlePortfolioCreated(PortfolioCreatedEvent event) {
+        portfolioRepository.findOwnerIdById(event.getPortfolioId())
+                .ifPresent(this::invalidate);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void handlePortfolioDeleted(PortfolioDeletedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        try {
+            reloadIfLoaded(Long.valueOf(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid portfolio valuation invalidation message: {}", body);
+        }
+    }
+
+    /**
+     * 실시간 피드가 없을 때 최근 조회된 사용자의 종목만 한 번에 조회하여 반영.
+     * 스케줄러 스레드를 막지 않도록 backgroundTaskExecutor에서 조회하고, 이전 조회가 끝나지 않았으면 생략
+     */
+    @Scheduled(fixedDelayString = "${portfolio.valuation.poll-interval-ms:5000}")
+    public void pollPrices() {
+        if (portfoliosByTicker.isEmpty() || realtimePriceTable.isHealthy()) {
+            return;
+        }
+        List<String> tickers = activeTickers();
+        if (tickers.isEmpty() || !polling.compareAndSet(false, true)) {
+            return;
+        }
+
+        stockService.getMultiCurrentPricesReactive(tickers, KisRateLimiter.Priority.BACKGROUND)
+                .subscribeOn(backgroundScheduler)
+                .doFinally(signal -> polling.set(false))
+                .subscribe(
+                        priceMap -> priceMap.forEach((ticker, priceInfo) -> {
+                            Set<PortfolioBook> holders = portfoliosByTicker.get(ticker);
+                            if (holders != null) {
+                                holders.forEach(book -> book.applyPrice(ticker, priceInfo));
+                            }
+                        }),
+                        e -> log.warn("Portfolio valuation price poll failed: {}", e.getMessage()));
+    }
+
+    /**
+     * poll-active-window-ms 안에 조회된 사용자의 보유 종목. 스트림 연결은 {@link #cachedUserTotals}로 계속 조회되므로 포함됨
+     */
+    List<String> activeTickers() {
+        long activeSince = System.currentTimeMillis() - pollActiveWindowMillis;
+        Set<String> tickers = new HashSet<>();
+        for (UserBook user : users.values()) {
+            if (user.loaded && user.lastAccessedAt >= activeSince) {
+                user.portfolios.values().forEach(book -> tickers.addAll(book.holdingsByTicker.keySet()));
+            }
+        }
+        return List.copyOf(tickers);
+    }
+
+    /**
+     * 이 노드와 다른 노드에 적재된 사용자 평가 정보를 다시 적재하도록 알림
+     */
+    private void invalidate(Long userId) {
+        reloadIfLoaded(userId);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + userId);
+        } catch (Exception e) {
+            log.warn("Failed to publish portfolio valuation invalidation - userId: {}, error: {}", userId, e.getMessage());
+        }
+    }
+
+    private void reloadIfLoaded(Long userId) {
+        UserBook user = users.get(userId);
+        if (user != null) {
+            user.stale = true;
+            scheduleReload(user);
+        }
+    }
+
+    /**
+     * 백그라운드로 다시 적재 (이미 적재 중이면 생략). 실행기가 가득 차면 stale 표시만 남겨 다음 조회 때 적재
+     */
+    private void scheduleReload(UserBook user) {
+        if (!user.reloading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    synchronized (user) {
+                        load(user);
+                    }
+                } catch (Exception e) {
+                    log.warn("Portfolio valuation reload failed - userId: {}, error: {}", user.userId, e.getMessage());
+                } finally {
+                    user.reloading.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            user.reloading.set(false);
+            user.stale = true;
+        }
+    }
+
+    private UserBook loadedUser(Long userId) {
+        UserBook user = users.get(userId);
+        if (user == null) {
+            if (users.size() >= maxUsers) {
+                evict();
+            }
+            user = users.computeIfAbsent(userId, UserBook::new);
+        }
+        user.touch();
+
+        synchronized (user) {
+            if (!user.loaded || user.needsReload(reloadAfterMillis)) {
+                load(user);
+            }
+        }
+        return user;
+    }
+
+    private PortfolioCalculator.PortfolioTotals sum(UserBook user) {
+        double totalAssets = 0.0;
+        double dailyChange = 0.0;
+        for (PortfolioBook book : user.portfolios.values()) {
+            PortfolioCalculator.PortfolioTotals totals = book.totals();
+            totalAssets += totals.totalAssets();
+            dailyChange += totals.dailyChange();
+        }
+
+        double dailyReturnPercent = totalAssets > 0 ? (dailyChange / totalAssets) * 100 : 0.0;
+        return new PortfolioCalculator.PortfolioTotals(totalAssets, dailyChange, dailyReturnPercent);
+    }
+
+    /**
+     * 사용자 포트폴리오를 DB와 현재가로 다시 계산하여 교체. 호출 측이 user 잠금을 잡고 있어야 함
+     */
+    private void load(UserBook user) {
+        user.stale = false;
+        List<PortfolioHoldings> portfolios = portfolioRepository.findPortfolioHoldingsByUserId(user.userId);
+        List<String> tickers = portfolios.stream()
+                .flatMap(portfolio -> portfolio.holdings().stream())
+                .map(Holding::symbol)
+                .distinct()
+                .toList();
+
+        Map<String, StockService.StockPriceInfo> priceMap = Map.of();
+        if (!tickers.isEmpty()) {
+            try {
+                priceMap = stockService.getMultiCurrentPrices(tickers);
+            } catch (Exception e) {
+                log.warn("Portfolio valuation price load failed, using stored values - userId: {}, error: {}",
+                        user.userId, e.getMessage());
+            }
+        }
+
+        Map<Long, PortfolioBook> books = new LinkedHashMap<>();
+        for (PortfolioHoldings portfolio : portfolios) {
+            books.put(portfolio.id(), new PortfolioBook(
+                    portfolio, priceMap, portfolioCalculator.calculateTotals(portfolio.holdings(), priceMap)));
+        }
+
+        user.portfolios.values().forEach(this::unindex);
+        user.portfolios = books;
+        user.loaded = true;
+        user.loadedAt = System.currentTimeMillis();
+
+        // 적재 중 제거된 사용자는 색인하지 않음 (제거 후 남는 항목 방지)
+        if (users.get(user.userId) == user) {
+            books.values().forEach(this::index);
+        }
+        log.debug("Portfolio valuation loaded - userId: {}, portfolios: {}, tickers: {}",
+                user.userId, books.size(), tickers.size());
+    }
+
+    private void evict() {
+        users.values().stream()
+                .min(Comparator.comparingLong(user -> user.lastAccessedAt))
+                .ifPresent(oldest -> {
+                    if (users.remove(oldest.userId, oldest)) {
+                        synchronized (oldest) {
+                            oldest.portfolios.values().forEach(this::unindex);
+                        }
+                    }
+                });
+    }
+
+    private void index(PortfolioBook book) {
+        for (String ticker : book.holdingsByTicker.keySet()) {
+            portfoliosByTicker.computeIfAbsent(ticker, key -> ConcurrentHashMap.newKeySet()).add(book);
+        }
+    }
+
+    private void unindex(PortfolioBook book) {
+        for (String ticker : book.holdingsByTicker.keySet()) {
+            portfoliosByTicker.computeIfPresent(ticker, (key, holders) -> {
+                holders.remove(book);
+                return holders.isEmpty() ? null : holders;
+            });
+        }
+    }
+
+    /**
+     * 사용자별 적재 상태와 포트폴리오 목록
+     */
+    private static final class UserBook {
+
+        private final Long userId;
+        private final AtomicBoolean reloading = new AtomicBoolean();
+        private volatile Map<Long, PortfolioBook> portfolios = Map.of();
+        private volatile boolean loaded;
+        private volatile boolean stale;
+        private volatile long loadedAt;
+        private volatile long lastAccessedAt = System.currentTimeMillis();
+
+        private UserBook(Long userId) {
+            this.userId = userId;
+        }
+
+        void touch() {
+            lastAccessedAt = System.currentTimeMillis();
+        }
+
+        boolean needsReload(long reloadAfterMillis) {
+            return stale || System.currentTimeMillis() - loadedAt >= reloadAfterMillis;
+        }
+    }
+
+    /**
+     * 포트폴리오별 보유 종목, 마지막 반영 시세, 누적 합계
+     */
+    private final class PortfolioBook {
+
+        private final PortfolioHoldings portfolio;
+        private final Map<String, List<Holding>> holdingsByTicker;
+        private final Map<String, StockService.StockPriceInfo> prices = new HashMap<>();
+        private PortfolioCalculator.PortfolioTotals totals;
+
+        private PortfolioBook(
+                PortfolioHoldings portfolio,
+                Map<String, StockService.StockPriceInfo> priceMap,
+                PortfolioCalculator.PortfolioTotals totals) {
+            this.portfolio = portfolio;
+            this.holdingsByTicker = portfolio.holdings().stream().collect(Collectors.groupingBy(Holding::symbol));
+            for (String ticker : holdingsByTicker.keySet()) {
+                StockService.StockPriceInfo priceInfo = priceMap.get(ticker);
+                if (priceInfo != null) {
+                    prices.put(ticker, priceInfo);
+                }
+            }
+            this.totals = totals;
+        }
+
+        synchronized void applyPrice(String ticker, StockService.StockPriceInfo next) {
+            List<Holding> holdings = holdingsByTicker.get(ticker);
+            StockService.StockPriceInfo previous = prices.get(ticker);
+            if (holdings == null || next.equals(previous)) {
+                return;
+            }
+
+            for (Holding holding : holdings) {
+                totals = portfolioCalculator.applyPriceChange(totals, holding, previous, next);
+            }
+            prices.put(ticker, next);
+        }
+
+        synchronized PortfolioCalculator.PortfolioTotals totals() {
+            return totals;
+        }
+
+        synchronized PortfolioValuation snapshot() {
+            return new PortfolioValuation(portfolio, totals, Map.copyOf(prices));
+        }
+    }
+}
@@ -1,18 +1,24 @@
 package com.fimatchplus.backend.stock.controller;
 
 import com.fimatchplus.backend.common.dto.ApiResponse;
+import com.fimatchplus.backend.common.exception.BusinessException;
 import com.fimatchplus.backend.stock.dto.StockDetailResponse;
 import com.fimatchplus.backend.stock.dto.StockPriceResponse;
 import com.fimatchplus.backend.stock.dto.StockSearchResponse;
+import com.fimatchplus.backend.stock.service.StockChartService;
+import com.fimatchplus.backend.stock.service.StockContentVersions;
 import com.fimatchplus.backend.stock.service.StockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -21,18 +27,25 @@ import java.util.List;
 public class StockController {
 
     private final StockService stockService;
+    private final StockContentVersions stockContentVersions;
 
     /**
      * 여러 종목의 현재가 정보 조회
      * <ul>
      *     <li>종목 코드 리스트를 받아 해당 종목들의 현재가 정보를 반환</li>
+     *     <li>If-None-Match / If-Modified-Since가 현재 버전과 같으면 조회 없이 304</li>
      * </ul>
      * */
     @GetMapping
     public ApiResponse<StockPriceResponse> getStockPrices(
-            @RequestParam("codes") List<String> codes) {
+            @RequestParam("codes") List<String> codes,
+            WebRequest webRequest) {
         log.info("GET /api/stocks - codes: {}", codes);
 
+        if (notModified(webRequest, stockContentVersions.forPrices(codes))) {
+            return null;
+        }
+
         StockPriceResponse response = stockService.getStockPrices(codes);
         return ApiResponse.success("여러 종목들의 현재가를 조회합니다", response);
     }
@@ -42,14 +55,20 @@ public class StockController {
      * <ul>
      *     <li>종목 코드와 차트 간격(interval)을 받아 해당 종목의 상세 정보를 반환</li>
      *     <li>차트 간격(interval) 기본값은 '1d'</li>
+     *     <li>If-None-Match / If-Modified-Since가 현재 버전과 같으면 조회 없이 304</li>
      * </ul>
      * */
     @GetMapping("/detail")
     public ApiResponse<StockDetailResponse> getStockDetail(
             @RequestParam("codes") String codes,
-            @RequestParam(value = "intervals", defaultValue = "1d") String intervals) {
+            @RequestParam(value = "intervals", defaultValue = "1d") String intervals,
+            WebRequest webRequest) {
         log.info("GET /api/stocks/detail - codes: {}, intervals: {}", codes, intervals);
 
+        if (notModified(webRequest, stockContentVersions.forDetail(codes, intervals))) {
+            return null;
+        }
+
         StockDetailResponse response = stockService.getStockDetail(codes, intervals);
         return ApiResponse.success("단일 종목의 정보를 조회합니다", response);
     }
@@ -58,8 +77,10 @@ public class StockController {
      * 특정 종목의 차트 데이터 조회
      * <ul>
      *     <li>종목 ID와 시간 간격을 받아 해당 종목의 차트 데이터를 반환</li>
-     *     <li>시간 간격: '1m'(1분), '1d'(1일), '1W'(1주), '1Y'(1년)</li>
+     *     <li>시간 간격: '1m'(1분), '1d'(1일)은 저장된 데이터, '5m'/'10m'/'15m'/'30m'/'1h'는 1분봉, '1W'/'1M'/'1Y'는 일봉을 묶어서 생성</li>
      *     <li>시작일과 종료일을 지정하여 특정 기간의 데이터 조회 가능</li>
+     *     <li>maxPoints를 지정하면 limit 대신 기간 전체를 최대 maxPoints개로 추려서 반환 (LTTB, 첫/마지막 봉을 항상 포함하므로 최소 3, 1~2이면 400)</li>
+     *     <li>If-None-Match / If-Modified-Since가 현재 버전(최신 봉 기준)과 같으면 조회 없이 304</li>
      * </ul>
      * */
     @GetMapping("/chart")
@@ -70,7 +91,17 @@ public class StockController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(value = "endDate", required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "maxPoints", defaultValue = "0") int maxPoints,
+            WebRequest webRequest) {
+
+        if (maxPoints > 0 && maxPoints < StockChartService.MIN_MAX_POINTS) {
+            throw new BusinessException("maxPoints는 0(사용 안 함) 또는 " + StockChartService.MIN_MAX_POINTS + " 이상이어야 합니다: " + maxPoints);
+        }
+
+        if (notModified(webRequest, stockContentVersions.forChart(stockId, interval, startDate == null))) {
+            return null;
+        }
 
         LocalDateTime endDateTime;
         LocalDateTime startDateTime;
@@ -90,9 +121,9 @@ public class StockController {
             startDateTime = startDate.atStartOfDay();
         }
 
-        log.info("GET /api/stocks/chart - stockId: {}, interval: {}, startDateTime: {}, endDateTime: {}, limit: {}", stockId, interval, startDateTime, endDateTime, limit);
+        log.info("GET /api/stocks/chart - stockId: {}, interval: {}, startDateTime: {}, endDateTime: {}, limit: {}, maxPoints: {}", stockId, interval, startDateTime, endDateTime, limit, maxPoints);
 
-        List<StockDetailResponse.ChartData> chartData = stockService.getChartData(stockId, interval, startDateTime, endDateTime, limit);
+        List<StockDetailResponse.ChartData> chartData = stockService.getChartData(stockId, interval, startDateTime, endDateTime, limit, maxPoints);
         return ApiResponse.success("차트데이터를 조회합니다", chartData);
     }
 
@@ -118,15 +149,16 @@ public class StockController {
      * 단일 종목 현재가 조회
      * <ul>
      *     <li>종목 선택 카드</li>
+     *     <li>비동기 응답으로 KIS 응답과 호출 한도 대기 동안 요청 스레드를 점유하지 않음</li>
      * </ul>
      */
     @GetMapping("/now")
-    public ApiResponse<StockPriceResponse> getCurrentPriceNow(
+    public Mono<ApiResponse<StockPriceResponse>> getCurrentPriceNow(
             @RequestParam("code") String code
     ) {
         log.info("GET /api/stocks/now - code: {}", code);
-        StockPriceResponse response = stockService.getCurrentPriceForSingle(code);
-        return ApiResponse.success("단일 종목의 현재가를 조회합니다", response);
+        return stockService.getCurrentPriceForSingle(code)
+                .map(response -> ApiResponse.success("단일 종목의 현재가를 조회합니다", response));
     }
 
     /**
@@ -134,14 +166,23 @@ public class StockController {
      * <ul>
      *     <li>KIS API를 통해 여러 종목의 실시간 현재가를 한 번에 조회</li>
      *     <li>모델 포트폴리오 보유 종목 현재가 조회</li>
+     *     <li>비동기 응답으로 KIS 응답을 기다리는 동안 요청 스레드를 점유하지 않음</li>
      * </ul>
      */
     @GetMapping("/multi")
-    public ApiResponse<StockPriceResponse> getRealtimeStockPrices(
+    public Mono<ApiResponse<StockPriceResponse>> getRealtimeStockPrices(
             @RequestParam("codes") List<String> codes
     ) {
         log.info("GET /api/stocks/multi - codes: {}", codes);
-        StockPriceResponse response = stockService.getRealtimeStockPrices(codes);
-        return ApiResponse.success("여러 종목의 실시간 현재가를 조회합니다", response);
+        return stockService.getRealtimeStockPrices(codes)
+                .map(response -> ApiResponse.success("여러 종목의 실시간 현재가를 조회합니다", response));
+    }
+
+    /**
+     * 버전이 있으면 ETag/Last-Modified를 설정하고, 요청 조건과 일치하면 true (304 응답)
+     */
+    private boolean notModified(WebRequest webRequest, Optional<StockContentVersions.ContentVersion> version) {
+        return version.isPresent()
+                && webRequest.checkNotModified(version.get().etag(), version.get().lastModifiedMillis());
     }
 }
@@ -0,0 +1,71 @@
+package com.fimatchplus.backend.stock.domain;
+
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * 차트 봉 주기
+ * stock_prices에 저장된 주기(1m, 1d)는 그대로 읽고, 나머지는 저장된 주기를 묶어서 만든다.
+ * 시각은 stock_prices.datetime을 UTC로 본 epoch 초 (저장 값의 벽시계 시각 기준으로 묶음)
+ */
+@Getter
+public enum ChartInterval {
+    MINUTE_1("1m", null, 60),
+    MINUTE_5("5m", "1m", 5 * 60),
+    MINUTE_10("10m", "1m", 10 * 60),
+    MINUTE_15("15m", "1m", 15 * 60),
+    MINUTE_30("30m", "1m", 30 * 60),
+    HOUR_1("1h", "1m", 60 * 60),
+    DAY_1("1d", null, 24 * 60 * 60),
+    WEEK_1("1W", "1d", 0),
+    MONTH_1("1M", "1d", 0),
+    YEAR_1("1Y", "1d", 0);
+
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final String code;
+    /** 묶을 원본 주기 (null이면 저장된 주기) */
+    private final String sourceCode;
+    /** 고정 길이 주기의 초 (주/월/연은 달력 기준이므로 0) */
+    private final long fixedSeconds;
+
+    ChartInterval(String code, String sourceCode, long fixedSeconds) {
+        this.code = code;
+        this.sourceCode = sourceCode;
+        this.fixedSeconds = fixedSeconds;
+    }
+
+    public static Optional<ChartInterval> fromCode(String code) {
+        for (ChartInterval interval : values()) {
+            if (interval.code.equals(code)) {
+                return Optional.of(interval);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean isResampled() {
+        return sourceCode != null;
+    }
+
+    /**
+     * epochSecond가 속한 봉의 시작 시각
+     */
+    public long bucketStart(long epochSecond) {
+        if (fixedSeconds > 0) {
+            return epochSecond - Math.floorMod(epochSecond, fixedSeconds);
+        }
+
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+        LocalDate start = switch (this) {
+            case WEEK_1 -> date.minusDays(date.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
+            case MONTH_1 -> date.withDayOfMonth(1);
+            case YEAR_1 -> date.withDayOfYear(1);
+            default -> date;
+        };
+        return start.toEpochDay() * SECONDS_PER_DAY;
+    }
+}
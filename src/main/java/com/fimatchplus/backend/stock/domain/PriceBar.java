@@ -0,0 +1,23 @@
+package com.fimatchplus.backend.stock.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 적재용 OHLCV 봉 한 건
+ *
+ * @param code 종목 코드 (stock_prices) 또는 지수 코드 (benchmark_prices)
+ * @param intervalUnit 봉 주기 (benchmark_prices는 일봉만 있으므로 null)
+ */
+public record PriceBar(
+        String code,
+        String intervalUnit,
+        LocalDateTime datetime,
+        BigDecimal openPrice,
+        BigDecimal highPrice,
+        BigDecimal lowPrice,
+        BigDecimal closePrice,
+        Long volume,
+        BigDecimal changeAmount,
+        BigDecimal changeRate
+) {}
@@ -40,7 +40,13 @@ public record StockPriceResponse(
             double dailyRate,
             double dailyChange,
             double marketCap,
-            PriceChangeSign sign
-    ) {}
+            PriceChangeSign sign,
+            boolean stale
+    ) {
+        public StockPriceData(String ticker, String name, double currentPrice, double dailyRate,
+                              double dailyChange, double marketCap, PriceChangeSign sign) {
+            this(ticker, name, currentPrice, dailyRate, dailyChange, marketCap, sign, false);
+        }
+    }
 }
 
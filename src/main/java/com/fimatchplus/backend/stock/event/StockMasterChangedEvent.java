@@ -0,0 +1,25 @@
+package com.fimatchplus.backend.stock.event;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Set;
+
+/**
+ * 종목 마스터 변경 이벤트
+ * {@link com.fimatchplus.backend.stock.service.StockMasterRegistry}가 새 스냅샷으로 교체한 뒤 발행
+ */
+@Getter
+public class StockMasterChangedEvent extends ApplicationEvent {
+
+    private final Set<String> addedTickers;
+    private final Set<String> updatedTickers;
+    private final Set<String> removedTickers;
+
+    public StockMasterChangedEvent(Object source, Set<String> addedTickers, Set<String> updatedTickers, Set<String> removedTickers) {
+        super(source);
+        this.addedTickers = addedTickers;
+        this.updatedTickers = updatedTickers;
+        this.removedTickers = removedTickers;
+    }
+}
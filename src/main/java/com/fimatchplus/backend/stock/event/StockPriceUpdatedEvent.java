@@ -0,0 +1,22 @@
+package com.fimatchplus.backend.stock.event;
+
+import com.fimatchplus.backend.stock.service.StockService;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 종목 시세 변경 이벤트
+ * 실시간 체결로 현재가 또는 전일대비가 바뀌었을 때 발행
+ */
+@Getter
+public class StockPriceUpdatedEvent extends ApplicationEvent {
+
+    private final String ticker;
+    private final StockService.StockPriceInfo priceInfo;
+
+    public StockPriceUpdatedEvent(String ticker, StockService.StockPriceInfo priceInfo) {
+        super(ticker);
+        this.ticker = ticker;
+        this.priceInfo = priceInfo;
+    }
+}
@@ -0,0 +1,12 @@
+package com.fimatchplus.backend.stock.exception;
+
+/**
+ * KIS 회로 차단 예외
+ * 연속 실패로 회로가 열려 있는 동안 KIS를 호출하지 않고 즉시 발생
+ */
+public class KisCircuitOpenException extends RuntimeException {
+
+    public KisCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.fimatchplus.backend.stock.exception;
+
+/**
+ * KIS 호출 한도 초과 예외
+ * 클라이언트 측 대기열이 가득 찼거나 대기 시간이 초과된 경우, 또는 KIS가 초당 거래건수 초과로 거절한 경우 발생
+ */
+public class KisRateLimitExceededException extends RuntimeException {
+
+    public KisRateLimitExceededException(String message) {
+        super(message);
+    }
+}
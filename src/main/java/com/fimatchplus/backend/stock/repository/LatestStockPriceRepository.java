@@ -0,0 +1,112 @@
+package com.fimatchplus.backend.stock.repository;
+
+import com.fimatchplus.backend.stock.domain.StockPrice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 종목/주기별 최신 봉 조회 (latest_stock_prices, PK (stock_code, interval_unit))
+ * stock_prices 전체 이력을 정렬하지 않고 종목당 인덱스 한 번으로 조회
+ * 테이블/트리거 DDL: resources/db/latest_stock_prices.sql
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class LatestStockPriceRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private static final String SELECT_COLUMNS = """
+        SELECT stock_code, interval_unit, datetime, open_price, high_price, low_price, close_price,
+               volume, change_amount, change_rate
+        FROM latest_stock_prices
+        """;
+
+    private static final String BACKFILL_SQL = """
+        INSERT INTO latest_stock_prices AS latest
+            (stock_code, interval_unit, datetime, open_price, high_price, low_price, close_price, volume, change_amount, change_rate, updated_at)
+        SELECT DISTINCT ON (stock_code)
+            stock_code, interval_unit, datetime, open_price, high_price, low_price, close_price, volume, change_amount, change_rate, NOW()
+        FROM stock_prices
+        WHERE interval_unit = :intervalUnit
+        ORDER BY stock_code, datetime DESC
+        ON CONFLICT (stock_code, interval_unit) DO UPDATE SET
+            datetime      = EXCLUDED.datetime,
+            open_price    = EXCLUDED.open_price,
+            high_price    = EXCLUDED.high_price,
+            low_price     = EXCLUDED.low_price,
+            close_price   = EXCLUDED.close_price,
+            volume        = EXCLUDED.volume,
+            change_amount = EXCLUDED.change_amount,
+            change_rate   = EXCLUDED.change_rate,
+            updated_at    = EXCLUDED.updated_at
+        WHERE latest.datetime <= EXCLUDED.datetime
+        """;
+
+    private static final RowMapper<StockPrice> LATEST_PRICE_ROW_MAPPER = (rs, rowNum) -> StockPrice.of(
+            null,
+            rs.getString("stock_code"),
+            rs.getTimestamp("datetime").toLocalDateTime(),
+            rs.getString("interval_unit"),
+            rs.getBigDecimal("open_price"),
+            rs.getBigDecimal("high_price"),
+            rs.getBigDecimal("low_price"),
+            rs.getBigDecimal("close_price"),
+            rs.getObject("volume", Long.class),
+            rs.getBigDecimal("change_amount"),
+            rs.getBigDecimal("change_rate")
+    );
+
+    public List<StockPrice> findByStockCodes(List<String> stockCodes, String intervalUnit) {
+        if (stockCodes == null || stockCodes.isEmpty()) {
+            return List.of();
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("stockCodes", stockCodes)
+                .addValue("intervalUnit", intervalUnit);
+        return jdbcTemplate.query(
+                SELECT_COLUMNS + "WHERE stock_code IN (:stockCodes) AND interval_unit = :intervalUnit",
+                params, LATEST_PRICE_ROW_MAPPER);
+    }
+
+    public Optional<StockPrice> findByStockCode(String stockCode, String intervalUnit) {
+        return findByStockCodes(List.of(stockCode), intervalUnit).stream().findFirst();
+    }
+
+    /**
+     * 종목/주기별 최신 봉의 마지막 변경 시각 (응답 버전 계산용)
+     */
+    public List<BarVersion> findAllVersions() {
+        return jdbcTemplate.getJdbcTemplate().query(
+                "SELECT stock_code, interval_unit, updated_at FROM latest_stock_prices",
+                (rs, rowNum) -> new BarVersion(
+                        rs.getString("stock_code"),
+                        rs.getString("interval_unit"),
+                        rs.getTimestamp("updated_at").getTime()));
+    }
+
+    public boolean isEmpty() {
+        Boolean exists = jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT EXISTS (SELECT 1 FROM latest_stock_prices)", Boolean.class);
+        return !Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * stock_prices 이력에서 주기별 최신 봉을 채움 (이미 더 최신 값이 있으면 유지)
+     *
+     * @return 반영된 행 수
+     */
+    public int backfill(String intervalUnit) {
+        return jdbcTemplate.update(BACKFILL_SQL, new MapSqlParameterSource("intervalUnit", intervalUnit));
+    }
+
+    public record BarVersion(String stockCode, String intervalUnit, long updatedAtMillis) {}
+}
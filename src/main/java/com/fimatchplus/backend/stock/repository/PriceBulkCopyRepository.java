@@ -0,0 +1,191 @@
+package com.fimatchplus.backend.stock.repository;
+
+import com.fimatchplus.backend.stock.domain.PriceBar;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * 가격 봉 대량 적재 (PostgreSQL COPY)
+ * <ul>
+ *     <li>세션 임시 스테이징 테이블로 COPY 후, INSERT ... ON CONFLICT 한 문장으로 본 테이블에 반영</li>
+ *     <li>같은 키를 다시 적재해도 값이 같으면 변경 없음 (멱등)</li>
+ *     <li>배치 하나가 트랜잭션 하나</li>
+ *     <li>ON CONFLICT 대상 유니크 인덱스: resources/db/price_ingest.sql</li>
+ * </ul>
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class PriceBulkCopyRepository {
+
+    private static final int COPY_CHUNK_CHARS = 64 * 1024;
+
+    private final DataSource dataSource;
+
+    public enum Target {
+        STOCK_PRICES(
+                """
+                CREATE TEMP TABLE IF NOT EXISTS stock_prices_staging (
+                    stock_code VARCHAR(20), datetime TIMESTAMP, interval_unit VARCHAR(10),
+                    open_price NUMERIC(15, 2), high_price NUMERIC(15, 2), low_price NUMERIC(15, 2), close_price NUMERIC(15, 2),
+                    volume BIGINT, change_amount NUMERIC(15, 2), change_rate NUMERIC(15, 2)
+                ) ON COMMIT DELETE ROWS
+                """,
+                "COPY stock_prices_staging (stock_code, datetime, interval_unit, open_price, high_price, low_price, close_price, volume, change_amount, change_rate) FROM STDIN WITH (FORMAT csv)",
+                """
+                INSERT INTO stock_prices (stock_code, datetime, interval_unit, open_price, high_price, low_price, close_price, volume, change_amount, change_rate)
+                SELECT DISTINCT ON (stock_code, interval_unit, datetime)
+                    stock_code, datetime, interval_unit, open_price, high_price, low_price, close_price, volume, change_amount, change_rate
+                FROM stock_prices_staging
+                ORDER BY stock_code, interval_unit, datetime
+                ON CONFLICT (stock_code, interval_unit, datetime) DO UPDATE SET
+                    open_price = EXCLUDED.open_price,
+                    high_price = EXCLUDED.high_price,
+                    low_price = EXCLUDED.low_price,
+                    close_price = EXCLUDED.close_price,
+                    volume = EXCLUDED.volume,
+                    change_amount = EXCLUDED.change_amount,
+                    change_rate = EXCLUDED.change_rate
+                WHERE (stock_prices.open_price, stock_prices.high_price, stock_prices.low_price, stock_prices.close_price,
+                       stock_prices.volume, stock_prices.change_amount, stock_prices.change_rate)
+                      IS DISTINCT FROM
+                      (EXCLUDED.open_price, EXCLUDED.high_price, EXCLUDED.low_price, EXCLUDED.close_price,
+                       EXCLUDED.volume, EXCLUDED.change_amount, EXCLUDED.change_rate)
+                """),
+        BENCHMARK_PRICES(
+                """
+                CREATE TEMP TABLE IF NOT EXISTS benchmark_prices_staging (
+                    index_code VARCHAR(20), datetime TIMESTAMP,
+                    open_price NUMERIC(15, 2), high_price NUMERIC(15, 2), low_price NUMERIC(15, 2), close_price NUMERIC(15, 2),
+                    volume BIGINT, change_amount NUMERIC(15, 2), change_rate NUMERIC(15, 2)
+                ) ON COMMIT DELETE ROWS
+                """,
+                "COPY benchmark_prices_staging (index_code, datetime, open_price, high_price, low_price, close_price, volume, change_amount, change_rate) FROM STDIN WITH (FORMAT csv)",
+                """
+                INSERT INTO benchmark_prices (index_code, datetime, open_price, high_price, low_price, close_price, volume, change_amount, change_rate, created_at, updated_at)
+                SELECT DISTINCT ON (index_code, datetime)
+                    index_code, datetime, open_price, high_price, low_price, close_price, volume, change_amount, change_rate, NOW(), NOW()
+                FROM benchmark_prices_staging
+                ORDER BY index_code, datetime
+                ON CONFLICT (index_code, datetime) DO UPDATE SET
+                    open_price = EXCLUDED.open_price,
+                    high_price = EXCLUDED.high_price,
+                    low_price = EXCLUDED.low_price,
+                    close_price = EXCLUDED.close_price,
+                    volume = EXCLUDED.volume,
+                    change_amount = EXCLUDED.change_amount,
+                    change_rate = EXCLUDED.change_rate,
+                    updated_at = EXCLUDED.updated_at
+                WHERE (benchmark_prices.open_price, benchmark_prices.high_price, benchmark_prices.low_price, benchmark_prices.close_price,
+                       benchmark_prices.volume, benchmark_prices.change_amount, benchmark_prices.change_rate)
+                      IS DISTINCT FROM
+                      (EXCLUDED.open_price, EXCLUDED.high_price, EXCLUDED.low_price, EXCLUDED.close_price,
+                       EXCLUDED.volume, EXCLUDED.change_amount, EXCLUDED.change_rate)
+                """);
+
+        private final String createStagingSql;
+        private final String copySql;
+        private final String upsertSql;
+
+        Target(String createStagingSql, String copySql, String upsertSql) {
+            this.createStagingSql = createStagingSql;
+            this.copySql = copySql;
+            this.upsertSql = upsertSql;
+        }
+    }
+
+    /**
+     * bars를 스테이징에 COPY한 뒤 본 테이블에 upsert
+     *
+     * @return 새로 추가되거나 값이 바뀐 행 수
+     */
+    public int copyAndUpsert(Target target, List<PriceBar> bars) throws SQLException {
+        if (bars.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(target.createStagingSql);
+                }
+
+                copy(connection, target, bars);
+
+                int upserted;
+                try (Statement statement = connection.createStatement()) {
+                    upserted = statement.executeUpdate(target.upsertSql);
+                }
+                connection.commit();
+                return upserted;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void copy(Connection connection, Target target, List<PriceBar> bars) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(target.copySql);
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_CHUNK_CHARS + 256);
+            for (PriceBar bar : bars) {
+                appendRow(buffer, target, bar);
+                if (buffer.length() >= COPY_CHUNK_CHARS) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    private void appendRow(StringBuilder buffer, Target target, PriceBar bar) {
+        buffer.append(bar.code()).append(',').append(bar.datetime()).append(',');
+        if (target == Target.STOCK_PRICES) {
+            buffer.append(bar.intervalUnit()).append(',');
+        }
+        appendNumber(buffer, bar.openPrice()).append(',');
+        appendNumber(buffer, bar.highPrice()).append(',');
+        appendNumber(buffer, bar.lowPrice()).append(',');
+        appendNumber(buffer, bar.closePrice()).append(',');
+        if (bar.volume() != null) {
+            buffer.append(bar.volume());
+        }
+        buffer.append(',');
+        appendNumber(buffer, bar.changeAmount()).append(',');
+        appendNumber(buffer, bar.changeRate()).append('\n');
+    }
+
+    private StringBuilder appendNumber(StringBuilder buffer, BigDecimal value) {
+        return value != null ? buffer.append(value.toPlainString()) : buffer;
+    }
+}
@@ -0,0 +1,98 @@
+package com.fimatchplus.backend.stock.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 차트용 봉 데이터 JDBC 조회
+ * StockPrice 엔티티/BigDecimal 없이 원시 값(epoch 초, double, long)으로 한 행씩 전달
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockChartJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final String SELECT_LATEST_SQL = """
+        SELECT datetime, open_price, high_price, low_price, close_price, volume
+        FROM (
+            SELECT datetime, open_price, high_price, low_price, close_price, volume
+            FROM stock_prices
+            WHERE stock_code = ? AND interval_unit = ?
+            ORDER BY datetime DESC
+            LIMIT ?
+        ) latest
+        ORDER BY datetime
+        """;
+
+    private static final String SELECT_AFTER_SQL = """
+        SELECT datetime, open_price, high_price, low_price, close_price, volume
+        FROM stock_prices
+        WHERE stock_code = ? AND interval_unit = ? AND datetime > ?
+        ORDER BY datetime
+        """;
+
+    private static final String SELECT_RANGE_SQL = """
+        SELECT datetime, open_price, high_price, low_price, close_price, volume
+        FROM stock_prices
+        WHERE stock_code = ? AND interval_unit = ? AND datetime BETWEEN ? AND ?
+        ORDER BY datetime
+        """;
+
+    /**
+     * [fromEpochSecond, toEpochSecond] 구간 봉을 한 번의 범위 조회로 시간 오름차순 전달
+     */
+    public void loadRange(String stockCode, String intervalUnit, long fromEpochSecond, long toEpochSecond, BarConsumer consumer) {
+        LocalDateTime from = LocalDateTime.ofEpochSecond(fromEpochSecond, 0, ZoneOffset.UTC);
+        LocalDateTime to = LocalDateTime.ofEpochSecond(toEpochSecond, 0, ZoneOffset.UTC);
+        jdbcTemplate.query(SELECT_RANGE_SQL, rs -> {
+            consumer.accept(
+                    rs.getObject("datetime", LocalDateTime.class).toEpochSecond(ZoneOffset.UTC),
+                    rs.getDouble("open_price"),
+                    rs.getDouble("high_price"),
+                    rs.getDouble("low_price"),
+                    rs.getDouble("close_price"),
+                    rs.getLong("volume"));
+        }, stockCode, intervalUnit, from, to);
+    }
+
+    /**
+     * 최근 maxBars개 봉을 시간 오름차순으로 전달
+     */
+    public void loadLatest(String stockCode, String intervalUnit, int maxBars, BarConsumer consumer) {
+        jdbcTemplate.query(SELECT_LATEST_SQL, rs -> {
+            consumer.accept(
+                    rs.getObject("datetime", LocalDateTime.class).toEpochSecond(ZoneOffset.UTC),
+                    rs.getDouble("open_price"),
+                    rs.getDouble("high_price"),
+                    rs.getDouble("low_price"),
+                    rs.getDouble("close_price"),
+                    rs.getLong("volume"));
+        }, stockCode, intervalUnit, maxBars);
+    }
+
+    /**
+     * afterEpochSecond 이후 봉을 시간 오름차순으로 전달
+     */
+    public void loadAfter(String stockCode, String intervalUnit, long afterEpochSecond, BarConsumer consumer) {
+        LocalDateTime after = LocalDateTime.ofEpochSecond(afterEpochSecond, 0, ZoneOffset.UTC);
+        jdbcTemplate.query(SELECT_AFTER_SQL, rs -> {
+            consumer.accept(
+                    rs.getObject("datetime", LocalDateTime.class).toEpochSecond(ZoneOffset.UTC),
+                    rs.getDouble("open_price"),
+                    rs.getDouble("high_price"),
+                    rs.getDouble("low_price"),
+                    rs.getDouble("close_price"),
+                    rs.getLong("volume"));
+        }, stockCode, intervalUnit, after);
+    }
+
+    @FunctionalInterface
+    public interface BarConsumer {
+        void accept(long epochSecond, double open, double high, double low, double close, long volume);
+    }
+}
@@ -29,28 +29,4 @@ public interface StockPriceRepository extends JpaRepository<StockPrice, Long> {
             Pageable pageable
     );
 
-    /**
-     * 특정 종목의 최신 가격 데이터를 조회합니다.
-     */
-    StockPrice findFirstByStockCodeAndIntervalUnitOrderByDatetimeDesc(String stockCode, String intervalUnit);
-
-    /**
-     * 여러 종목의 최신 가격 데이터를 조회합니다. (성능 최적화된 네이티브 쿼리)
-     */
-    @Query(value = """
-        SELECT DISTINCT ON (stock_code) 
-            id, stock_code, datetime, interval_unit, 
-            open_price, high_price, low_price, close_price, 
-            volume, change_amount, change_rate
-        FROM stock_prices 
-        WHERE stock_code IN (:stockCodes) 
-        AND interval_unit = :intervalUnit 
-        ORDER BY stock_code, datetime DESC
-        """, nativeQuery = true)
-    List<StockPrice> findLatestByStockCodesAndInterval(
-            @Param("stockCodes") List<String> stockCodes, 
-            @Param("intervalUnit") String intervalUnit
-    );
-
 }
-
@@ -0,0 +1,253 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.dto.StockDetailResponse;
+import com.fimatchplus.backend.stock.repository.StockChartJdbcRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 한 종목/주기의 봉 데이터 (열 단위 원시 배열)
+ * <ul>
+ *     <li>시간(epoch 초) 오름차순, 뒤에만 추가 (append-only)</li>
+ *     <li>추가는 단일 쓰기 스레드, 조회는 volatile 스냅샷(배열 + 길이)을 읽으므로 잠금 없음</li>
+ *     <li>쓰기는 스냅샷 길이 밖 칸에만 하므로 조회 중인 봉은 바뀌지 않음. 마지막 봉 갱신은 배열을 복사해 새 스냅샷으로 교체</li>
+ *     <li>구간 조회는 시간 배열 이진 탐색</li>
+ *     <li>점 개수 제한은 LTTB(Largest-Triangle-Three-Buckets)로 종가 모양을 유지하며 추림</li>
+ * </ul>
+ */
+final class ChartSeries {
+
+    /** 첫 봉, 마지막 봉, 그 사이 최소 한 구간 */
+    static final int MIN_DOWNSAMPLE_POINTS = 3;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private volatile Columns columns = new Columns(
+            new long[INITIAL_CAPACITY], new double[INITIAL_CAPACITY], new double[INITIAL_CAPACITY],
+            new double[INITIAL_CAPACITY], new double[INITIAL_CAPACITY], new long[INITIAL_CAPACITY], 0);
+
+    /**
+     * 마지막 봉보다 이후인 봉만 추가 (같은 시각이면 마지막 봉을 갱신)
+     */
+    synchronized void append(long epochSecond, double open, double high, double low, double close, long volume) {
+        Columns current = columns;
+        int size = current.size();
+        if (size > 0) {
+            long last = current.time()[size - 1];
+            if (epochSecond < last) {
+                return;
+            }
+            if (epochSecond == last) {
+                Columns target = current.copy();
+                target.open()[size - 1] = open;
+                target.high()[size - 1] = high;
+                target.low()[size - 1] = low;
+                target.close()[size - 1] = close;
+                target.volume()[size - 1] = volume;
+                columns = target;
+                return;
+            }
+        }
+
+        Columns target = size < current.time().length ? current : current.grow();
+        target.time()[size] = epochSecond;
+        target.open()[size] = open;
+        target.high()[size] = high;
+        target.low()[size] = low;
+        target.close()[size] = close;
+        target.volume()[size] = volume;
+        columns = target.withSize(size + 1);
+    }
+
+    int size() {
+        return columns.size();
+    }
+
+    /**
+     * @return 비어 있으면 Long.MIN_VALUE
+     */
+    long firstEpochSecond() {
+        Columns current = columns;
+        return current.size() > 0 ? current.time()[0] : Long.MIN_VALUE;
+    }
+
+    /**
+     * @return 비어 있으면 Long.MIN_VALUE
+     */
+    long lastEpochSecond() {
+        Columns current = columns;
+        return current.size() > 0 ? current.time()[current.size() - 1] : Long.MIN_VALUE;
+    }
+
+    /**
+     * [fromEpochSecond, toEpochSecond] 구간에서 최근 limit개를 시간 내림차순으로 반환
+     */
+    List<StockDetailResponse.ChartData> sliceDescending(long fromEpochSecond, long toEpochSecond, int limit) {
+        Columns current = columns;
+        int from = lowerBound(current.time(), current.size(), fromEpochSecond);
+        int to = upperBound(current.time(), current.size(), toEpochSecond);
+        int start = Math.max(from, to - Math.max(0, limit));
+
+        List<StockDetailResponse.ChartData> result = new ArrayList<>(Math.max(0, to - start));
+        for (int i = to - 1; i >= start; i--) {
+            result.add(new StockDetailResponse.ChartData(
+                    Instant.ofEpochSecond(current.time()[i]),
+                    current.open()[i],
+                    current.close()[i],
+                    current.high()[i],
+                    current.low()[i],
+                    current.volume()[i]));
+        }
+        return result;
+    }
+
+    /**
+     * [fromEpochSecond, toEpochSecond] 구간의 봉을 시간 오름차순으로 전달
+     */
+    void forEachInRange(long fromEpochSecond, long toEpochSecond, StockChartJdbcRepository.BarConsumer consumer) {
+        Columns current = columns;
+        int from = lowerBound(current.time(), current.size(), fromEpochSecond);
+        int to = upperBound(current.time(), current.size(), toEpochSecond);
+        for (int i = from; i < to; i++) {
+            consumer.accept(current.time()[i], current.open()[i], current.high()[i],
+                    current.low()[i], current.close()[i], current.volume()[i]);
+        }
+    }
+
+    /**
+     * 전체 봉을 최대 maxPoints개로 추려 시간 내림차순으로 반환 (첫 봉과 마지막 봉은 항상 포함)
+     * maxPoints가 {@link #MIN_DOWNSAMPLE_POINTS}보다 작으면 {@link #MIN_DOWNSAMPLE_POINTS}개를 반환
+     */
+    List<StockDetailResponse.ChartData> downsampleDescending(int maxPoints) {
+        Columns current = columns;
+        int size = current.size();
+        if (size <= maxPoints) {
+            return sliceDescending(Long.MIN_VALUE, Long.MAX_VALUE, size);
+        }
+
+        int[] selected = largestTriangleThreeBuckets(current.time(), current.close(), size, Math.max(MIN_DOWNSAMPLE_POINTS, maxPoints));
+        List<StockDetailResponse.ChartData> result = new ArrayList<>(selected.length);
+        for (int k = selected.length - 1; k >= 0; k--) {
+            int i = selected[k];
+            result.add(new StockDetailResponse.ChartData(
+                    Instant.ofEpochSecond(current.time()[i]),
+                    current.open()[i],
+                    current.close()[i],
+                    current.high()[i],
+                    current.low()[i],
+                    current.volume()[i]));
+        }
+        return result;
+    }
+
+    /**
+     * 양 끝을 제외한 점을 threshold - 2개 구간으로 나누고, 구간마다 직전 선택 점과 다음 구간 평균점이
+     * 이루는 삼각형 넓이가 가장 큰 점을 고른다.
+     *
+     * @return 선택된 인덱스 (오름차순, threshold개)
+     */
+    private static int[] largestTriangleThreeBuckets(long[] x, double[] y, int size, int threshold) {
+        int[] selected = new int[threshold];
+        int count = 0;
+        selected[count++] = 0;
+
+        double bucketSize = (double) (size - 2) / (threshold - 2);
+        int previous = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                averageX += x[j];
+                averageY += y[j];
+            }
+            int nextLength = Math.max(1, nextEnd - nextStart);
+            averageX /= nextLength;
+            averageY /= nextLength;
+
+            int rangeStart = (int) Math.floor(bucket * bucketSize) + 1;
+            int rangeEnd = Math.min((int) Math.floor((bucket + 1) * bucketSize) + 1, size - 1);
+            double maxArea = -1;
+            int chosen = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((x[previous] - averageX) * (y[j] - y[previous])
+                        - (x[previous] - x[j]) * (averageY - y[previous]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = j;
+                }
+            }
+
+            selected[count++] = chosen;
+            previous = chosen;
+        }
+
+        selected[count] = size - 1;
+        return selected;
+    }
+
+    /**
+     * time[i] >= key 인 첫 위치
+     */
+    private static int lowerBound(long[] time, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (time[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * time[i] > key 인 첫 위치
+     */
+    private static int upperBound(long[] time, int size, long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (time[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Columns(long[] time, double[] open, double[] high, double[] low, double[] close, long[] volume, int size) {
+
+        Columns grow() {
+            return copyWithCapacity(time.length * 2);
+        }
+
+        Columns copy() {
+            return copyWithCapacity(time.length);
+        }
+
+        private Columns copyWithCapacity(int capacity) {
+            return new Columns(
+                    Arrays.copyOf(time, capacity),
+                    Arrays.copyOf(open, capacity),
+                    Arrays.copyOf(high, capacity),
+                    Arrays.copyOf(low, capacity),
+                    Arrays.copyOf(close, capacity),
+                    Arrays.copyOf(volume, capacity),
+                    size);
+        }
+
+        Columns withSize(int newSize) {
+            return new Columns(time, open, high, low, close, volume, newSize);
+        }
+    }
+}
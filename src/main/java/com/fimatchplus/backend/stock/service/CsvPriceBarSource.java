@@ -0,0 +1,129 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceBar;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 헤더가 있는 CSV 파일에서 가격 봉을 읽는 {@link PriceBarSource}
+ * <ul>
+ *     <li>필수 컬럼: code, datetime, open, high, low, close</li>
+ *     <li>선택 컬럼: interval_unit (없으면 defaultIntervalUnit), volume, change_amount, change_rate</li>
+ *     <li>datetime은 ISO 형식 (2024-01-02T09:00:00 또는 2024-01-02 09:00:00)</li>
+ *     <li>따옴표/이스케이프는 지원하지 않음 (숫자·코드 전용)</li>
+ * </ul>
+ */
+public class CsvPriceBarSource implements PriceBarSource {
+
+    private final Path path;
+    private final BufferedReader reader;
+    private final String defaultIntervalUnit;
+
+    private final int code;
+    private final int datetime;
+    private final int intervalUnit;
+    private final int open;
+    private final int high;
+    private final int low;
+    private final int close;
+    private final int volume;
+    private final int changeAmount;
+    private final int changeRate;
+
+    private long lineNumber = 1;
+
+    public CsvPriceBarSource(Path path, String defaultIntervalUnit) throws IOException {
+        this.path = path;
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        this.defaultIntervalUnit = defaultIntervalUnit;
+
+        String header = reader.readLine();
+        if (header == null) {
+            reader.close();
+            throw new IOException("CSV 헤더가 없습니다: " + path);
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        String[] names = header.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+            columns.put(names[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        try {
+            this.code = required(columns, "code");
+            this.datetime = required(columns, "datetime");
+            this.open = required(columns, "open");
+            this.high = required(columns, "high");
+            this.low = required(columns, "low");
+            this.close = required(columns, "close");
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        this.intervalUnit = columns.getOrDefault("interval_unit", -1);
+        this.volume = columns.getOrDefault("volume", -1);
+        this.changeAmount = columns.getOrDefault("change_amount", -1);
+        this.changeRate = columns.getOrDefault("change_rate", -1);
+    }
+
+    @Override
+    public PriceBar next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            lineNumber++;
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        String[] fields = line.split(",", -1);
+        try {
+            return new PriceBar(
+                    fields[code].trim(),
+                    intervalUnit >= 0 && !fields[intervalUnit].isBlank() ? fields[intervalUnit].trim() : defaultIntervalUnit,
+                    LocalDateTime.parse(fields[datetime].trim().replace(' ', 'T')),
+                    new BigDecimal(fields[open].trim()),
+                    new BigDecimal(fields[high].trim()),
+                    new BigDecimal(fields[low].trim()),
+                    new BigDecimal(fields[close].trim()),
+                    volume >= 0 && !fields[volume].isBlank() ? Long.valueOf(fields[volume].trim()) : null,
+                    decimalOrNull(fields, changeAmount),
+                    decimalOrNull(fields, changeRate)
+            );
+        } catch (RuntimeException e) {
+            throw new IOException("CSV 형식 오류 - " + path + ":" + lineNumber + " " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return path.getFileName().toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static int required(Map<String, Integer> columns, String name) throws IOException {
+        Integer index = columns.get(name);
+        if (index == null) {
+            throw new IOException("CSV 필수 컬럼이 없습니다: " + name);
+        }
+        return index;
+    }
+
+    private static BigDecimal decimalOrNull(String[] fields, int index) {
+        return index >= 0 && !fields[index].isBlank() ? new BigDecimal(fields[index].trim()) : null;
+    }
+}
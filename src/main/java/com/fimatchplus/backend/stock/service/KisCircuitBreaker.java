@@ -0,0 +1,124 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.exception.KisCircuitOpenException;
+import com.fimatchplus.backend.stock.exception.KisRateLimitExceededException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * KIS 호출 회로 차단기
+ * <ul>
+ *     <li>CLOSED: 연속 실패가 임계치에 도달하면 OPEN</li>
+ *     <li>OPEN: 대기 시간 동안 호출 없이 {@link KisCircuitOpenException}으로 즉시 실패</li>
+ *     <li>HALF_OPEN: 대기 시간 후 한 건만 시험 호출, 성공하면 CLOSED, 실패하면 다시 OPEN</li>
+ *     <li>호출 한도 초과({@link KisRateLimitExceededException})는 장애가 아니므로 실패로 세지 않음. 시험 호출이었다면 시험 기회만 돌려놓음</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class KisCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+
+    public KisCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${kis.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${kis.circuit-breaker.open-ms:30000}") long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+
+        Gauge.builder("kis.circuit_breaker.state", this, breaker -> breaker.state.get().ordinal())
+                .description("0=closed, 1=half_open, 2=open")
+                .register(meterRegistry);
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    public boolean isOpen() {
+        return state.get() == State.OPEN && System.nanoTime() - openedAt.get() < openNanos;
+    }
+
+    /**
+     * 회로가 허용하면 call을 구독하고 결과로 상태를 갱신한다.
+     */
+    public <T> Mono<T> protect(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Mono.error(new KisCircuitOpenException("KIS 호출이 일시 차단되었습니다"));
+            }
+            return call.get()
+                    .doOnSuccess(ignored -> onSuccess())
+                    .doOnError(this::onFailure)
+                    .doOnCancel(this::onCancel);
+        });
+    }
+
+    private boolean tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt.get() >= openNanos) {
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                log.info("KIS circuit half-open, sending trial call");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        State previous = state.getAndSet(State.CLOSED);
+        if (previous != State.CLOSED) {
+            log.info("KIS circuit closed");
+        }
+    }
+
+    private void onCancel() {
+        releaseTrial();
+    }
+
+    private void onFailure(Throwable error) {
+        if (error instanceof KisRateLimitExceededException) {
+            releaseTrial();
+            return;
+        }
+
+        int failures = consecutiveFailures.incrementAndGet();
+        State current = state.get();
+        if (current == State.HALF_OPEN || (current == State.CLOSED && failures >= failureThreshold)) {
+            if (state.compareAndSet(current, State.OPEN)) {
+                openedAt.set(System.nanoTime());
+                log.warn("KIS circuit opened - consecutive failures: {}, last error: {}", failures, error.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 결과를 판단할 수 없는 시험 호출(취소, 호출 한도 초과)은 OPEN으로 되돌려 다음 호출이 바로 다시 시험하게 한다.
+     * (openedAt은 그대로라 대기 시간이 이미 지난 상태)
+     */
+    private void releaseTrial() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+}
@@ -0,0 +1,184 @@
+package com.fimatchplus.backend.stock.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * KIS API 응답 시간 분포와 그에 따른 타임아웃/헤지 기준
+ * <ul>
+ *     <li>엔드포인트별 최근 window-size건의 응답 시간으로 p95/p99를 계산</li>
+ *     <li>타임아웃 = p99 × timeout-multiplier (min/max 사이), 표본이 적으면 max</li>
+ *     <li>헤지 지연 = p95 (최소 hedge.min-delay-ms), 표본이 적으면 hedge.default-delay-ms</li>
+ *     <li>헤지는 요청 수 대비 hedge.max-ratio 이내로만 허용</li>
+ * </ul>
+ */
+@Component
+public class KisLatencyTracker {
+
+    public enum Endpoint { QUOTE, MULTI_PRICE }
+
+    private final Map<Endpoint, Window> windows = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> hedgesSent = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> hedgesWon = new EnumMap<>(Endpoint.class);
+
+    private final int minSamples;
+    private final double timeoutMultiplier;
+    private final long minTimeoutNanos;
+    private final long maxTimeoutNanos;
+    private final boolean hedgeEnabled;
+    private final long hedgeMinDelayNanos;
+    private final long hedgeDefaultDelayNanos;
+    private final double hedgeMaxRatio;
+
+    public KisLatencyTracker(
+            MeterRegistry meterRegistry,
+            @Value("${kis.latency.window-size:512}") int windowSize,
+            @Value("${kis.latency.min-samples:50}") int minSamples,
+            @Value("${kis.latency.timeout-multiplier:3}") double timeoutMultiplier,
+            @Value("${kis.latency.min-timeout-ms:500}") long minTimeoutMillis,
+            @Value("${kis.latency.max-timeout-ms:10000}") long maxTimeoutMillis,
+            @Value("${kis.hedge.enabled:true}") boolean hedgeEnabled,
+            @Value("${kis.hedge.min-delay-ms:50}") long hedgeMinDelayMillis,
+            @Value("${kis.hedge.default-delay-ms:500}") long hedgeDefaultDelayMillis,
+            @Value("${kis.hedge.max-ratio:0.1}") double hedgeMaxRatio) {
+        this.minSamples = minSamples;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.minTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(minTimeoutMillis);
+        this.maxTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(maxTimeoutMillis);
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeMinDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMillis);
+        this.hedgeDefaultDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDefaultDelayMillis);
+        this.hedgeMaxRatio = hedgeMaxRatio;
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            Window window = new Window(Math.max(minSamples, windowSize));
+            windows.put(endpoint, window);
+
+            String tag = endpoint.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("kis.latency.p95", window, w -> w.p95Nanos / 1_000_000.0)
+                    .tag("endpoint", tag)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("kis.latency.p99", window, w -> w.p99Nanos / 1_000_000.0)
+                    .tag("endpoint", tag)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            hedgesSent.put(endpoint, meterRegistry.counter("kis.hedge", "endpoint", tag, "outcome", "sent"));
+            hedgesWon.put(endpoint, meterRegistry.counter("kis.hedge", "endpoint", tag, "outcome", "won"));
+        }
+    }
+
+    public void record(Endpoint endpoint, long elapsedNanos) {
+        windows.get(endpoint).record(elapsedNanos);
+    }
+
+    public Duration timeout(Endpoint endpoint) {
+        Window window = windows.get(endpoint);
+        if (window.size() < minSamples) {
+            return Duration.ofNanos(maxTimeoutNanos);
+        }
+        long timeout = (long) (window.p99Nanos * timeoutMultiplier);
+        return Duration.ofNanos(Math.max(minTimeoutNanos, Math.min(maxTimeoutNanos, timeout)));
+    }
+
+    public Duration hedgeDelay(Endpoint endpoint) {
+        Window window = windows.get(endpoint);
+        if (window.size() < minSamples) {
+            return Duration.ofNanos(hedgeDefaultDelayNanos);
+        }
+        return Duration.ofNanos(Math.max(hedgeMinDelayNanos, window.p95Nanos));
+    }
+
+    public boolean isHedgeEnabled() {
+        return hedgeEnabled;
+    }
+
+    /**
+     * 헤지 비율 한도 안이고 permit(호출 허가)도 받으면 헤지 1건을 기록하고 true
+     * 허가를 못 받으면 잡아 둔 헤지 한도를 돌려놓고 false (sent로 세지 않음)
+     */
+    public boolean tryStartHedge(Endpoint endpoint, BooleanSupplier permit) {
+        Window window = windows.get(endpoint);
+        if (!window.tryStartHedge(hedgeMaxRatio)) {
+            return false;
+        }
+        if (!permit.getAsBoolean()) {
+            window.cancelHedge();
+            return false;
+        }
+        hedgesSent.get(endpoint).increment();
+        return true;
+    }
+
+    public void recordHedgeWon(Endpoint endpoint) {
+        hedgesWon.get(endpoint).increment();
+    }
+
+    /**
+     * 최근 응답 시간 링 버퍼. 분위수는 일정 건수마다 다시 계산
+     */
+    private static final class Window {
+
+        private static final int RECOMPUTE_EVERY = 32;
+
+        private final long[] samples;
+        private int next;
+        private int size;
+        private int sinceRecompute;
+        private long requests;
+        private long hedges;
+
+        private volatile long p95Nanos;
+        private volatile long p99Nanos;
+
+        private Window(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void record(long elapsedNanos) {
+            samples[next] = elapsedNanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+            requests++;
+            if (++sinceRecompute >= RECOMPUTE_EVERY) {
+                sinceRecompute = 0;
+                long[] sorted = Arrays.copyOf(samples, size);
+                Arrays.sort(sorted);
+                p95Nanos = sorted[(int) Math.ceil(size * 0.95) - 1];
+                p99Nanos = sorted[(int) Math.ceil(size * 0.99) - 1];
+            }
+            // 오래된 요청/헤지 수는 절반씩 줄여 최근 비율을 따르게 함
+            if (requests >= 10_000) {
+                requests /= 2;
+                hedges /= 2;
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized boolean tryStartHedge(double maxRatio) {
+            if (hedges + 1 > Math.max(1, requests * maxRatio)) {
+                return false;
+            }
+            hedges++;
+            return true;
+        }
+
+        synchronized void cancelHedge() {
+            hedges = Math.max(0, hedges - 1);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.fimatchplus.backend.stock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 종목 수 제한 없는 다중 현재가 조회 서비스
+ * KIS 한도(30종목) 단위로 나누어 병렬 조회하고, 입력 순서대로 병합
+ * 일부 묶음이 실패해도 나머지 결과는 반환하고 실패 내역을 함께 전달
+ */
+@Slf4j
+@Service
+public class KisMultiPriceService {
+
+    static final int KIS_MAX_TICKERS_PER_CALL = 30;
+
+    private final KisPriceClient kisPriceClient;
+    private final int parallelism;
+
+    public KisMultiPriceService(
+            KisPriceClient kisPriceClient,
+            @Value("${kis.multi-price.parallelism:4}") int parallelism) {
+        this.kisPriceClient = kisPriceClient;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * @param tickers 조회할 종목 코드 (중복은 한 번만 조회)
+     * @return 입력 순서대로 정렬된 시세와 묶음별 실패 내역
+     */
+    public MultiPriceResult fetchMultiPrice(List<String> tickers) {
+        return fetchMultiPriceReactive(tickers).block();
+    }
+
+    /**
+     * {@link #fetchMultiPrice(List)}의 논블로킹 버전. 묶음은 최대 parallelism개까지 동시에 조회한다.
+     */
+    public Mono<MultiPriceResult> fetchMultiPriceReactive(List<String> tickers) {
+        return fetchMultiPriceReactive(tickers, KisRateLimiter.Priority.INTERACTIVE);
+    }
+
+    public Mono<MultiPriceResult> fetchMultiPriceReactive(List<String> tickers, KisRateLimiter.Priority priority) {
+        List<String> distinctTickers = new ArrayList<>(new LinkedHashSet<>(tickers));
+        if (distinctTickers.isEmpty()) {
+            return Mono.just(new MultiPriceResult(List.of(), List.of()));
+        }
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinctTickers.size(); i += KIS_MAX_TICKERS_PER_CALL) {
+            chunks.add(distinctTickers.subList(i, Math.min(i + KIS_MAX_TICKERS_PER_CALL, distinctTickers.size())));
+        }
+
+        return Flux.fromIterable(chunks)
+                .flatMap(chunk -> fetchChunk(chunk, priority), parallelism)
+                .collectList()
+                .map(chunkResults -> merge(distinctTickers, chunks.size(), chunkResults));
+    }
+
+    private MultiPriceResult merge(List<String> distinctTickers, int chunkCount, List<ChunkResult> chunkResults) {
+        Map<String, KisMultiPriceResponse.ResponseBodyOutput> outputByTicker = new HashMap<>();
+        List<ChunkFailure> failures = new ArrayList<>();
+        for (ChunkResult chunkResult : chunkResults) {
+            chunkResult.outputs().forEach(output -> outputByTicker.putIfAbsent(output.interShrnIscd(), output));
+            if (chunkResult.failure() != null) {
+                failures.add(chunkResult.failure());
+            }
+        }
+
+        List<KisMultiPriceResponse.ResponseBodyOutput> ordered = distinctTickers.stream()
+                .map(outputByTicker::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (!failures.isEmpty()) {
+            log.warn("Multi-price partial failure - chunks: {}/{}, tickers ok: {}/{}",
+                    failures.size(), chunkCount, ordered.size(), distinctTickers.size());
+        }
+
+        return new MultiPriceResult(ordered, failures);
+    }
+
+    private Mono<ChunkResult> fetchChunk(List<String> chunk, KisRateLimiter.Priority priority) {
+        return kisPriceClient.fetchMultiPriceReactive(chunk, priority)
+                .map(response -> {
+                    if (!"0".equals(response.rtCd())) {
+                        return ChunkResult.failed(chunk, "KIS API 오류: " + response.msg1());
+                    }
+                    return new ChunkResult(response.output() != null ? response.output() : List.of(), null);
+                })
+                .defaultIfEmpty(ChunkResult.failed(chunk, "empty response"))
+                .onErrorResume(e -> {
+                    log.warn("Multi-price chunk failed - tickers: {}, error: {}", chunk, e.getMessage());
+                    return Mono.just(ChunkResult.failed(chunk, e.getMessage()));
+                });
+    }
+
+    /**
+     * 다중 현재가 조회 결과
+     *
+     * @param outputs 입력 순서대로 정렬된 종목별 시세 (실패 종목 제외)
+     * @param failures 실패한 묶음 목록
+     */
+    public record MultiPriceResult(
+            List<KisMultiPriceResponse.ResponseBodyOutput> outputs,
+            List<ChunkFailure> failures
+    ) {
+        public boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+
+    /**
+     * 실패한 묶음의 종목과 원인
+     */
+    public record ChunkFailure(List<String> tickers, String message) {}
+
+    private record ChunkResult(
+            List<KisMultiPriceResponse.ResponseBodyOutput> outputs,
+            ChunkFailure failure
+    ) {
+        static ChunkResult failed(List<String> tickers, String message) {
+            return new ChunkResult(List.of(), new ChunkFailure(List.copyOf(tickers), message));
+        }
+    }
+}
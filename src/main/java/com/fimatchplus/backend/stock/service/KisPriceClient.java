@@ -1,30 +1,33 @@
 package com.fimatchplus.backend.stock.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fimatchplus.backend.stock.exception.KisRateLimitExceededException;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class KisPriceClient {
 
-    private static final String PRICE_CACHE_PREFIX = "kis:price:";
-    private static final Duration PRICE_CACHE_TTL = Duration.ofMinutes(1);
+    private static final Duration BATCH_AWAIT_TIMEOUT = Duration.ofSeconds(15);
+    private static final String PROVIDER_THROTTLED_CODE = "EGW00201";
 
     @Value("${kis.stock.base-url}")
     private String baseUrl;
@@ -35,31 +38,63 @@ public class KisPriceClient {
 
     private final WebClient webClient;
     private final KisTokenService kisTokenService;
-    private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final KisQuoteCache quoteCache;
+    private final KisRateLimiter rateLimiter;
+    private final KisQuoteBatcher quoteBatcher;
+    private final KisCircuitBreaker circuitBreaker;
+    private final WebClient hedgeWebClient;
+    private final KisLatencyTracker latencyTracker;
 
     public KisPriceClient(
             @Qualifier("stockApiWebClient") WebClient webClient, 
             KisTokenService kisTokenService,
-            StringRedisTemplate redisTemplate,
-            ObjectMapper objectMapper) {
+            KisQuoteCache quoteCache,
+            KisRateLimiter rateLimiter,
+            KisCircuitBreaker circuitBreaker,
+            @Qualifier("stockApiHedgeWebClient") WebClient hedgeWebClient,
+            KisLatencyTracker latencyTracker,
+            @Value("${kis.quote-batch.window-ms:10}") long batchWindowMillis,
+            @Value("${kis.quote-batch.max-size:30}") int batchMaxSize) {
         this.webClient = webClient;
         this.kisTokenService = kisTokenService;
-        this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.quoteCache = quoteCache;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.hedgeWebClient = hedgeWebClient;
+        this.latencyTracker = latencyTracker;
+        this.quoteBatcher = new KisQuoteBatcher(this::loadAndCacheMultiPrice, batchWindowMillis, Math.min(batchMaxSize, 30));
     }
 
-    public KisQuoteResponse fetchQuote(String ticker) {
-        KisQuoteResponse cached = getCachedPrice(ticker);
-        if (cached != null) {
-            log.debug("Cache hit for ticker: {}", ticker);
-            return cached;
-        }
-        
-        log.debug("Cache miss for ticker: {}, calling KIS API", ticker);
-        String token = kisTokenService.getAccessToken();
+    @PreDestroy
+    public void shutdown() {
+        quoteBatcher.shutdown();
+    }
+
+    public QuoteRecord fetchQuote(String ticker) {
+        return fetchQuoteReactive(ticker).block();
+    }
+
+    public Mono<QuoteRecord> fetchQuoteReactive(String ticker) {
+        return quoteCache.getReactive(ticker)
+                .doOnNext(cached -> log.debug("Cache hit for ticker: {}", ticker))
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("Cache miss for ticker: {}, calling KIS API", ticker);
+                    return callKisQuoteApi(ticker)
+                            .flatMap(response -> quoteCache.putReactive(ticker, response).thenReturn(response));
+                }));
+    }
+
+    private Mono<QuoteRecord> callKisQuoteApi(String ticker) {
+        return circuitBreaker.protect(() -> kisTokenService.getAccessTokenReactive()
+                .flatMap(token -> rateLimiter.acquireReactive(KisRateLimiter.Priority.INTERACTIVE)
+                        .then(hedged(KisLatencyTracker.Endpoint.QUOTE, KisRateLimiter.Priority.INTERACTIVE,
+                                client -> requestQuote(client, token, ticker)))
+                        .filter(response -> response.output() != null)
+                        .map(response -> QuoteRecord.fromQuoteOutput(response.output()))));
+    }
 
-        Mono<KisQuoteResponse> responseMono = webClient
+    private Mono<KisQuoteResponse> requestQuote(WebClient client, String token, String ticker) {
+        return client
                 .get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/uapi/domestic-stock/v1/quotations/inquire-price")
@@ -76,70 +111,97 @@ public class KisPriceClient {
                 .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
                         response -> logAndExtractError(response))
                 .bodyToMono(KisQuoteResponse.class);
-
-        KisQuoteResponse response = responseMono.block();
-        
-        if (response != null) {
-            cachePrice(ticker, response);
-        }
-        
-        return response;
     }
 
     public KisMultiPriceResponse fetchMultiPrice(List<String> tickers) {
+        return fetchMultiPrice(tickers, KisRateLimiter.Priority.INTERACTIVE);
+    }
+
+    public KisMultiPriceResponse fetchMultiPrice(List<String> tickers, KisRateLimiter.Priority priority) {
+        return fetchMultiPriceReactive(tickers, priority).block();
+    }
+
+    public Mono<KisMultiPriceResponse> fetchMultiPriceReactive(List<String> tickers, KisRateLimiter.Priority priority) {
         if (tickers.isEmpty()) {
-            return new KisMultiPriceResponse("0", "00000", "정상처리", List.of());
+            return Mono.just(new KisMultiPriceResponse("0", "00000", "정상처리", List.of()));
         }
         
         if (tickers.size() > 30) {
-            throw new IllegalArgumentException("한 번에 최대 30개 종목까지만 조회 가능합니다. 현재: " + tickers.size());
+            return Mono.error(new IllegalArgumentException("한 번에 최대 30개 종목까지만 조회 가능합니다. 현재: " + tickers.size()));
         }
 
-        Map<String, KisQuoteResponse> cachedPrices = new HashMap<>();
-        List<String> missedTickers = new ArrayList<>();
-        
-        for (String ticker : tickers) {
-            KisQuoteResponse cached = getCachedPrice(ticker);
-            if (cached != null) {
-                cachedPrices.put(ticker, cached);
-            } else {
-                missedTickers.add(ticker);
-            }
-        }
-        
-        log.debug("Cache hit: {}/{}, missed: {}", cachedPrices.size(), tickers.size(), missedTickers.size());
-        
-        if (missedTickers.isEmpty()) {
-            return buildMultiPriceResponseFromCache(cachedPrices);
-        }
-        
-        KisMultiPriceResponse apiResponse = callKisMultiPriceApi(missedTickers);
-        
-        if (apiResponse != null && apiResponse.output() != null) {
-            for (var priceData : apiResponse.output()) {
-                cacheMultiPriceItem(priceData);
+        return quoteCache.getAllReactive(tickers).flatMap(cachedPrices -> {
+            List<String> missedTickers = tickers.stream()
+                    .filter(ticker -> !cachedPrices.containsKey(ticker))
+                    .collect(Collectors.toList());
+
+            log.debug("Cache hit: {}/{}, missed: {}", cachedPrices.size(), tickers.size(), missedTickers.size());
+
+            if (missedTickers.isEmpty()) {
+                return Mono.just(buildMultiPriceResponseFromCache(cachedPrices));
             }
+
+            return fetchBatched(missedTickers, priority).map(fetched -> {
+                List<KisMultiPriceResponse.ResponseBodyOutput> fetchedOutput = missedTickers.stream()
+                        .map(fetched::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+                KisMultiPriceResponse apiResponse = new KisMultiPriceResponse("0", "00000", "정상처리", fetchedOutput);
+
+                return mergeMultiPriceResponses(cachedPrices, apiResponse);
+            });
+        });
+    }
+
+    /**
+     * 캐시를 읽지 않고 다시 조회하여 캐시를 갱신 (만료 직전 항목 갱신용, 최대 30종목)
+     *
+     * @return 갱신된 종목 수
+     */
+    public Mono<Integer> refreshMultiPriceReactive(List<String> tickers, KisRateLimiter.Priority priority) {
+        if (tickers.isEmpty()) {
+            return Mono.just(0);
         }
-        
-        return mergeMultiPriceResponses(cachedPrices, apiResponse);
+        return fetchBatched(tickers, priority).map(Map::size);
+    }
+
+    /**
+     * 다른 요청의 캐시 미스와 묶어서 조회 (같은 종목은 한 번만 호출)
+     */
+    private Mono<Map<String, KisMultiPriceResponse.ResponseBodyOutput>> fetchBatched(
+            List<String> tickers,
+            KisRateLimiter.Priority priority) {
+        return Mono.fromFuture(() -> quoteBatcher.fetch(tickers, priority))
+                .timeout(BATCH_AWAIT_TIMEOUT,
+                        Mono.error(() -> new RuntimeException("KIS Multi-Price API timeout")));
+    }
+
+    private Mono<KisMultiPriceResponse> loadAndCacheMultiPrice(List<String> tickers, KisRateLimiter.Priority priority) {
+        return callKisMultiPriceApi(tickers, priority)
+                .flatMap(apiResponse -> apiResponse.output() != null
+                        ? cacheMultiPriceItems(apiResponse.output()).thenReturn(apiResponse)
+                        : Mono.just(apiResponse));
     }
     
-    private KisMultiPriceResponse callKisMultiPriceApi(List<String> tickers) {
-        String token = kisTokenService.getAccessToken();
+    private Mono<KisMultiPriceResponse> callKisMultiPriceApi(List<String> tickers, KisRateLimiter.Priority priority) {
+        return circuitBreaker.protect(() -> kisTokenService.getAccessTokenReactive()
+                .flatMap(token -> rateLimiter.acquireReactive(priority)
+                        .then(hedged(KisLatencyTracker.Endpoint.MULTI_PRICE, priority,
+                                client -> requestMultiPrice(client, token, tickers)))));
+    }
 
-        var uriBuilder = webClient.get()
+    private Mono<KisMultiPriceResponse> requestMultiPrice(WebClient client, String token, List<String> tickers) {
+        return client.get()
                 .uri(uriBuilderParam -> {
                     var builder = uriBuilderParam.path("/uapi/domestic-stock/v1/quotations/intstock-multprice");
-                    
+
                     for (int i = 0; i < tickers.size(); i++) {
                         builder.queryParam("FID_COND_MRKT_DIV_CODE_" + (i + 1), "J");
                         builder.queryParam("FID_INPUT_ISCD_" + (i + 1), tickers.get(i));
                     }
-                    
-                    return builder.build();
-                });
 
-        Mono<KisMultiPriceResponse> responseMono = uriBuilder
+                    return builder.build();
+                })
                 .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE + "; charset=UTF-8")
                 .header("authorization", "Bearer " + token)
                 .header("appkey", appKey)
@@ -150,91 +212,79 @@ public class KisPriceClient {
                 .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
                         response -> logAndExtractMultiPriceError(response))
                 .bodyToMono(KisMultiPriceResponse.class);
-
-        return responseMono.block();
     }
 
-    private KisQuoteResponse getCachedPrice(String ticker) {
-        try {
-            String key = PRICE_CACHE_PREFIX + ticker;
-            String cached = redisTemplate.opsForValue().get(key);
-            
-            if (cached == null || cached.isEmpty()) {
-                return null;
-            }
-            
-            return objectMapper.readValue(cached, KisQuoteResponse.class);
-        } catch (Exception e) {
-            log.warn("Failed to get cached price for ticker: {}, error: {}", ticker, e.getMessage());
-            return null;
+    /**
+     * 적응형 타임아웃과 헤지 요청을 적용한 KIS 호출
+     * <ul>
+     *     <li>타임아웃은 최근 응답 시간 분포 기준 ({@link KisLatencyTracker#timeout})</li>
+     *     <li>첫 요청이 p95 안에 끝나지 않으면 별도 커넥션 풀로 같은 요청을 한 번 더 보내고, 먼저 온 응답을 사용 (나머지는 취소)</li>
+     *     <li>헤지는 기다리지 않고 받을 수 있는 호출 허가가 있고 헤지 비율 한도 안일 때만 보냄</li>
+     *     <li>헤지가 실패하면 무시하고 첫 요청 결과를 기다림</li>
+     *     <li>첫 요청은 헤지에 지거나 타임아웃으로 취소돼도 취소 시점까지의 경과 시간을 기록 (느린 꼬리가 분포에서 빠지지 않도록)</li>
+     *     <li>헤지 요청은 끝까지 받은 경우만 기록 (p95 지연 뒤 시작해 취소된 헤지의 짧은 경과 시간이 분위수를 끌어내리지 않도록)</li>
+     * </ul>
+     */
+    private <T> Mono<T> hedged(
+            KisLatencyTracker.Endpoint endpoint,
+            KisRateLimiter.Priority priority,
+            Function<WebClient, Mono<T>> request) {
+        Duration timeout = latencyTracker.timeout(endpoint);
+        Mono<T> call = timed(endpoint, request.apply(webClient), true);
+
+        if (latencyTracker.isHedgeEnabled()) {
+            Mono<T> hedge = Mono.delay(latencyTracker.hedgeDelay(endpoint))
+                    .flatMap(tick -> latencyTracker.tryStartHedge(endpoint, () -> rateLimiter.tryAcquire(priority))
+                            ? timed(endpoint, request.apply(hedgeWebClient), false)
+                                    .doOnNext(response -> latencyTracker.recordHedgeWon(endpoint))
+                            : Mono.<T>never())
+                    .onErrorResume(e -> Mono.never());
+            call = Mono.firstWithSignal(call, hedge);
         }
+
+        return call.timeout(timeout);
     }
-    
-    private void cachePrice(String ticker, KisQuoteResponse response) {
-        try {
-            String key = PRICE_CACHE_PREFIX + ticker;
-            String json = objectMapper.writeValueAsString(response);
-            redisTemplate.opsForValue().set(key, json, PRICE_CACHE_TTL);
-            log.debug("Cached price for ticker: {}", ticker);
-        } catch (Exception e) {
-            log.warn("Failed to cache price for ticker: {}, error: {}", ticker, e.getMessage());
-        }
+
+    /**
+     * 호출의 응답 시간을 기록
+     *
+     * @param recordOnCancel true면 취소된 경우에도 취소 시점까지의 경과 시간을 기록 (첫 요청 전용)
+     */
+    private <T> Mono<T> timed(KisLatencyTracker.Endpoint endpoint, Mono<T> call, boolean recordOnCancel) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return call.doFinally(signal -> {
+                if (recordOnCancel || signal != SignalType.CANCEL) {
+                    latencyTracker.record(endpoint, System.nanoTime() - startedAt);
+                }
+            });
+        });
     }
-    
-    private void cacheMultiPriceItem(KisMultiPriceResponse.ResponseBodyOutput item) {
-        try {
+
+    private Mono<Void> cacheMultiPriceItems(List<KisMultiPriceResponse.ResponseBodyOutput> items) {
+        Map<String, QuoteRecord> quotes = new HashMap<>();
+
+        for (KisMultiPriceResponse.ResponseBodyOutput item : items) {
             String ticker = item.interShrnIscd();
             if (ticker == null || ticker.isEmpty()) {
-                return;
+                continue;
             }
-            
-            Map<String, Object> outputMap = new HashMap<>();
-            outputMap.put("stck_shrn_iscd", ticker);
-            outputMap.put("stck_prpr", item.inter2Prpr());
-            outputMap.put("prdy_vrss", item.inter2PrdyVrss());
-            outputMap.put("prdy_vrss_sign", item.prdyVrssSign());
-            outputMap.put("prdy_ctrt", item.prdyCtrt());
-            outputMap.put("stck_oprc", item.inter2Oprc());
-            outputMap.put("stck_hgpr", item.inter2Hgpr());
-            outputMap.put("stck_lwpr", item.inter2Lwpr());
-            outputMap.put("acml_vol", item.acmlVol());
-            outputMap.put("acml_tr_pbmn", item.acmlTrPbmn());
-            
-            KisQuoteResponse quoteResponse = new KisQuoteResponse(outputMap);
-            cachePrice(ticker, quoteResponse);
-        } catch (Exception e) {
-            log.warn("Failed to cache multi-price item: {}", e.getMessage());
+            quotes.put(ticker, QuoteRecord.fromMultiPriceOutput(item));
         }
+
+        return quoteCache.putAllReactive(quotes);
     }
     
-    private KisMultiPriceResponse buildMultiPriceResponseFromCache(Map<String, KisQuoteResponse> cachedPrices) {
+    private KisMultiPriceResponse buildMultiPriceResponseFromCache(Map<String, QuoteRecord> cachedPrices) {
         List<KisMultiPriceResponse.ResponseBodyOutput> outputList = cachedPrices.entrySet().stream()
-                .map(entry -> {
-                    String ticker = entry.getKey();
-                    Map<String, Object> output = entry.getValue().output();
-                    
-                    return new KisMultiPriceResponse.ResponseBodyOutput(
-                            ticker,
-                            (String) output.get("stck_kor_isnm"),
-                            (String) output.get("stck_prpr"),
-                            (String) output.get("prdy_vrss"),
-                            (String) output.get("prdy_vrss_sign"),
-                            (String) output.get("prdy_ctrt"),
-                            (String) output.get("stck_sdpr"),
-                            (String) output.get("stck_oprc"),
-                            (String) output.get("stck_hgpr"),
-                            (String) output.get("stck_lwpr"),
-                            (String) output.get("acml_vol"),
-                            (String) output.get("acml_tr_pbmn")
-                    );
-                })
+                .map(entry -> entry.getValue().toMultiPriceOutput(entry.getKey()))
                 .collect(Collectors.toList());
         
         return new KisMultiPriceResponse("0", "00000", "정상처리(캐시)", outputList);
     }
     
     private KisMultiPriceResponse mergeMultiPriceResponses(
-            Map<String, KisQuoteResponse> cachedPrices, 
+            Map<String, QuoteRecord> cachedPrices, 
             KisMultiPriceResponse apiResponse) {
         
         List<KisMultiPriceResponse.ResponseBodyOutput> mergedOutput = new ArrayList<>();
@@ -243,27 +293,7 @@ public class KisPriceClient {
             mergedOutput.addAll(apiResponse.output());
         }
         
-        for (Map.Entry<String, KisQuoteResponse> entry : cachedPrices.entrySet()) {
-            String ticker = entry.getKey();
-            Map<String, Object> output = entry.getValue().output();
-            
-            KisMultiPriceResponse.ResponseBodyOutput cachedItem = 
-                    new KisMultiPriceResponse.ResponseBodyOutput(
-                            ticker,
-                            (String) output.get("stck_kor_isnm"),
-                            (String) output.get("stck_prpr"),
-                            (String) output.get("prdy_vrss"),
-                            (String) output.get("prdy_vrss_sign"),
-                            (String) output.get("prdy_ctrt"),
-                            (String) output.get("stck_sdpr"),
-                            (String) output.get("stck_oprc"),
-                            (String) output.get("stck_hgpr"),
-                            (String) output.get("stck_lwpr"),
-                            (String) output.get("acml_vol"),
-                            (String) output.get("acml_tr_pbmn")
-                    );
-            mergedOutput.add(cachedItem);
-        }
+        cachedPrices.forEach((ticker, quote) -> mergedOutput.add(quote.toMultiPriceOutput(ticker)));
         
         String rtCd = apiResponse != null ? apiResponse.rtCd() : "0";
         String msgCd = apiResponse != null ? apiResponse.msgCd() : "00000";
@@ -277,6 +307,9 @@ public class KisPriceClient {
                 .defaultIfEmpty("")
                 .map(body -> {
                     log.error("KIS inquire-price error: status={}, body={}", response.statusCode(), body);
+                    if (isProviderThrottled(body)) {
+                        return new KisRateLimitExceededException("KIS 초당 거래건수를 초과했습니다");
+                    }
                     return new RuntimeException("KIS API error: " + response.statusCode());
                 });
     }
@@ -286,8 +319,22 @@ public class KisPriceClient {
                 .defaultIfEmpty("")
                 .map(body -> {
                     log.error("KIS multi-price error: status={}, body={}", response.statusCode(), body);
+                    if (isProviderThrottled(body)) {
+                        return new KisRateLimitExceededException("KIS 초당 거래건수를 초과했습니다");
+                    }
                     return new RuntimeException("KIS Multi-Price API error: " + response.statusCode());
                 });
     }
 
+    /**
+     * KIS 게이트웨이의 초당 거래건수 초과 응답(EGW00201) 여부
+     */
+    private boolean isProviderThrottled(String body) {
+        if (body.contains(PROVIDER_THROTTLED_CODE)) {
+            rateLimiter.recordProviderThrottled();
+            return true;
+        }
+        return false;
+    }
+
 }
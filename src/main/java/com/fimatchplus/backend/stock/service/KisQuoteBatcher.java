@@ -0,0 +1,181 @@
+package com.fimatchplus.backend.stock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * 요청 간 KIS 다중 현재가 조회 묶음 처리기
+ * <ul>
+ *     <li>여러 요청의 캐시 미스 종목을 짧은 시간(window) 동안 모아 한 번의 KIS 호출로 조회</li>
+ *     <li>묶음이 최대 크기에 도달하면 window를 기다리지 않고 즉시 호출</li>
+ *     <li>이미 대기/조회 중인 종목은 같은 결과를 공유 (중복 조회 없음)</li>
+ *     <li>묶음에 INTERACTIVE 요청이 하나라도 있으면 INTERACTIVE 우선순위로 호출</li>
+ *     <li>호출은 논블로킹으로 구독하므로 응답을 기다리며 스레드를 점유하지 않음</li>
+ * </ul>
+ */
+@Slf4j
+public class KisQuoteBatcher {
+
+    private final BiFunction<List<String>, KisRateLimiter.Priority, Mono<KisMultiPriceResponse>> loader;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    private final Map<String, CompletableFuture<KisMultiPriceResponse.ResponseBodyOutput>> inFlight = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private Map<String, CompletableFuture<KisMultiPriceResponse.ResponseBodyOutput>> pending = new HashMap<>();
+    private KisRateLimiter.Priority pendingPriority = KisRateLimiter.Priority.BACKGROUND;
+    private ScheduledFuture<?> scheduledFlush;
+
+    private final ScheduledExecutorService scheduler;
+
+    public KisQuoteBatcher(
+            BiFunction<List<String>, KisRateLimiter.Priority, Mono<KisMultiPriceResponse>> loader,
+            long windowMillis,
+            int maxBatchSize) {
+        this.loader = loader;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("KisQuoteBatch-timer-"));
+    }
+
+    /**
+     * 종목별 시세를 조회한다. 응답에 없는 종목은 결과에서 빠진다.
+     */
+    public CompletableFuture<Map<String, KisMultiPriceResponse.ResponseBodyOutput>> fetch(
+            List<String> tickers,
+            KisRateLimiter.Priority priority) {
+        Map<String, CompletableFuture<KisMultiPriceResponse.ResponseBodyOutput>> futures = new HashMap<>();
+        List<Batch> readyBatches = new ArrayList<>();
+
+        synchronized (lock) {
+            for (String ticker : tickers) {
+                if (futures.containsKey(ticker)) {
+                    continue;
+                }
+
+                CompletableFuture<KisMultiPriceResponse.ResponseBodyOutput> future = inFlight.get(ticker);
+                if (future == null) {
+                    future = new CompletableFuture<>();
+                    inFlight.put(ticker, future);
+                    pending.put(ticker, future);
+                    if (priority == KisRateLimiter.Priority.INTERACTIVE) {
+                        pendingPriority = priority;
+                    }
+
+                    if (pending.size() >= maxBatchSize) {
+                        readyBatches.add(drainPending());
+                    }
+                }
+                futures.put(ticker, future);
+            }
+
+            if (!pending.isEmpty() && scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        readyBatches.forEach(this::dispatch);
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, KisMultiPriceResponse.ResponseBodyOutput> result = new HashMap<>();
+                    futures.forEach((ticker, future) -> {
+                        KisMultiPriceResponse.ResponseBodyOutput output = future.join();
+                        if (output != null) {
+                            result.put(ticker, output);
+                        }
+                    });
+                    return result;
+                });
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void flush() {
+        Batch batch;
+        synchronized (lock) {
+            scheduledFlush = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drainPending();
+        }
+        dispatch(batch);
+    }
+
+    private Batch drainPending() {
+        Batch batch = new Batch(pending, pendingPriority);
+        pending = new HashMap<>();
+        pendingPriority = KisRateLimiter.Priority.BACKGROUND;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Batch batch) {
+        List<String> tickers = new ArrayList<>(batch.futures().keySet());
+        log.debug("Dispatching batched multi-price call - tickers: {}, priority: {}", tickers.size(), batch.priority());
+
+        Mono.defer(() -> loader.apply(tickers, batch.priority()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("KIS API 오류: empty response")))
+                .subscribe(
+                        response -> complete(batch, response),
+                        error -> fail(batch, error));
+    }
+
+    private void complete(Batch batch, KisMultiPriceResponse response) {
+        if (!"0".equals(response.rtCd())) {
+            fail(batch, new RuntimeException("KIS API 오류: " + response.msg1()));
+            return;
+        }
+
+        Map<String, KisMultiPriceResponse.ResponseBodyOutput> outputByTicker = new HashMap<>();
+        if (response.output() != null) {
+            response.output().forEach(output -> outputByTicker.put(output.interShrnIscd(), output));
+        }
+
+        batch.futures().forEach((ticker, future) -> {
+            inFlight.remove(ticker, future);
+            future.complete(outputByTicker.get(ticker));
+        });
+    }
+
+    private void fail(Batch batch, Throwable error) {
+        batch.futures().forEach((ticker, future) -> {
+            inFlight.remove(ticker, future);
+            future.completeExceptionally(error);
+        });
+    }
+
+    private record Batch(
+            Map<String, CompletableFuture<KisMultiPriceResponse.ResponseBodyOutput>> futures,
+            KisRateLimiter.Priority priority
+    ) {}
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
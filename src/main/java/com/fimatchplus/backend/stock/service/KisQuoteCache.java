@@ -0,0 +1,382 @@
+package com.fimatchplus.backend.stock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KIS 시세 2단 캐시
+ * <ul>
+ *     <li>L1: 노드 내 종목별 캐시 (Redis 잔여 TTL을 넘지 않도록 만료, 최대 local.max-size개를 넘으면 가장 오래 조회되지 않은 종목부터 제거)</li>
+ *     <li>L2: Redis, 미스난 종목은 파이프라인 한 번으로 조회/저장</li>
+ *     <li>TTL은 {@link KrxTradingCalendar} 기준: 장중에는 짧게, 장 밖에서는 다음 장 시작 전까지</li>
+ *     <li>Redis 값은 {@link QuoteRecordCodec} 고정 길이 바이너리 (JSON/Map 변환 없음)</li>
+ *     <li>저장 시 무효화 메시지를 발행해 다른 노드의 L1을 비움</li>
+ *     <li>요청 스레드를 잡지 않도록 Reactive Redis 기반 조회/저장도 제공</li>
+ *     <li>마지막 시세는 별도 키에 길게 보관하여 KIS 장애 시 stale 응답에 사용</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class KisQuoteCache implements MessageListener {
+
+    private static final String PRICE_CACHE_PREFIX = "kis:quote:";
+    private static final String LAST_KNOWN_PREFIX = "kis:quote:last:";
+    private static final String INVALIDATION_CHANNEL = "kis:price:invalidate";
+
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final ReactiveRedisTemplate<String, byte[]> reactiveRedisTemplate;
+    private final KrxTradingCalendar tradingCalendar;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, LocalEntry> localCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+            return size() > localMaxSize;
+        }
+    });
+
+    @Value("${kis.quote-cache.local.max-size:5000}")
+    private int localMaxSize;
+
+    @Value("${kis.quote-cache.local.max-ttl-ms:5000}")
+    private long localMaxTtlMillis;
+
+    @Value("${kis.quote-cache.last-known-ttl-hours:168}")
+    private long lastKnownTtlHours;
+
+    public KisQuoteCache(
+            @Qualifier("binaryRedisTemplate") RedisTemplate<String, byte[]> redisTemplate,
+            @Qualifier("reactiveBinaryRedisTemplate") ReactiveRedisTemplate<String, byte[]> reactiveRedisTemplate,
+            KrxTradingCalendar tradingCalendar,
+            RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.tradingCalendar = tradingCalendar;
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    public QuoteRecord get(String ticker) {
+        return getAll(List.of(ticker)).get(ticker);
+    }
+
+    /**
+     * L1 → Redis 순으로 조회하고, Redis 미스 종목은 결과에 포함하지 않는다.
+     */
+    public Map<String, QuoteRecord> getAll(List<String> tickers) {
+        Map<String, QuoteRecord> result = new HashMap<>();
+        List<String> localMisses = getLocal(tickers, result);
+        int localHits = result.size();
+
+        if (!localMisses.isEmpty()) {
+            result.putAll(loadFromRedis(localMisses, System.currentTimeMillis()));
+        }
+
+        log.debug("Quote cache - requested: {}, L1 hit: {}, L2 hit: {}",
+                tickers.size(), localHits, result.size() - localHits);
+        return result;
+    }
+
+    public Mono<QuoteRecord> getReactive(String ticker) {
+        return getAllReactive(List.of(ticker)).flatMap(quotes -> Mono.justOrEmpty(quotes.get(ticker)));
+    }
+
+    /**
+     * {@link #getAll(List)}의 논블로킹 버전. Redis 오류 시 미스로 처리한다.
+     */
+    public Mono<Map<String, QuoteRecord>> getAllReactive(List<String> tickers) {
+        Map<String, QuoteRecord> result = new HashMap<>();
+        List<String> localMisses = getLocal(tickers, result);
+        if (localMisses.isEmpty()) {
+            return Mono.just(result);
+        }
+
+        List<String> keys = localMisses.stream().map(ticker -> PRICE_CACHE_PREFIX + ticker).toList();
+        Mono<List<byte[]>> values = reactiveRedisTemplate.opsForValue().multiGet(keys);
+        Mono<List<Long>> remainingMillis = Flux.fromIterable(keys)
+                .flatMapSequential(key -> reactiveRedisTemplate.getExpire(key)
+                        .map(Duration::toMillis)
+                        .defaultIfEmpty(-1L))
+                .collectList();
+
+        return Mono.zip(values, remainingMillis)
+                .map(replies -> {
+                    long now = System.currentTimeMillis();
+                    for (int i = 0; i < localMisses.size(); i++) {
+                        String ticker = localMisses.get(i);
+                        QuoteRecord quote = QuoteRecordCodec.decode(replies.getT1().get(i));
+                        if (quote == null) {
+                            continue;
+                        }
+                        result.put(ticker, quote);
+                        long remaining = replies.getT2().get(i);
+                        if (remaining > 0) {
+                            putLocal(ticker, quote, now + Math.min(localMaxTtlMillis, remaining));
+                        }
+                    }
+                    return result;
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to get cached prices for tickers: {}, error: {}", localMisses, e.getMessage());
+                    return Mono.just(result);
+                });
+    }
+
+    public void put(String ticker, QuoteRecord quote) {
+        putAll(Map.of(ticker, quote));
+    }
+
+    /**
+     * Redis에 파이프라인으로 저장하고 다른 노드에 L1 무효화를 알린다.
+     */
+    public void putAll(Map<String, QuoteRecord> quotes) {
+        Map<String, byte[]> serialized = serialize(quotes);
+        if (serialized.isEmpty()) {
+            return;
+        }
+        Duration ttl = tradingCalendar.quoteTtl();
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                    serialized.forEach((ticker, bytes) -> {
+                        ops.opsForValue().set(PRICE_CACHE_PREFIX + ticker, bytes, ttl);
+                        ops.opsForValue().set(LAST_KNOWN_PREFIX + ticker, bytes, lastKnownTtl());
+                    });
+                    ops.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage(serialized.keySet()));
+                    return null;
+                }
+            });
+            log.debug("Cached {} quotes", serialized.size());
+        } catch (Exception e) {
+            log.warn("Failed to cache quotes: {}, error: {}", serialized.keySet(), e.getMessage());
+            return;
+        }
+
+        putAllLocal(quotes, ttl);
+    }
+
+    public Mono<Void> putReactive(String ticker, QuoteRecord quote) {
+        return putAllReactive(Map.of(ticker, quote));
+    }
+
+    /**
+     * {@link #putAll(Map)}의 논블로킹 버전. 저장 실패는 로그만 남기고 무시한다.
+     */
+    public Mono<Void> putAllReactive(Map<String, QuoteRecord> quotes) {
+        Map<String, byte[]> serialized = serialize(quotes);
+        if (serialized.isEmpty()) {
+            return Mono.empty();
+        }
+        Duration ttl = tradingCalendar.quoteTtl();
+
+        return Flux.fromIterable(serialized.entrySet())
+                .flatMap(entry -> reactiveRedisTemplate.opsForValue()
+                        .set(PRICE_CACHE_PREFIX + entry.getKey(), entry.getValue(), ttl)
+                        .then(reactiveRedisTemplate.opsForValue()
+                                .set(LAST_KNOWN_PREFIX + entry.getKey(), entry.getValue(), lastKnownTtl())))
+                .then(reactiveRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage(serialized.keySet())))
+                .doOnSuccess(ignored -> {
+                    log.debug("Cached {} quotes", serialized.size());
+                    putAllLocal(quotes, ttl);
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to cache quotes: {}, error: {}", serialized.keySet(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * 만료된 시세까지 포함한 마지막 저장 시세 (L1 미사용). Redis 오류 시 빈 결과
+     */
+    public Mono<Map<String, QuoteRecord>> getLastKnownAllReactive(List<String> tickers) {
+        if (tickers.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        List<String> keys = tickers.stream().map(ticker -> LAST_KNOWN_PREFIX + ticker).toList();
+        return reactiveRedisTemplate.opsForValue().multiGet(keys)
+                .map(values -> {
+                    Map<String, QuoteRecord> result = new HashMap<>();
+                    for (int i = 0; i < tickers.size(); i++) {
+                        QuoteRecord quote = QuoteRecordCodec.decode(values.get(i));
+                        if (quote != null) {
+                            result.put(tickers.get(i), quote);
+                        }
+                    }
+                    return result;
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to get last known prices for tickers: {}, error: {}", tickers, e.getMessage());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    /**
+     * 종목별 Redis 잔여 TTL (밀리초, 캐시에 없으면 0). Redis 오류 시 빈 결과
+     */
+    public Map<String, Long> remainingTtlMillis(List<String> tickers) {
+        if (tickers.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Object> replies;
+        try {
+            replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                    tickers.forEach(ticker -> ops.getExpire(PRICE_CACHE_PREFIX + ticker, TimeUnit.MILLISECONDS));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to get quote cache TTLs, error: {}", e.getMessage());
+            return Map.of();
+        }
+
+        Map<String, Long> result = new HashMap<>();
+        for (int i = 0; i < tickers.size(); i++) {
+            Long remainingMillis = (Long) replies.get(i);
+            if (remainingMillis == null || remainingMillis == -2) {
+                result.put(tickers.get(i), 0L);
+            } else {
+                result.put(tickers.get(i), remainingMillis < 0 ? Long.MAX_VALUE : remainingMillis);
+            }
+        }
+        return result;
+    }
+
+    public void invalidateLocal(Collection<String> tickers) {
+        tickers.forEach(localCache::remove);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        String tickers = body.substring(separator + 1);
+        if (!tickers.isEmpty()) {
+            invalidateLocal(List.of(tickers.split(",")));
+        }
+    }
+
+    private Map<String, QuoteRecord> loadFromRedis(List<String> tickers, long now) {
+        List<String> keys = tickers.stream().map(ticker -> PRICE_CACHE_PREFIX + ticker).toList();
+
+        List<Object> replies;
+        try {
+            replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, byte[]> ops = (RedisOperations<String, byte[]>) operations;
+                    ops.opsForValue().multiGet(keys);
+                    keys.forEach(key -> ops.getExpire(key, TimeUnit.MILLISECONDS));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to get cached prices for tickers: {}, error: {}", tickers, e.getMessage());
+            return Map.of();
+        }
+
+        @SuppressWarnings("unchecked")
+        List<byte[]> values = (List<byte[]>) replies.get(0);
+        Map<String, QuoteRecord> result = new HashMap<>();
+
+        for (int i = 0; i < tickers.size(); i++) {
+            String ticker = tickers.get(i);
+            QuoteRecord quote = QuoteRecordCodec.decode(values != null ? values.get(i) : null);
+            if (quote == null) {
+                continue;
+            }
+            result.put(ticker, quote);
+
+            Long remainingMillis = (Long) replies.get(i + 1);
+            if (remainingMillis != null && remainingMillis > 0) {
+                putLocal(ticker, quote, now + Math.min(localMaxTtlMillis, remainingMillis));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * L1에서 유효한 항목을 result에 담고, 미스난 종목 목록을 반환한다.
+     */
+    private List<String> getLocal(List<String> tickers, Map<String, QuoteRecord> result) {
+        List<String> localMisses = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (String ticker : tickers) {
+            LocalEntry entry = localCache.get(ticker);
+            if (entry != null && entry.expiresAt() > now) {
+                result.put(ticker, entry.quote());
+            } else {
+                if (entry != null) {
+                    localCache.remove(ticker, entry);
+                }
+                localMisses.add(ticker);
+            }
+        }
+        return localMisses;
+    }
+
+    private Map<String, byte[]> serialize(Map<String, QuoteRecord> quotes) {
+        Map<String, byte[]> serialized = new HashMap<>();
+        quotes.forEach((ticker, quote) -> serialized.put(ticker, QuoteRecordCodec.encode(quote)));
+        return serialized;
+    }
+
+    private Duration lastKnownTtl() {
+        return Duration.ofHours(lastKnownTtlHours);
+    }
+
+    private byte[] invalidationMessage(Collection<String> tickers) {
+        return (nodeId + "|" + String.join(",", tickers)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void putAllLocal(Map<String, QuoteRecord> quotes, Duration ttl) {
+        long expiresAt = System.currentTimeMillis() + Math.min(localMaxTtlMillis, ttl.toMillis());
+        quotes.forEach((ticker, quote) -> putLocal(ticker, quote, expiresAt));
+    }
+
+    private void putLocal(String ticker, QuoteRecord quote, long expiresAt) {
+        localCache.put(ticker, new LocalEntry(quote, expiresAt));
+    }
+
+    private record LocalEntry(QuoteRecord quote, long expiresAt) {}
+}
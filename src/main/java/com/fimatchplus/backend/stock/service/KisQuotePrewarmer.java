@@ -0,0 +1,191 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.common.util.RedisLock;
+import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 보유 종목 시세를 미리 캐시에 적재
+ * <ul>
+ *     <li>장 시작 직후: 장 밖에서 저장된 시세는 동시호가 시작 시점에 만료되므로, 개장 직후 몰리는 조회를 한 번의 묶음 조회로 대신</li>
+ *     <li>장중: 보유 종목 중 Redis 잔여 TTL이 warm-ahead 미만인 종목을 만료 전에 30종목 단위로 다시 조회</li>
+ *     <li>BACKGROUND 우선순위로 호출하고, INTERACTIVE 대기 요청이 있거나 회로가 열려 있으면 이번 회차는 건너뜀</li>
+ *     <li>여러 노드 중 락을 잡은 한 노드만 수행</li>
+ *     <li>스케줄러 스레드는 작업을 시작만 하고 반환. DB/Redis 조회와 락 해제는 backgroundTaskExecutor에서 수행 (block 없음)</li>
+ *     <li>이전 warm 회차가 끝나지 않았으면 이번 회차는 건너뜀</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class KisQuotePrewarmer {
+
+    private static final String LOCK_KEY = "kis:quote:prewarm:lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(1);
+    private static final String WARM_LOCK_KEY = "kis:quote:warm:lock";
+    private static final Duration WARM_LOCK_TTL = Duration.ofSeconds(10);
+    private static final int WARM_CONCURRENCY = 2;
+
+    private final KrxTradingCalendar tradingCalendar;
+    private final KisMultiPriceService kisMultiPriceService;
+    private final KisPriceClient kisPriceClient;
+    private final KisQuoteCache quoteCache;
+    private final KisRateLimiter rateLimiter;
+    private final KisCircuitBreaker circuitBreaker;
+    private final PortfolioRepository portfolioRepository;
+    private final RedisLock redisLock;
+    private final long warmAheadMillis;
+    private final int warmMaxTickers;
+    private final long heldSymbolsRefreshMillis;
+    private final Scheduler backgroundScheduler;
+    private final AtomicBoolean warming = new AtomicBoolean();
+
+    private volatile List<String> heldSymbols = List.of();
+    private volatile long heldSymbolsLoadedAt;
+
+    public KisQuotePrewarmer(
+            KrxTradingCalendar tradingCalendar,
+            KisMultiPriceService kisMultiPriceService,
+            KisPriceClient kisPriceClient,
+            KisQuoteCache quoteCache,
+            KisRateLimiter rateLimiter,
+            KisCircuitBreaker circuitBreaker,
+            PortfolioRepository portfolioRepository,
+            RedisLock redisLock,
+            @Qualifier("backgroundTaskExecutor") Executor backgroundExecutor,
+            @Value("${kis.quote-cache.warm-ahead-ms:1500}") long warmAheadMillis,
+            @Value("${kis.quote-cache.warm-max-tickers:300}") int warmMaxTickers,
+            @Value("${kis.quote-cache.held-symbols-refresh-ms:60000}") long heldSymbolsRefreshMillis) {
+        this.tradingCalendar = tradingCalendar;
+        this.kisMultiPriceService = kisMultiPriceService;
+        this.kisPriceClient = kisPriceClient;
+        this.quoteCache = quoteCache;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.portfolioRepository = portfolioRepository;
+        this.redisLock = redisLock;
+        this.warmAheadMillis = warmAheadMillis;
+        this.warmMaxTickers = warmMaxTickers;
+        this.heldSymbolsRefreshMillis = heldSymbolsRefreshMillis;
+        this.backgroundScheduler = Schedulers.fromExecutor(backgroundExecutor);
+    }
+
+    @Scheduled(cron = "${kis.quote-cache.prewarm-cron:5 0 9 * * MON-FRI}", zone = "Asia/Seoul")
+    public void prewarmAtOpen() {
+        if (!tradingCalendar.isTradingDay(tradingCalendar.now().toLocalDate())) {
+            return;
+        }
+
+        Mono.fromCallable(() -> redisLock.tryLock(LOCK_KEY, LOCK_TTL).isPresent())
+                .subscribeOn(backgroundScheduler)
+                .flatMap(locked -> {
+                    if (!locked) {
+                        log.debug("Quote prewarm skipped, another node holds the lock");
+                        return Mono.empty();
+                    }
+                    List<String> tickers = portfolioRepository.findDistinctHeldSymbols();
+                    if (tickers.isEmpty()) {
+                        return Mono.empty();
+                    }
+                    return kisMultiPriceService.fetchMultiPriceReactive(tickers, KisRateLimiter.Priority.BACKGROUND)
+                            .doOnNext(result -> log.info("Quote prewarm done - tickers: {}, cached: {}, failed chunks: {}",
+                                    tickers.size(), result.outputs().size(), result.failures().size()));
+                })
+                .subscribe(
+                        result -> { },
+                        e -> log.warn("Quote prewarm failed: {}", e.getMessage()));
+    }
+
+    /**
+     * 만료가 임박한 보유 종목 시세 갱신
+     */
+    @Scheduled(fixedDelayString = "${kis.quote-cache.warm-interval-ms:1000}")
+    public void refreshExpiring() {
+        if (!tradingCalendar.isQuoteActive(tradingCalendar.now())
+                || circuitBreaker.isOpen()
+                || rateLimiter.queueDepth(KisRateLimiter.Priority.INTERACTIVE) > 0) {
+            return;
+        }
+        if (!warming.compareAndSet(false, true)) {
+            return;
+        }
+
+        Mono.fromCallable(() -> redisLock.tryLock(WARM_LOCK_KEY, WARM_LOCK_TTL))
+                .subscribeOn(backgroundScheduler)
+                .flatMap(owner -> owner.map(this::warm).orElseGet(Mono::empty))
+                .doFinally(signal -> warming.set(false))
+                .subscribe(
+                        refreshed -> { },
+                        e -> log.warn("Quote warm failed: {}", e.getMessage()));
+    }
+
+    /**
+     * 락을 잡은 상태에서 만료 임박 종목을 묶음 조회. 끝나면(실패/시간 초과 포함) backgroundTaskExecutor에서 락 해제
+     */
+    private Mono<Integer> warm(String owner) {
+        return Mono.fromCallable(() -> findExpiring(heldSymbols()))
+                .flatMap(expiring -> {
+                    if (expiring.isEmpty()) {
+                        return Mono.<Integer>empty();
+                    }
+
+                    List<List<String>> chunks = new ArrayList<>();
+                    for (int i = 0; i < expiring.size(); i += KisMultiPriceService.KIS_MAX_TICKERS_PER_CALL) {
+                        chunks.add(expiring.subList(i, Math.min(i + KisMultiPriceService.KIS_MAX_TICKERS_PER_CALL, expiring.size())));
+                    }
+
+                    return Flux.fromIterable(chunks)
+                            .flatMap(chunk -> kisPriceClient.refreshMultiPriceReactive(chunk, KisRateLimiter.Priority.BACKGROUND)
+                                    .onErrorResume(e -> {
+                                        log.debug("Quote warm chunk failed - size: {}, error: {}", chunk.size(), e.getMessage());
+                                        return Mono.just(0);
+                                    }), WARM_CONCURRENCY)
+                            .reduce(0, Integer::sum)
+                            .timeout(WARM_LOCK_TTL)
+                            .doOnNext(refreshed -> log.debug("Quote warm done - expiring: {}, refreshed: {}", expiring.size(), refreshed));
+                })
+                .publishOn(backgroundScheduler)
+                .doFinally(signal -> redisLock.unlock(WARM_LOCK_KEY, owner));
+    }
+
+    /**
+     * 잔여 TTL이 warm-ahead 미만인 종목 (짧은 순, 최대 warm-max-tickers개)
+     */
+    private List<String> findExpiring(List<String> tickers) {
+        if (tickers.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Long> remaining = quoteCache.remainingTtlMillis(tickers);
+        return remaining.entrySet().stream()
+                .filter(entry -> entry.getValue() < warmAheadMillis)
+                .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                .limit(warmMaxTickers)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private List<String> heldSymbols() {
+        long now = System.currentTimeMillis();
+        if (now - heldSymbolsLoadedAt >= heldSymbolsRefreshMillis) {
+            heldSymbols = portfolioRepository.findDistinctHeldSymbols();
+            heldSymbolsLoadedAt = now;
+        }
+        return heldSymbols;
+    }
+}
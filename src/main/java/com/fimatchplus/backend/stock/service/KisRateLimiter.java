@@ -0,0 +1,261 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.exception.KisRateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * KIS 호출 속도 제한기 (토큰 버킷)
+ * <ul>
+ *     <li>모든 KIS 호출은 호출 전에 {@link #acquire(Priority)} 또는 {@link #acquireReactive(Priority)}로 허가를 받음</li>
+ *     <li>블로킹/리액티브 대기자는 같은 대기열 수(waiting)와 최대 대기열 크기를 함께 씀</li>
+ *     <li>INTERACTIVE 대기자가 있으면 BACKGROUND 요청은 양보</li>
+ *     <li>대기열 크기와 최대 대기 시간을 넘으면 {@link KisRateLimitExceededException}</li>
+ *     <li>대기열 길이, 대기 시간, 거절 건수를 메트릭으로 노출</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class KisRateLimiter {
+
+    public enum Priority {
+        /** 사용자 요청 (/stocks/now 등) */
+        INTERACTIVE,
+        /** 캐시 워머 등 백그라운드 작업 */
+        BACKGROUND
+    }
+
+    private final double permitsPerSecond;
+    private final double burstCapacity;
+    private final int maxQueueSize;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private final Map<Priority, Integer> waiting = new EnumMap<>(Priority.class);
+    private double availableTokens;
+    private long lastRefillNanos;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+
+    public KisRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${kis.rate-limit.permits-per-second:18}") double permitsPerSecond,
+            @Value("${kis.rate-limit.burst:18}") double burstCapacity,
+            @Value("${kis.rate-limit.max-queue:200}") int maxQueueSize,
+            @Value("${kis.rate-limit.max-wait-ms:3000}") long maxWaitMillis) {
+        this.meterRegistry = meterRegistry;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burstCapacity = Math.max(1, burstCapacity);
+        this.maxQueueSize = maxQueueSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.availableTokens = this.burstCapacity;
+        this.lastRefillNanos = System.nanoTime();
+
+        for (Priority priority : Priority.values()) {
+            waiting.put(priority, 0);
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("kis.rate_limiter.queue.depth", this, limiter -> limiter.queueDepth(priority))
+                    .tag("priority", tag)
+                    .register(meterRegistry);
+            waitTimers.put(priority, Timer.builder("kis.rate_limiter.wait")
+                    .tag("priority", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * KIS 호출 허가를 받을 때까지 대기
+     *
+     * @throws KisRateLimitExceededException 대기열이 가득 찼거나 최대 대기 시간을 넘긴 경우
+     */
+    public void acquire(Priority priority) {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + maxWaitNanos;
+
+        lock.lock();
+        try {
+            if (totalWaiting() >= maxQueueSize) {
+                reject(priority, "queue_full");
+            }
+
+            waiting.merge(priority, 1, Integer::sum);
+            try {
+                while (true) {
+                    refill();
+                    if (availableTokens >= 1 && mayProceed(priority)) {
+                        availableTokens -= 1;
+                        waitTimers.get(priority).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                        return;
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        reject(priority, "timeout");
+                    }
+
+                    long untilNextToken = availableTokens >= 1 ? remaining : nanosUntilNextToken();
+                    permitReleased.awaitNanos(Math.max(1, Math.min(remaining, untilNextToken)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new KisRateLimitExceededException("KIS 호출 대기 중 인터럽트가 발생했습니다");
+            } finally {
+                waiting.merge(priority, -1, Integer::sum);
+                permitReleased.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 리액티브 체인용 허가 요청
+     * <ul>
+     *     <li>스레드를 세워 두지 않고, 토큰이 없으면 다음 토큰이 생길 시점까지 Mono.delay 타이머로 기다렸다가 다시 시도</li>
+     *     <li>구독 시점에 대기열에 들어가고 허가/거절/취소 시 빠짐 (블로킹 대기자와 같은 waiting, max-queue 적용)</li>
+     *     <li>대기열이 가득 찼거나 최대 대기 시간을 넘기면 {@link KisRateLimitExceededException}으로 실패</li>
+     * </ul>
+     */
+    public Mono<Void> acquireReactive(Priority priority) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            lock.lock();
+            try {
+                if (totalWaiting() >= maxQueueSize) {
+                    return Mono.error(rejection(priority, "queue_full"));
+                }
+                waiting.merge(priority, 1, Integer::sum);
+            } finally {
+                lock.unlock();
+            }
+
+            return attempt(priority, startNanos, startNanos + maxWaitNanos)
+                    .doFinally(signal -> leave(priority));
+        });
+    }
+
+    private Mono<Void> attempt(Priority priority, long startNanos, long deadline) {
+        return Mono.defer(() -> {
+            long delayNanos;
+            lock.lock();
+            try {
+                refill();
+                if (availableTokens >= 1 && mayProceed(priority)) {
+                    availableTokens -= 1;
+                    waitTimers.get(priority).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    return Mono.<Void>empty();
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return Mono.<Void>error(rejection(priority, "timeout"));
+                }
+                delayNanos = Math.max(1, Math.min(remaining, nanosUntilNextToken()));
+            } finally {
+                lock.unlock();
+            }
+
+            return Mono.delay(Duration.ofNanos(delayNanos))
+                    .then(attempt(priority, startNanos, deadline));
+        });
+    }
+
+    private void leave(Priority priority) {
+        lock.lock();
+        try {
+            waiting.merge(priority, -1, Integer::sum);
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기다리지 않고 허가를 받을 수 있을 때만 받는다. (대기자가 있으면 새치기하지 않음, 헤지 요청용)
+     */
+    public boolean tryAcquire(Priority priority) {
+        lock.lock();
+        try {
+            refill();
+            if (availableTokens >= 1 && totalWaiting() == 0 && mayProceed(priority)) {
+                availableTokens -= 1;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * KIS가 초당 거래건수 초과로 거절한 경우 기록
+     */
+    public void recordProviderThrottled() {
+        Counter.builder("kis.rate_limiter.rejections")
+                .tag("priority", "provider")
+                .tag("reason", "provider_throttled")
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public int queueDepth(Priority priority) {
+        lock.lock();
+        try {
+            return waiting.get(priority);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean mayProceed(Priority priority) {
+        return priority == Priority.INTERACTIVE || waiting.get(Priority.INTERACTIVE) == 0;
+    }
+
+    private int totalWaiting() {
+        return waiting.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        availableTokens = Math.min(burstCapacity, availableTokens + elapsedSeconds * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * 다음 토큰이 생길 때까지 남은 시간. 토큰은 있지만 INTERACTIVE에 양보 중이면 토큰 하나 간격 후 다시 확인
+     */
+    private long nanosUntilNextToken() {
+        double missing = availableTokens >= 1 ? 1 : 1 - availableTokens;
+        return (long) (missing / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void reject(Priority priority, String reason) {
+        throw rejection(priority, reason);
+    }
+
+    private KisRateLimitExceededException rejection(Priority priority, String reason) {
+        Counter.builder("kis.rate_limiter.rejections")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.warn("KIS rate limit rejected - priority: {}, reason: {}", priority, reason);
+        return new KisRateLimitExceededException("KIS 호출 한도를 초과했습니다: " + reason);
+    }
+}
@@ -0,0 +1,271 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * KIS 실시간 체결가(H0STCNT0) WebSocket 수신기
+ * <ul>
+ *     <li>전체 포트폴리오 보유 종목을 구독하고, 주기적으로 구독 목록을 보유 종목과 맞춤</li>
+ *     <li>수신한 체결은 {@link KisRealtimePriceTable}에 반영</li>
+ *     <li>연결이 끊기면 지수 백오프로 재연결하고 구독을 다시 등록</li>
+ *     <li>kis.realtime.ws-url, kis.realtime.approval-key로 로컬 재생 서버에 붙여 테스트 가능</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class KisRealtimePriceFeed {
+
+    private static final String PINGPONG = "PINGPONG";
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final KisRealtimePriceTable priceTable;
+    private final PortfolioRepository portfolioRepository;
+    private final KrxTradingCalendar tradingCalendar;
+    private final ReactorNettyWebSocketClient webSocketClient = new ReactorNettyWebSocketClient();
+
+    @Value("${kis.realtime.enabled:false}")
+    private boolean enabled;
+
+    @Value("${kis.realtime.ws-url:ws://ops.koreainvestment.com:21000/tryitout/H0STCNT0}")
+    private String wsUrl;
+
+    @Value("${kis.realtime.approval-key:}")
+    private String configuredApprovalKey;
+
+    @Value("${kis.realtime.max-subscriptions:41}")
+    private int maxSubscriptions;
+
+    @Value("${kis.stock.app-key}")
+    private String appKey;
+
+    @Value("${kis.stock.app-secret}")
+    private String appSecret;
+
+    private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> desired = Set.of();
+    private volatile Sinks.Many<String> outbound;
+    private volatile String approvalKey;
+    private volatile boolean running;
+    private Disposable connection;
+
+    public KisRealtimePriceFeed(
+            @Qualifier("stockApiWebClient") WebClient webClient,
+            ObjectMapper objectMapper,
+            KisRealtimePriceTable priceTable,
+            PortfolioRepository portfolioRepository,
+            KrxTradingCalendar tradingCalendar) {
+        this.webClient = webClient;
+        this.objectMapper = objectMapper;
+        this.priceTable = priceTable;
+        this.portfolioRepository = portfolioRepository;
+        this.tradingCalendar = tradingCalendar;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("KIS realtime feed disabled");
+            return;
+        }
+
+        running = true;
+        refreshSubscriptions();
+        connection = Mono.defer(() -> approvalKey().flatMap(this::runSession))
+                .doOnError(e -> log.warn("KIS realtime feed disconnected: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .filter(e -> running))
+                .repeat(() -> running)
+                .subscribe();
+        log.info("KIS realtime feed started - url: {}", wsUrl);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (connection != null) {
+            connection.dispose();
+        }
+        priceTable.markConnected(false);
+    }
+
+    /**
+     * 보유 종목 목록을 다시 읽어 구독/해지 메시지를 보낸다.
+     */
+    @Scheduled(fixedDelayString = "${kis.realtime.subscription-refresh-ms:60000}")
+    public void refreshSubscriptions() {
+        if (!running) {
+            return;
+        }
+
+        try {
+            Set<String> next = new LinkedHashSet<>();
+            for (String symbol : portfolioRepository.findDistinctHeldSymbols()) {
+                if (next.size() >= maxSubscriptions) {
+                    log.warn("KIS realtime subscription limit reached: {}", maxSubscriptions);
+                    break;
+                }
+                next.add(symbol);
+            }
+            desired = next;
+            priceTable.retainOnly(next);
+            syncSubscriptions();
+        } catch (Exception e) {
+            log.warn("Failed to refresh KIS realtime subscriptions: {}", e.getMessage());
+        }
+    }
+
+    public boolean isHealthy() {
+        return priceTable.isHealthy();
+    }
+
+    private Mono<Void> runSession(String key) {
+        return webSocketClient.execute(URI.create(wsUrl), session -> handleSession(session, key))
+                .doFinally(signal -> {
+                    outbound = null;
+                    subscribed.clear();
+                    priceTable.markConnected(false);
+                });
+    }
+
+    private Mono<Void> handleSession(WebSocketSession session, String key) {
+        Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+        approvalKey = key;
+        outbound = sink;
+        subscribed.clear();
+        priceTable.markConnected(true);
+        log.info("KIS realtime feed connected");
+        syncSubscriptions();
+
+        Mono<Void> send = session.send(sink.asFlux().map(session::textMessage));
+        Mono<Void> receive = session.receive()
+                .map(WebSocketMessage::getPayloadAsText)
+                .doOnNext(frame -> handleFrame(frame, sink))
+                .doFinally(signal -> sink.tryEmitComplete())
+                .then();
+        return Mono.when(send, receive);
+    }
+
+    private void handleFrame(String frame, Sinks.Many<String> sink) {
+        priceTable.markAlive();
+        try {
+            if (KisRealtimeTickParser.isDataFrame(frame)) {
+                KisRealtimeTickParser.parse(frame, tradingCalendar.now().toLocalDate()).forEach(priceTable::update);
+                return;
+            }
+
+            JsonNode message = objectMapper.readTree(frame);
+            JsonNode header = message.path("header");
+            if (PINGPONG.equals(header.path("tr_id").asText())) {
+                emit(sink, frame);
+                return;
+            }
+
+            JsonNode body = message.path("body");
+            if (!"0".equals(body.path("rt_cd").asText("0"))) {
+                log.warn("KIS realtime subscription rejected - ticker: {}, message: {}",
+                        header.path("tr_key").asText(), body.path("msg1").asText());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to handle KIS realtime frame: {}, error: {}", frame, e.getMessage());
+        }
+    }
+
+    private synchronized void syncSubscriptions() {
+        Sinks.Many<String> sink = outbound;
+        String key = approvalKey;
+        if (sink == null || key == null) {
+            return;
+        }
+
+        Set<String> target = desired;
+        Set<String> toRemove = new HashSet<>(subscribed);
+        toRemove.removeAll(target);
+        for (String ticker : toRemove) {
+            emit(sink, subscriptionMessage(key, ticker, "2"));
+            subscribed.remove(ticker);
+        }
+        for (String ticker : target) {
+            if (subscribed.add(ticker)) {
+                emit(sink, subscriptionMessage(key, ticker, "1"));
+            }
+        }
+        log.debug("KIS realtime subscriptions - active: {}, removed: {}", subscribed.size(), toRemove.size());
+    }
+
+    private void emit(Sinks.Many<String> sink, String message) {
+        sink.emitNext(message, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+
+    private String subscriptionMessage(String key, String ticker, String trType) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "header", Map.of(
+                            "approval_key", key,
+                            "custtype", "P",
+                            "tr_type", trType,
+                            "content-type", "utf-8"
+                    ),
+                    "body", Map.of(
+                            "input", Map.of("tr_id", KisRealtimeTickParser.TR_ID, "tr_key", ticker)
+                    )
+            ));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to build KIS subscription message", e);
+        }
+    }
+
+    /**
+     * 실시간 접속키 발급. 설정값이 있으면 그대로 사용 (로컬 재생 서버용)
+     */
+    private Mono<String> approvalKey() {
+        if (!configuredApprovalKey.isEmpty()) {
+            return Mono.just(configuredApprovalKey);
+        }
+
+        return webClient.post()
+                .uri("/oauth2/Approval")
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE + "; charset=" + StandardCharsets.UTF_8)
+                .body(BodyInserters.fromValue(Map.of(
+                        "grant_type", "client_credentials",
+                        "appkey", appKey,
+                        "secretkey", appSecret
+                )))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(response -> response.path("approval_key").asText(""))
+                .filter(key -> !key.isEmpty())
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Failed to issue KIS approval key")));
+    }
+}
@@ -0,0 +1,142 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+import com.fimatchplus.backend.stock.event.StockPriceUpdatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 실시간 체결 기반 종목별 최종 시세 테이블
+ * <ul>
+ *     <li>종목별 슬롯(AtomicReference)을 CAS로 갱신하여 읽기/쓰기 모두 락 없이 동작</li>
+ *     <li>체결 일시(일자 + 시각)가 더 늦은 틱만 반영 (순서가 뒤바뀐 틱 무시, 다음 날 틱은 항상 반영)</li>
+ *     <li>피드가 끊기거나 일정 시간 메시지가 없으면 비정상으로 보고 조회에서 제외</li>
+ *     <li>정규장 중에는 PINGPONG만 오고 체결이 일정 시간 없어도 비정상으로 봄</li>
+ *     <li>현재가/전일대비가 바뀐 경우에만 {@link StockPriceUpdatedEvent} 발행</li>
+ * </ul>
+ */
+@Component
+public class KisRealtimePriceTable {
+
+    private final Map<String, AtomicReference<RealtimePrice>> prices = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final KrxTradingCalendar tradingCalendar;
+    private final long staleAfterMillis;
+    private final long dataStaleAfterMillis;
+
+    private volatile boolean connected;
+    private volatile long lastMessageAt;
+    private volatile long lastDataAt;
+
+    public KisRealtimePriceTable(
+            ApplicationEventPublisher eventPublisher,
+            KrxTradingCalendar tradingCalendar,
+            @Value("${kis.realtime.stale-after-ms:30000}") long staleAfterMillis,
+            @Value("${kis.realtime.data-stale-after-ms:120000}") long dataStaleAfterMillis) {
+        this.eventPublisher = eventPublisher;
+        this.tradingCalendar = tradingCalendar;
+        this.staleAfterMillis = staleAfterMillis;
+        this.dataStaleAfterMillis = dataStaleAfterMillis;
+    }
+
+    public void update(RealtimePrice tick) {
+        lastDataAt = System.currentTimeMillis();
+        AtomicReference<RealtimePrice> slot = prices.computeIfAbsent(tick.ticker(), ticker -> new AtomicReference<>());
+        RealtimePrice previous = slot.getAndAccumulate(tick, (current, next) ->
+                current == null || !next.tradedAt().isBefore(current.tradedAt()) ? next : current);
+
+        boolean applied = previous == null || !tick.tradedAt().isBefore(previous.tradedAt());
+        if (applied && (previous == null || previous.currentPrice() != tick.currentPrice()
+                || previous.dailyChangePrice() != tick.dailyChangePrice())) {
+            eventPublisher.publishEvent(new StockPriceUpdatedEvent(tick.ticker(), tick.toPriceInfo()));
+        }
+    }
+
+    public RealtimePrice get(String ticker) {
+        AtomicReference<RealtimePrice> slot = prices.get(ticker);
+        return slot != null ? slot.get() : null;
+    }
+
+    /**
+     * 피드가 정상일 때만 테이블에 있는 종목의 시세를 반환한다.
+     */
+    public Map<String, RealtimePrice> getAllIfHealthy(List<String> tickers) {
+        if (!isHealthy()) {
+            return Map.of();
+        }
+
+        Map<String, RealtimePrice> result = new HashMap<>();
+        for (String ticker : tickers) {
+            RealtimePrice price = get(ticker);
+            if (price != null) {
+                result.put(ticker, price);
+            }
+        }
+        return result;
+    }
+
+    public boolean isHealthy() {
+        long now = System.currentTimeMillis();
+        if (!connected || now - lastMessageAt > staleAfterMillis) {
+            return false;
+        }
+        return !tradingCalendar.isRegularSession(tradingCalendar.now()) || now - lastDataAt <= dataStaleAfterMillis;
+    }
+
+    public void markAlive() {
+        lastMessageAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 연결이 끊기면 그동안 놓친 틱이 있을 수 있으므로 테이블을 비운다.
+     */
+    public void markConnected(boolean connected) {
+        this.connected = connected;
+        if (connected) {
+            markAlive();
+            lastDataAt = lastMessageAt;
+        } else {
+            prices.clear();
+        }
+    }
+
+    public void retainOnly(Set<String> tickers) {
+        prices.keySet().retainAll(tickers);
+    }
+
+    public void removeAll(Collection<String> tickers) {
+        tickers.forEach(prices::remove);
+    }
+
+    public int size() {
+        return prices.size();
+    }
+
+    /**
+     * 실시간 체결 시세
+     *
+     * @param tradedAt 체결 일시 (KST)
+     */
+    public record RealtimePrice(
+            String ticker,
+            double currentPrice,
+            double dailyChangePrice,
+            double dailyChangeRate,
+            PriceChangeSign sign,
+            LocalDateTime tradedAt
+    ) {
+        public StockService.StockPriceInfo toPriceInfo() {
+            return new StockService.StockPriceInfo(currentPrice, dailyChangeRate, dailyChangePrice, sign);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * KIS 실시간 체결가(H0STCNT0) 데이터 프레임 파서
+ * 프레임 형식: {암호화여부}|{tr_id}|{건수}|{필드^필드^...}
+ */
+final class KisRealtimeTickParser {
+
+    static final String TR_ID = "H0STCNT0";
+
+    private static final int FIELDS_PER_RECORD = 46;
+    private static final int TICKER = 0;
+    private static final int TRADE_TIME = 1;
+    private static final int CURRENT_PRICE = 2;
+    private static final int SIGN = 3;
+    private static final int CHANGE_PRICE = 4;
+    private static final int CHANGE_RATE = 5;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HHmmss");
+
+    private KisRealtimeTickParser() {
+    }
+
+    /**
+     * JSON 제어 메시지(구독 응답, PINGPONG)가 아닌 데이터 프레임인지 여부
+     */
+    static boolean isDataFrame(String frame) {
+        return !frame.isEmpty() && (frame.charAt(0) == '0' || frame.charAt(0) == '1');
+    }
+
+    /**
+     * @param tradeDate 체결 일자 (프레임에는 체결 시각만 있으므로 수신 시점의 KRX 일자)
+     * @return 파싱한 체결 목록. 다른 tr_id이거나 암호화된 프레임이면 빈 목록
+     */
+    static List<KisRealtimePriceTable.RealtimePrice> parse(String frame, LocalDate tradeDate) {
+        String[] parts = frame.split("\\|", 4);
+        if (parts.length < 4 || !"0".equals(parts[0]) || !TR_ID.equals(parts[1])) {
+            return List.of();
+        }
+
+        int count = Integer.parseInt(parts[2]);
+        String[] fields = parts[3].split("\\^", -1);
+        int fieldsPerRecord = count > 0 ? fields.length / count : FIELDS_PER_RECORD;
+
+        List<KisRealtimePriceTable.RealtimePrice> ticks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int base = i * fieldsPerRecord;
+            if (base + CHANGE_RATE >= fields.length) {
+                break;
+            }
+            ticks.add(new KisRealtimePriceTable.RealtimePrice(
+                    fields[base + TICKER],
+                    Double.parseDouble(fields[base + CURRENT_PRICE]),
+                    Double.parseDouble(fields[base + CHANGE_PRICE]),
+                    Double.parseDouble(fields[base + CHANGE_RATE]),
+                    PriceChangeSign.fromCode(fields[base + SIGN]),
+                    LocalDateTime.of(tradeDate, LocalTime.parse(fields[base + TRADE_TIME], TIME_FORMAT))
+            ));
+        }
+        return ticks;
+    }
+}
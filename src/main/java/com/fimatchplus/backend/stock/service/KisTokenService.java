@@ -1,25 +1,57 @@
 package com.fimatchplus.backend.stock.service;
 
+import com.fimatchplus.backend.common.util.RedisLock;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * KIS 접근 토큰 관리
+ * <ul>
+ *     <li>토큰은 노드 메모리에 보관하여 KIS 호출마다 Redis를 조회하지 않음</li>
+ *     <li>만료 전에 백그라운드에서 미리 갱신</li>
+ *     <li>노드 내 갱신은 하나의 future로 합치고, 클러스터에서는 Redis 락을 잡은 노드만 발급</li>
+ *     <li>락을 못 잡은 노드는 Redis에 새 토큰이 올라올 때까지 기다렸다가 공유</li>
+ * </ul>
+ */
+@Slf4j
 @Service
 public class KisTokenService {
 
     private static final String TOKEN_KEY = "kis-token";
+    private static final String LOCK_KEY = "kis-token:lock";
+    private static final Duration LOCK_TTL = Duration.ofSeconds(15);
+    private static final Duration PEER_WAIT = Duration.ofSeconds(10);
+    private static final long PEER_POLL_MILLIS = 200;
 
     private final StringRedisTemplate redisTemplate;
+    private final RedisLock redisLock;
     private final WebClient stockApiWebClient;
+    private final KisRateLimiter rateLimiter;
+    private final Executor executor;
+    private final Duration refreshAhead;
+
+    private final AtomicReference<CachedToken> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
 
     @Value("${kis.stock.app-key}")
     private String appKey;
@@ -27,20 +59,164 @@ public class KisTokenService {
     @Value("${kis.stock.app-secret}")
     private String appSecret;
 
-    public KisTokenService(StringRedisTemplate redisTemplate, @Qualifier("stockApiWebClient") WebClient stockApiWebClient) {
+    public KisTokenService(
+            StringRedisTemplate redisTemplate,
+            RedisLock redisLock,
+            @Qualifier("stockApiWebClient") WebClient stockApiWebClient,
+            KisRateLimiter rateLimiter,
+            @Qualifier("backgroundTaskExecutor") Executor executor,
+            @Value("${kis.token.refresh-ahead-minutes:30}") long refreshAheadMinutes) {
         this.redisTemplate = redisTemplate;
+        this.redisLock = redisLock;
         this.stockApiWebClient = stockApiWebClient;
+        this.rateLimiter = rateLimiter;
+        this.executor = executor;
+        this.refreshAhead = Duration.ofMinutes(refreshAheadMinutes);
     }
 
     public String getAccessToken() {
-        String cached = redisTemplate.opsForValue().get(TOKEN_KEY);
-        if (cached != null && !cached.isEmpty()) {
-            return cached;
+        CachedToken token = current.get();
+        if (isUsable(token)) {
+            refreshIfExpiringSoon(token);
+            return token.value();
+        }
+
+        try {
+            return refresh().join().value();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
         }
-        return issueAndCacheToken();
     }
 
-    private String issueAndCacheToken() {
+    public Mono<String> getAccessTokenReactive() {
+        CachedToken token = current.get();
+        if (isUsable(token)) {
+            refreshIfExpiringSoon(token);
+            return Mono.just(token.value());
+        }
+
+        return Mono.fromFuture(this::refresh, true).map(CachedToken::value);
+    }
+
+    /**
+     * 만료 임박 토큰을 요청 경로 밖에서 미리 갱신
+     */
+    @Scheduled(fixedDelayString = "${kis.token.refresh-check-ms:60000}")
+    public void refreshAheadOfExpiry() {
+        CachedToken token = current.get();
+        if (token != null && isExpiringSoon(token)) {
+            log.info("KIS access token expires at {}, refreshing ahead", token.expiresAt());
+            refresh();
+        }
+    }
+
+    private void refreshIfExpiringSoon(CachedToken token) {
+        if (isExpiringSoon(token)) {
+            refresh();
+        }
+    }
+
+    /**
+     * 노드 내 갱신 요청을 하나로 합친다. 진행 중인 갱신이 있으면 같은 future를 반환한다.
+     */
+    private CompletableFuture<CachedToken> refresh() {
+        while (true) {
+            CompletableFuture<CachedToken> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            CompletableFuture<CachedToken> created = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, created)) {
+                continue;
+            }
+
+            try {
+                executor.execute(() -> {
+                    try {
+                        CachedToken renewed = renew();
+                        current.set(renewed);
+                        created.complete(renewed);
+                    } catch (Throwable e) {
+                        log.error("Failed to refresh KIS access token: {}", e.getMessage());
+                        created.completeExceptionally(e);
+                    } finally {
+                        inFlight.compareAndSet(created, null);
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.compareAndSet(created, null);
+                created.completeExceptionally(e);
+            }
+            return created;
+        }
+    }
+
+    private CachedToken renew() {
+        CachedToken shared = readSharedToken();
+        if (shared != null && !isExpiringSoon(shared)) {
+            log.debug("Adopted KIS access token from redis, expires at {}", shared.expiresAt());
+            return shared;
+        }
+
+        Optional<String> owner = redisLock.tryLock(LOCK_KEY, LOCK_TTL);
+        if (owner.isEmpty()) {
+            return awaitPeerRefresh();
+        }
+
+        try {
+            CachedToken again = readSharedToken();
+            if (again != null && !isExpiringSoon(again)) {
+                return again;
+            }
+            return issueAndCacheToken();
+        } finally {
+            redisLock.unlock(LOCK_KEY, owner.get());
+        }
+    }
+
+    /**
+     * 다른 노드가 발급 중이면 Redis에 새 토큰이 올라올 때까지 기다린다.
+     */
+    private CachedToken awaitPeerRefresh() {
+        long deadline = System.nanoTime() + PEER_WAIT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(PEER_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            CachedToken shared = readSharedToken();
+            if (shared != null && !isExpiringSoon(shared)) {
+                return shared;
+            }
+        }
+
+        CachedToken fallback = Optional.ofNullable(readSharedToken()).orElse(current.get());
+        if (isUsable(fallback)) {
+            log.warn("Peer token refresh did not finish in time, keeping token that expires at {}", fallback.expiresAt());
+            return fallback;
+        }
+        throw new IllegalStateException("Timed out waiting for KIS access token refresh");
+    }
+
+    private CachedToken readSharedToken() {
+        String value = redisTemplate.opsForValue().get(TOKEN_KEY);
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        Long ttlSeconds = redisTemplate.getExpire(TOKEN_KEY, TimeUnit.SECONDS);
+        if (ttlSeconds == null || ttlSeconds <= 0) {
+            return null;
+        }
+        return new CachedToken(value, Instant.now().plusSeconds(ttlSeconds));
+    }
+
+    private CachedToken issueAndCacheToken() {
+        rateLimiter.acquire(KisRateLimiter.Priority.INTERACTIVE);
         KisTokenResponse resp = stockApiWebClient
                 .post()
                 .uri("/oauth2/tokenP")
@@ -60,8 +236,17 @@ public class KisTokenService {
 
         long ttlSeconds = (long) Math.max(0, Math.floor(resp.expires_in()));
         redisTemplate.opsForValue().set(TOKEN_KEY, resp.access_token(), Duration.ofSeconds(ttlSeconds));
-        return resp.access_token();
+        log.info("Issued new KIS access token, expires in {}s", ttlSeconds);
+        return new CachedToken(resp.access_token(), Instant.now().plusSeconds(ttlSeconds));
     }
-}
 
+    private boolean isUsable(CachedToken token) {
+        return token != null && Instant.now().isBefore(token.expiresAt());
+    }
 
+    private boolean isExpiringSoon(CachedToken token) {
+        return Instant.now().plus(refreshAhead).isAfter(token.expiresAt());
+    }
+
+    private record CachedToken(String value, Instant expiresAt) {}
+}
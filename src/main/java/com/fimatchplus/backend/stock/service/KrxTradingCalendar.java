@@ -0,0 +1,139 @@
+package com.fimatchplus.backend.stock.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * KRX 거래일/장 운영 시간
+ * <ul>
+ *     <li>주말과 휴장일은 거래일이 아님. 휴장일은 krx.holidays-location 파일에서 읽음 (기본: classpath:krx/holidays.txt)</li>
+ *     <li>올해/내년 휴장일이 파일에 없으면 기동 시 경고 (매년 공시 후 파일 갱신 필요)</li>
+ *     <li>시세가 바뀔 수 있는 구간: 장 시작 전 동시호가 ~ 장 마감 + 정산 여유</li>
+ *     <li>시세 캐시 TTL: 장중에는 짧게, 장 밖에서는 다음 장 시작 전까지</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class KrxTradingCalendar {
+
+    public static final ZoneId KRX_ZONE = ZoneId.of("Asia/Seoul");
+
+    private final Set<LocalDate> holidays;
+    private final LocalTime preOpen;
+    private final LocalTime open;
+    private final LocalTime close;
+    private final Duration settleMargin;
+    private final Duration sessionQuoteTtl;
+
+    public KrxTradingCalendar(
+            @Value("${krx.holidays-location:classpath:krx/holidays.txt}") Resource holidaysLocation,
+            @Value("${krx.session.pre-open:08:30}") String preOpen,
+            @Value("${krx.session.open:09:00}") String open,
+            @Value("${krx.session.close:15:30}") String close,
+            @Value("${krx.session.settle-minutes:1}") long settleMinutes,
+            @Value("${kis.quote-cache.session-ttl-ms:5000}") long sessionQuoteTtlMillis) {
+        this.holidays = readHolidays(holidaysLocation);
+        this.preOpen = LocalTime.parse(preOpen);
+        this.open = LocalTime.parse(open);
+        this.close = LocalTime.parse(close);
+        this.settleMargin = Duration.ofMinutes(settleMinutes);
+        this.sessionQuoteTtl = Duration.ofMillis(sessionQuoteTtlMillis);
+        warnIfMissingYears(holidaysLocation);
+    }
+
+    public ZonedDateTime now() {
+        return ZonedDateTime.now(KRX_ZONE);
+    }
+
+    public boolean isTradingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(date);
+    }
+
+    /**
+     * 시세가 바뀔 수 있는 구간(동시호가 포함, 마감 후 정산 여유까지)인지 여부
+     */
+    public boolean isQuoteActive(ZonedDateTime time) {
+        ZonedDateTime local = time.withZoneSameInstant(KRX_ZONE);
+        if (!isTradingDay(local.toLocalDate())) {
+            return false;
+        }
+        LocalTime clock = local.toLocalTime();
+        return !clock.isBefore(preOpen) && clock.isBefore(close.plus(settleMargin));
+    }
+
+    /**
+     * 정규장 시간(개장 ~ 마감)인지 여부
+     */
+    public boolean isRegularSession(ZonedDateTime time) {
+        ZonedDateTime local = time.withZoneSameInstant(KRX_ZONE);
+        LocalTime clock = local.toLocalTime();
+        return isTradingDay(local.toLocalDate()) && !clock.isBefore(open) && clock.isBefore(close);
+    }
+
+    /**
+     * time 이후 처음으로 시세가 바뀌기 시작하는 시각 (다음 거래일 동시호가 시작)
+     */
+    public ZonedDateTime nextQuoteActivation(ZonedDateTime time) {
+        ZonedDateTime local = time.withZoneSameInstant(KRX_ZONE);
+        LocalDate date = local.toLocalDate();
+        if (!local.toLocalTime().isBefore(preOpen)) {
+            date = date.plusDays(1);
+        }
+        while (!isTradingDay(date)) {
+            date = date.plusDays(1);
+        }
+        return date.atTime(preOpen).atZone(KRX_ZONE);
+    }
+
+    /**
+     * 지금 저장하는 시세의 캐시 TTL
+     */
+    public Duration quoteTtl() {
+        ZonedDateTime now = now();
+        if (isQuoteActive(now)) {
+            return sessionQuoteTtl;
+        }
+        Duration untilActive = Duration.between(now, nextQuoteActivation(now));
+        return untilActive.compareTo(sessionQuoteTtl) > 0 ? untilActive : sessionQuoteTtl;
+    }
+
+    /**
+     * 한 줄에 yyyy-MM-dd 하나 (빈 줄과 #으로 시작하는 줄은 무시)
+     */
+    private static Set<LocalDate> readHolidays(Resource location) {
+        try {
+            return location.getContentAsString(StandardCharsets.UTF_8).lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(LocalDate::parse)
+                    .collect(Collectors.toUnmodifiableSet());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read KRX holidays: " + location, e);
+        }
+    }
+
+    private void warnIfMissingYears(Resource location) {
+        int year = now().getYear();
+        for (int check = year; check <= year + 1; check++) {
+            int target = check;
+            if (holidays.stream().noneMatch(date -> date.getYear() == target)) {
+                log.warn("KRX holidays for {} are missing in {}, only weekends are treated as closed", target, location);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.common.util.RedisLock;
+import com.fimatchplus.backend.stock.repository.LatestStockPriceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * latest_stock_prices 초기 적재
+ * <ul>
+ *     <li>시작 시 테이블이 비어 있거나 force 설정이면 stock_prices 이력에서 주기별 최신 봉을 채움</li>
+ *     <li>여러 노드 중 락을 잡은 한 노드만 수행</li>
+ *     <li>이후 갱신은 stock_prices 트리거가 담당</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class LatestStockPriceBackfillJob {
+
+    private static final String LOCK_KEY = "stock:latest-price:backfill:lock";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+
+    private final LatestStockPriceRepository latestStockPriceRepository;
+    private final RedisLock redisLock;
+    private final List<String> intervalUnits;
+    private final boolean force;
+
+    public LatestStockPriceBackfillJob(
+            LatestStockPriceRepository latestStockPriceRepository,
+            RedisLock redisLock,
+            @Value("${stock.latest-price.backfill-intervals:1d,1m}") List<String> intervalUnits,
+            @Value("${stock.latest-price.backfill-force:false}") boolean force) {
+        this.latestStockPriceRepository = latestStockPriceRepository;
+        this.redisLock = redisLock;
+        this.intervalUnits = intervalUnits;
+        this.force = force;
+    }
+
+    @Async("backgroundTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            if (force || latestStockPriceRepository.isEmpty()) {
+                backfill();
+            }
+        } catch (Exception e) {
+            log.warn("Latest stock price backfill skipped: {}", e.getMessage());
+        }
+    }
+
+    public void backfill() {
+        Optional<String> owner = redisLock.tryLock(LOCK_KEY, LOCK_TTL);
+        if (owner.isEmpty()) {
+            log.info("Latest stock price backfill is running on another node");
+            return;
+        }
+
+        try {
+            for (String intervalUnit : intervalUnits) {
+                long startedAt = System.currentTimeMillis();
+                int rows = latestStockPriceRepository.backfill(intervalUnit.trim());
+                log.info("Latest stock price backfill done - interval: {}, rows: {}, elapsed: {} ms",
+                        intervalUnit, rows, System.currentTimeMillis() - startedAt);
+            }
+        } finally {
+            redisLock.unlock(LOCK_KEY, owner.get());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.ChartInterval;
+import com.fimatchplus.backend.stock.repository.StockChartJdbcRepository;
+
+/**
+ * 시간 오름차순으로 들어오는 봉을 더 긴 주기로 묶음
+ * 시가=첫 봉 시가, 종가=마지막 봉 종가, 고가/저가=최대/최소, 거래량=합계, 시각=묶음 시작
+ */
+final class OhlcvResampler implements StockChartJdbcRepository.BarConsumer {
+
+    private final ChartInterval interval;
+    private final ChartSeries output = new ChartSeries();
+
+    private long bucket = Long.MIN_VALUE;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long volume;
+
+    OhlcvResampler(ChartInterval interval) {
+        this.interval = interval;
+    }
+
+    @Override
+    public void accept(long epochSecond, double open, double high, double low, double close, long volume) {
+        long bucketStart = interval.bucketStart(epochSecond);
+        if (bucketStart != bucket) {
+            flush();
+            this.bucket = bucketStart;
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.close = close;
+            this.volume = volume;
+            return;
+        }
+
+        this.high = Math.max(this.high, high);
+        this.low = Math.min(this.low, low);
+        this.close = close;
+        this.volume += volume;
+    }
+
+    ChartSeries finish() {
+        flush();
+        bucket = Long.MIN_VALUE;
+        return output;
+    }
+
+    private void flush() {
+        if (bucket != Long.MIN_VALUE) {
+            output.append(bucket, open, high, low, close, volume);
+        }
+    }
+}
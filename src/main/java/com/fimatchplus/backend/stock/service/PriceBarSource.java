@@ -0,0 +1,25 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceBar;
+
+import java.io.IOException;
+
+/**
+ * 대량 적재용 가격 봉 입력 (CSV 파일, 외부 이력 API 등)
+ * 한 건씩 순서대로 읽어 전체를 메모리에 올리지 않는다.
+ */
+public interface PriceBarSource extends AutoCloseable {
+
+    /**
+     * @return 다음 봉, 끝이면 null
+     */
+    PriceBar next() throws IOException;
+
+    /**
+     * 로그/지표용 이름
+     */
+    String name();
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,75 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.common.util.RedisLock;
+import com.fimatchplus.backend.stock.repository.PriceBulkCopyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 설정된 CSV 파일 일괄 적재
+ * <ul>
+ *     <li>stock.ingest.csv-files가 지정된 경우에만 시작 시 한 번 수행 (과거 이력 백필 용도)</li>
+ *     <li>여러 노드 중 락을 잡은 한 노드만 수행</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class PriceIngestionJob {
+
+    private static final String LOCK_KEY = "stock:price-ingest:lock";
+    private static final Duration LOCK_TTL = Duration.ofHours(2);
+
+    private final PriceIngestionService priceIngestionService;
+    private final RedisLock redisLock;
+    private final List<String> csvFiles;
+    private final PriceBulkCopyRepository.Target target;
+    private final String defaultIntervalUnit;
+
+    public PriceIngestionJob(
+            PriceIngestionService priceIngestionService,
+            RedisLock redisLock,
+            @Value("${stock.ingest.csv-files:}") List<String> csvFiles,
+            @Value("${stock.ingest.target:STOCK_PRICES}") PriceBulkCopyRepository.Target target,
+            @Value("${stock.ingest.default-interval:1d}") String defaultIntervalUnit) {
+        this.priceIngestionService = priceIngestionService;
+        this.redisLock = redisLock;
+        this.csvFiles = csvFiles.stream().map(String::trim).filter(file -> !file.isEmpty()).toList();
+        this.target = target;
+        this.defaultIntervalUnit = defaultIntervalUnit;
+    }
+
+    @Async("backgroundTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void ingestOnStartup() {
+        if (csvFiles.isEmpty()) {
+            return;
+        }
+
+        Optional<String> owner = redisLock.tryLock(LOCK_KEY, LOCK_TTL);
+        if (owner.isEmpty()) {
+            log.info("Price ingestion is running on another node");
+            return;
+        }
+
+        try {
+            for (String file : csvFiles) {
+                try (CsvPriceBarSource source = new CsvPriceBarSource(Path.of(file), defaultIntervalUnit)) {
+                    priceIngestionService.ingest(source, target);
+                } catch (Exception e) {
+                    log.error("Price ingestion failed - file: {}, error: {}", file, e.getMessage());
+                }
+            }
+        } finally {
+            redisLock.unlock(LOCK_KEY, owner.get());
+        }
+    }
+}
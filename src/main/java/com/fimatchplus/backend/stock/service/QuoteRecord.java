@@ -0,0 +1,122 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+/**
+ * 캐시용 종목 시세 (고정 필드)
+ * 가격/거래량은 원 단위 long, 등락률은 0.01% 단위 int로 보관
+ *
+ * @param changeRateBp 전일대비 등락률 × 100 (예: -1.25% → -125)
+ * @param marketCap 시가총액 (억원, inquire-price 응답에만 존재, 없으면 0)
+ */
+public record QuoteRecord(
+        long currentPrice,
+        long changePrice,
+        int changeRateBp,
+        PriceChangeSign sign,
+        long prevClose,
+        long open,
+        long high,
+        long low,
+        long volume,
+        long tradeAmount,
+        long marketCap
+) {
+
+    public double changeRate() {
+        return changeRateBp / 100.0;
+    }
+
+    /**
+     * inquire-price(FHKST01010100) 응답 output에서 변환
+     */
+    public static QuoteRecord fromQuoteOutput(Map<String, Object> output) {
+        return new QuoteRecord(
+                parseLong(output.get("stck_prpr")),
+                parseLong(output.get("prdy_vrss")),
+                parseRateBp(output.get("prdy_ctrt")),
+                PriceChangeSign.fromCode(stringOrNull(output.get("prdy_vrss_sign"))),
+                parseLong(output.get("stck_sdpr")),
+                parseLong(output.get("stck_oprc")),
+                parseLong(output.get("stck_hgpr")),
+                parseLong(output.get("stck_lwpr")),
+                parseLong(output.get("acml_vol")),
+                parseLong(output.get("acml_tr_pbmn")),
+                parseLong(output.get("hts_avls"))
+        );
+    }
+
+    /**
+     * intstock-multprice(FHKST11300006) 응답 항목에서 변환
+     */
+    public static QuoteRecord fromMultiPriceOutput(KisMultiPriceResponse.ResponseBodyOutput output) {
+        return new QuoteRecord(
+                parseLong(output.inter2Prpr()),
+                parseLong(output.inter2PrdyVrss()),
+                parseRateBp(output.prdyCtrt()),
+                PriceChangeSign.fromCode(output.prdyVrssSign()),
+                parseLong(output.inter2PrdyClpr()),
+                parseLong(output.inter2Oprc()),
+                parseLong(output.inter2Hgpr()),
+                parseLong(output.inter2Lwpr()),
+                parseLong(output.acmlVol()),
+                parseLong(output.acmlTrPbmn()),
+                0L
+        );
+    }
+
+    public KisMultiPriceResponse.ResponseBodyOutput toMultiPriceOutput(String ticker) {
+        return new KisMultiPriceResponse.ResponseBodyOutput(
+                ticker,
+                null,
+                Long.toString(currentPrice),
+                Long.toString(changePrice),
+                sign.getCode(),
+                BigDecimal.valueOf(changeRateBp, 2).toPlainString(),
+                Long.toString(prevClose),
+                Long.toString(open),
+                Long.toString(high),
+                Long.toString(low),
+                Long.toString(volume),
+                Long.toString(tradeAmount)
+        );
+    }
+
+    private static String stringOrNull(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static long parseLong(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        String text = value.toString().trim();
+        if (text.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                return new BigDecimal(text).setScale(0, RoundingMode.HALF_UP).longValue();
+            } catch (NumberFormatException ignored) {
+                return 0L;
+            }
+        }
+    }
+
+    private static int parseRateBp(Object value) {
+        if (value == null || value.toString().isBlank()) {
+            return 0;
+        }
+        try {
+            return new BigDecimal(value.toString().trim()).movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue();
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
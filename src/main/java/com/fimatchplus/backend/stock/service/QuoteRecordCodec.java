@@ -0,0 +1,71 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link QuoteRecord} ↔ Redis 값 바이너리 변환
+ * <pre>
+ * [version:1][sign:1][changeRateBp:4][currentPrice:8][changePrice:8][prevClose:8]
+ * [open:8][high:8][low:8][volume:8][tradeAmount:8][marketCap:8]  = 78 bytes
+ * </pre>
+ * 레이아웃이 바뀌면 VERSION을 올리고, 알 수 없는 버전은 캐시 미스로 처리한다.
+ */
+final class QuoteRecordCodec {
+
+    private static final byte VERSION = 1;
+    static final int ENCODED_SIZE = 1 + 1 + 4 + 8 * 9;
+
+    private static final PriceChangeSign[] SIGNS = PriceChangeSign.values();
+
+    private QuoteRecordCodec() {
+    }
+
+    static byte[] encode(QuoteRecord quote) {
+        return ByteBuffer.allocate(ENCODED_SIZE)
+                .put(VERSION)
+                .put((byte) quote.sign().ordinal())
+                .putInt(quote.changeRateBp())
+                .putLong(quote.currentPrice())
+                .putLong(quote.changePrice())
+                .putLong(quote.prevClose())
+                .putLong(quote.open())
+                .putLong(quote.high())
+                .putLong(quote.low())
+                .putLong(quote.volume())
+                .putLong(quote.tradeAmount())
+                .putLong(quote.marketCap())
+                .array();
+    }
+
+    /**
+     * @return 형식이 맞지 않으면 null
+     */
+    static QuoteRecord decode(byte[] bytes) {
+        if (bytes == null || bytes.length != ENCODED_SIZE || bytes[0] != VERSION) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, ENCODED_SIZE - 1);
+        int signOrdinal = buffer.get();
+        if (signOrdinal < 0 || signOrdinal >= SIGNS.length) {
+            return null;
+        }
+        int changeRateBp = buffer.getInt();
+
+        return new QuoteRecord(
+                buffer.getLong(),
+                buffer.getLong(),
+                changeRateBp,
+                SIGNS[signOrdinal],
+                buffer.getLong(),
+                buffer.getLong(),
+                buffer.getLong(),
+                buffer.getLong(),
+                buffer.getLong(),
+                buffer.getLong(),
+                buffer.getLong()
+        );
+    }
+}
@@ -0,0 +1,171 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+import com.fimatchplus.backend.stock.domain.StockPrice;
+import com.fimatchplus.backend.stock.repository.LatestStockPriceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * KIS 장애에 대비한 현재가 조회
+ * <ul>
+ *     <li>KIS 응답이 fresh-timeout 안에 오지 않으면 마지막 시세(stale)를 바로 반환하고, 진행 중인 조회는 끝까지 받아 캐시를 갱신</li>
+ *     <li>회로가 열려 있으면 KIS를 기다리지 않고 즉시 대체 시세를 사용 ({@link KisCircuitBreaker})</li>
+ *     <li>대체 순서: 마지막 KIS 시세(Redis) → latest_stock_prices 일봉 종가</li>
+ *     <li>대체 시세는 {@link StockService.StockPriceInfo#stale()}로 표시</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class ResilientPriceService {
+
+    private final KisMultiPriceService kisMultiPriceService;
+    private final KisQuoteCache quoteCache;
+    private final LatestStockPriceRepository latestStockPriceRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration freshTimeout;
+
+    public ResilientPriceService(
+            KisMultiPriceService kisMultiPriceService,
+            KisQuoteCache quoteCache,
+            LatestStockPriceRepository latestStockPriceRepository,
+            MeterRegistry meterRegistry,
+            @Value("${kis.resilience.fresh-timeout-ms:2000}") long freshTimeoutMillis) {
+        this.kisMultiPriceService = kisMultiPriceService;
+        this.quoteCache = quoteCache;
+        this.latestStockPriceRepository = latestStockPriceRepository;
+        this.meterRegistry = meterRegistry;
+        this.freshTimeout = Duration.ofMillis(freshTimeoutMillis);
+    }
+
+    /**
+     * @return 종목별 시세. KIS와 대체 경로 모두에 없는 종목은 제외
+     */
+    public Mono<Map<String, StockService.StockPriceInfo>> fetchPrices(List<String> tickers) {
+        return fetchPrices(tickers, KisRateLimiter.Priority.INTERACTIVE);
+    }
+
+    /**
+     * @param priority KIS 호출 한도 대기 우선순위 (주기 작업은 BACKGROUND)
+     */
+    public Mono<Map<String, StockService.StockPriceInfo>> fetchPrices(List<String> tickers, KisRateLimiter.Priority priority) {
+        if (tickers.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        Mono<KisMultiPriceService.MultiPriceResult> refresh = kisMultiPriceService.fetchMultiPriceReactive(tickers, priority).cache();
+
+        return refresh
+                .timeout(freshTimeout)
+                .map(this::toPriceMap)
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.warn("KIS price fetch exceeded {} ms, serving stale prices - tickers: {}",
+                            freshTimeout.toMillis(), tickers.size());
+                    refresh.subscribe(
+                            result -> log.debug("Background price refresh done - tickers: {}", result.outputs().size()),
+                            error -> log.debug("Background price refresh failed: {}", error.getMessage()));
+                    return Mono.just(new HashMap<>());
+                })
+                .onErrorResume(e -> {
+                    log.warn("KIS price fetch failed, serving stale prices - error: {}", e.getMessage());
+                    return Mono.just(new HashMap<>());
+                })
+                .flatMap(priceMap -> fillMissing(tickers, priceMap));
+    }
+
+    private Mono<Map<String, StockService.StockPriceInfo>> fillMissing(
+            List<String> tickers,
+            Map<String, StockService.StockPriceInfo> priceMap) {
+        List<String> missing = missingTickers(tickers, priceMap);
+        if (missing.isEmpty()) {
+            return Mono.just(priceMap);
+        }
+
+        return quoteCache.getLastKnownAllReactive(missing)
+                .flatMap(lastKnown -> {
+                    lastKnown.forEach((ticker, quote) -> priceMap.put(ticker, toStalePriceInfo(quote)));
+                    recordFallback("last_known", lastKnown.size());
+
+                    List<String> stillMissing = missingTickers(missing, priceMap);
+                    if (stillMissing.isEmpty()) {
+                        return Mono.just(priceMap);
+                    }
+                    return loadLatestCloses(stillMissing).map(closes -> {
+                        priceMap.putAll(closes);
+                        recordFallback("database", closes.size());
+                        return priceMap;
+                    });
+                });
+    }
+
+    private Mono<Map<String, StockService.StockPriceInfo>> loadLatestCloses(List<String> tickers) {
+        return Mono.fromCallable(() -> {
+                    Map<String, StockService.StockPriceInfo> closes = new HashMap<>();
+                    for (StockPrice price : latestStockPriceRepository.findByStockCodes(tickers, "1d")) {
+                        closes.put(price.getStockCode(), toStalePriceInfo(price));
+                    }
+                    return closes;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("Failed to load latest closes for tickers: {}, error: {}", tickers, e.getMessage());
+                    return Mono.just(Map.of());
+                });
+    }
+
+    private Map<String, StockService.StockPriceInfo> toPriceMap(KisMultiPriceService.MultiPriceResult result) {
+        Map<String, StockService.StockPriceInfo> priceMap = new HashMap<>();
+
+        for (KisMultiPriceResponse.ResponseBodyOutput output : result.outputs()) {
+            QuoteRecord quote = QuoteRecord.fromMultiPriceOutput(output);
+            if (quote.currentPrice() <= 0) {
+                log.warn("가격 데이터 파싱 오류 - 종목: {}, 현재가: {}, 전일대비: {}",
+                        output.interShrnIscd(), output.inter2Prpr(), output.inter2PrdyVrss());
+                continue;
+            }
+            priceMap.put(output.interShrnIscd(), new StockService.StockPriceInfo(
+                    quote.currentPrice(), quote.changeRate(), quote.changePrice(), quote.sign()));
+        }
+
+        for (KisMultiPriceService.ChunkFailure failure : result.failures()) {
+            log.warn("가격 조회 일부 실패 - 종목: {}, 원인: {}", failure.tickers(), failure.message());
+        }
+
+        return priceMap;
+    }
+
+    private StockService.StockPriceInfo toStalePriceInfo(QuoteRecord quote) {
+        return new StockService.StockPriceInfo(
+                quote.currentPrice(), quote.changeRate(), quote.changePrice(), quote.sign(), true);
+    }
+
+    private StockService.StockPriceInfo toStalePriceInfo(StockPrice price) {
+        double changeRate = price.getChangeRate() != null ? price.getChangeRate().doubleValue() : 0.0;
+        double changeAmount = price.getChangeAmount() != null ? price.getChangeAmount().doubleValue() : 0.0;
+        PriceChangeSign sign = changeRate > 0 ? PriceChangeSign.RISE : changeRate < 0 ? PriceChangeSign.FALL : PriceChangeSign.FLAT;
+        return new StockService.StockPriceInfo(price.getClosePrice().doubleValue(), changeRate, changeAmount, sign, true);
+    }
+
+    private List<String> missingTickers(List<String> tickers, Map<String, StockService.StockPriceInfo> priceMap) {
+        return tickers.stream()
+                .filter(ticker -> !priceMap.containsKey(ticker))
+                .distinct()
+                .toList();
+    }
+
+    private void recordFallback(String source, int count) {
+        if (count > 0) {
+            meterRegistry.counter("kis.price.fallback", "source", source).increment(count);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.dto.StockDetailResponse;
+import com.fimatchplus.backend.stock.repository.StockChartJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 종목/주기별 차트 데이터 메모리 캐시
+ * <ul>
+ *     <li>처음 조회 시 최근 max-bars개 봉을 {@link ChartSeries} 원시 배열로 적재</li>
+ *     <li>refresh-ms가 지난 뒤 조회되면 마지막 봉 이후 데이터만 읽어 뒤에 추가</li>
+ *     <li>적재 범위보다 이전 구간이 필요하면 empty/false를 반환하여 호출 측이 DB에서 조회</li>
+ *     <li>max-series를 넘으면 가장 오래 조회되지 않은 시리즈부터 제거</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class StockChartCache {
+
+    private final StockChartJdbcRepository chartRepository;
+    private final Map<SeriesKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxBars;
+    private final int maxSeries;
+    private final long refreshMillis;
+
+    public StockChartCache(
+            StockChartJdbcRepository chartRepository,
+            @Value("${stock.chart-cache.max-bars:5000}") int maxBars,
+            @Value("${stock.chart-cache.max-series:500}") int maxSeries,
+            @Value("${stock.chart-cache.refresh-ms:60000}") long refreshMillis) {
+        this.chartRepository = chartRepository;
+        this.maxBars = maxBars;
+        this.maxSeries = maxSeries;
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * [fromEpochSecond, toEpochSecond] 구간의 최근 limit개 봉 (시간 내림차순)
+     *
+     * @return 캐시로 응답할 수 없는 구간이면 empty
+     */
+    public Optional<List<StockDetailResponse.ChartData>> find(
+            String ticker, String interval, long fromEpochSecond, long toEpochSecond, int limit) {
+        Entry entry = entry(ticker, interval);
+        List<StockDetailResponse.ChartData> slice = entry.series.sliceDescending(fromEpochSecond, toEpochSecond, limit);
+
+        // 적재 범위 밖(더 과거)에 봉이 더 있을 수 있는데 limit을 채우지 못했으면 캐시로 응답할 수 없음
+        if (!entry.covers(fromEpochSecond) && slice.size() < limit) {
+            return Optional.empty();
+        }
+        return Optional.of(slice);
+    }
+
+    /**
+     * [fromEpochSecond, toEpochSecond] 구간 봉을 시간 오름차순으로 전달
+     *
+     * @return 적재 범위가 구간 시작을 덮지 못하면 아무것도 전달하지 않고 false
+     */
+    public boolean scan(String ticker, String interval, long fromEpochSecond, long toEpochSecond,
+                        StockChartJdbcRepository.BarConsumer consumer) {
+        Entry entry = entry(ticker, interval);
+        if (!entry.covers(fromEpochSecond)) {
+            return false;
+        }
+        entry.series.forEachInRange(fromEpochSecond, toEpochSecond, consumer);
+        return true;
+    }
+
+    public void invalidate(String ticker, String interval) {
+        entries.remove(new SeriesKey(ticker, interval));
+    }
+
+    /**
+     * 다음 조회 시 refresh-ms와 관계없이 새 봉을 읽도록 표시
+     */
+    public void expire(String ticker, String interval) {
+        Entry entry = entries.get(new SeriesKey(ticker, interval));
+        if (entry != null) {
+            entry.expire();
+        }
+    }
+
+    private Entry entry(String ticker, String interval) {
+        SeriesKey key = new SeriesKey(ticker, interval);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() >= maxSeries) {
+                evict();
+            }
+            entry = entries.computeIfAbsent(key, this::load);
+        }
+        entry.touch();
+        refreshIfDue(ticker, interval, entry);
+        return entry;
+    }
+
+    private Entry load(SeriesKey key) {
+        ChartSeries series = new ChartSeries();
+        chartRepository.loadLatest(key.ticker(), key.interval(), maxBars, series::append);
+        log.debug("Chart series loaded - ticker: {}, interval: {}, bars: {}", key.ticker(), key.interval(), series.size());
+        return new Entry(series, series.size() >= maxBars);
+    }
+
+    /**
+     * 마지막 갱신 후 refresh-ms가 지났으면 한 요청만 새 봉을 읽어 추가
+     */
+    private void refreshIfDue(String ticker, String interval, Entry entry) {
+        long now = System.currentTimeMillis();
+        long refreshedAt = entry.refreshedAt;
+        if (now - refreshedAt < refreshMillis || !entry.tryStartRefresh(refreshedAt, now)) {
+            return;
+        }
+
+        try {
+            long last = entry.series.lastEpochSecond();
+            if (last == Long.MIN_VALUE) {
+                chartRepository.loadLatest(ticker, interval, maxBars, entry.series::append);
+            } else {
+                chartRepository.loadAfter(ticker, interval, last, entry.series::append);
+            }
+        } catch (Exception e) {
+            log.warn("Chart series refresh failed - ticker: {}, interval: {}, error: {}", ticker, interval, e.getMessage());
+        }
+    }
+
+    private void evict() {
+        entries.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastAccessedAt))
+                .ifPresent(oldest -> entries.remove(oldest.getKey()));
+    }
+
+    private record SeriesKey(String ticker, String interval) {}
+
+    private static final class Entry {
+
+        private final ChartSeries series;
+        private final boolean truncated;
+        private volatile long refreshedAt = System.currentTimeMillis();
+        private volatile long lastAccessedAt = System.currentTimeMillis();
+
+        private Entry(ChartSeries series, boolean truncated) {
+            this.series = series;
+            this.truncated = truncated;
+        }
+
+        boolean covers(long fromEpochSecond) {
+            return !truncated || fromEpochSecond >= series.firstEpochSecond();
+        }
+
+        void touch() {
+            lastAccessedAt = System.currentTimeMillis();
+        }
+
+        synchronized void expire() {
+            refreshedAt = 0;
+        }
+
+        synchronized boolean tryStartRefresh(long expected, long now) {
+            if (refreshedAt != expected) {
+                return false;
+            }
+            refreshedAt = now;
+            return true;
+        }
+    }
+}
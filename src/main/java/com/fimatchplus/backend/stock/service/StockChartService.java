@@ -0,0 +1,91 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.ChartInterval;
+import com.fimatchplus.backend.stock.domain.StockPrice;
+import com.fimatchplus.backend.stock.dto.StockDetailResponse;
+import com.fimatchplus.backend.stock.repository.StockChartJdbcRepository;
+import com.fimatchplus.backend.stock.repository.StockPriceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 차트 데이터 조회
+ * <ul>
+ *     <li>저장된 주기(1m, 1d)는 {@link StockChartCache}에서 구간을 잘라 반환, 캐시로 응답할 수 없으면 DB 조회</li>
+ *     <li>저장되지 않은 주기(5m, 1h, 1W, 1M 등)는 원본 주기를 한 번 범위 조회하여 {@link OhlcvResampler}로 묶음</li>
+ *     <li>maxPoints가 있으면 limit 대신 구간 전체를 LTTB로 최대 maxPoints개까지 추림 (최소 {@link #MIN_MAX_POINTS})</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockChartService {
+
+    /** LTTB는 첫 봉과 마지막 봉을 항상 포함하므로 maxPoints는 최소 3 */
+    public static final int MIN_MAX_POINTS = ChartSeries.MIN_DOWNSAMPLE_POINTS;
+
+    private final StockChartCache chartCache;
+    private final StockChartJdbcRepository chartRepository;
+    private final StockPriceRepository stockPriceRepository;
+
+    /**
+     * @param maxPoints 0 이하이면 사용하지 않음, 1~2는 {@link #MIN_MAX_POINTS}로 올림
+     * @return 시간 내림차순 봉 목록
+     */
+    public List<StockDetailResponse.ChartData> getChartData(
+            String stockId, String interval, LocalDateTime startDate, LocalDateTime endDate, int limit, int maxPoints) {
+        long from = startDate.toEpochSecond(ZoneOffset.UTC);
+        long to = endDate.toEpochSecond(ZoneOffset.UTC);
+        Optional<ChartInterval> chartInterval = ChartInterval.fromCode(interval).filter(ChartInterval::isResampled);
+
+        if (chartInterval.isEmpty() && maxPoints <= 0) {
+            return chartCache.find(stockId, interval, from, to, limit)
+                    .orElseGet(() -> loadFromDb(stockId, interval, startDate, endDate, limit));
+        }
+
+        ChartSeries series;
+        if (chartInterval.isPresent()) {
+            OhlcvResampler resampler = new OhlcvResampler(chartInterval.get());
+            scan(stockId, chartInterval.get().getSourceCode(), from, to, resampler);
+            series = resampler.finish();
+        } else {
+            series = new ChartSeries();
+            scan(stockId, interval, from, to, series::append);
+        }
+
+        log.debug("Chart built - ticker: {}, interval: {}, bars: {}, maxPoints: {}", stockId, interval, series.size(), maxPoints);
+        return maxPoints > 0
+                ? series.downsampleDescending(maxPoints)
+                : series.sliceDescending(Long.MIN_VALUE, Long.MAX_VALUE, limit);
+    }
+
+    private void scan(String stockId, String interval, long from, long to, StockChartJdbcRepository.BarConsumer consumer) {
+        if (!chartCache.scan(stockId, interval, from, to, consumer)) {
+            chartRepository.loadRange(stockId, interval, from, to, consumer);
+        }
+    }
+
+    private List<StockDetailResponse.ChartData> loadFromDb(
+            String stockId, String interval, LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        List<StockPrice> prices = stockPriceRepository.findByStockCodeAndInterval(
+                stockId, interval, startDate, endDate, PageRequest.of(0, limit)
+        );
+
+        return prices.stream()
+                .map(price -> new StockDetailResponse.ChartData(
+                        price.getDatetime().toInstant(ZoneOffset.UTC),
+                        price.getOpenPrice().doubleValue(),
+                        price.getClosePrice().doubleValue(),
+                        price.getHighPrice().doubleValue(),
+                        price.getLowPrice().doubleValue(),
+                        price.getVolume()))
+                .toList();
+    }
+}
@@ -0,0 +1,154 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.ChartInterval;
+import com.fimatchplus.backend.stock.domain.Stock;
+import com.fimatchplus.backend.stock.repository.LatestStockPriceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 종목 시세/차트 응답 버전 (조건부 GET용 ETag, Last-Modified)
+ * <ul>
+ *     <li>latest_stock_prices의 종목/주기별 updated_at을 주기적으로 메모리에 적재, 요청 시에는 DB를 조회하지 않음</li>
+ *     <li>버전 = 관련 종목/주기 updated_at + 종목 마스터 정보 해시 (+ 오늘 날짜: 조회 구간이 현재 시각 기준인 경우)</li>
+ *     <li>updated_at이 바뀐 종목/주기는 {@link StockChartCache}에서 바로 새 봉을 읽도록 표시하여 버전과 응답 내용이 어긋나지 않게 함</li>
+ *     <li>적재 전이거나 마스터에 없는 종목이면 버전 없음 (조건부 처리 없이 그대로 응답)</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class StockContentVersions {
+
+    private static final String DAILY = "1d";
+
+    private final LatestStockPriceRepository latestStockPriceRepository;
+    private final StockMasterRegistry stockMasterRegistry;
+    private final StockChartCache stockChartCache;
+
+    private volatile Map<SeriesKey, Long> updatedAtByKey = Map.of();
+    private volatile boolean loaded;
+
+    public StockContentVersions(
+            LatestStockPriceRepository latestStockPriceRepository,
+            StockMasterRegistry stockMasterRegistry,
+            StockChartCache stockChartCache) {
+        this.latestStockPriceRepository = latestStockPriceRepository;
+        this.stockMasterRegistry = stockMasterRegistry;
+        this.stockChartCache = stockChartCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${stock.content-version.refresh-ms:5000}",
+            initialDelayString = "${stock.content-version.refresh-ms:5000}")
+    public void refresh() {
+        try {
+            Map<SeriesKey, Long> next = new HashMap<>();
+            for (LatestStockPriceRepository.BarVersion version : latestStockPriceRepository.findAllVersions()) {
+                next.put(new SeriesKey(version.stockCode(), version.intervalUnit()), version.updatedAtMillis());
+            }
+
+            if (loaded) {
+                Map<SeriesKey, Long> previous = updatedAtByKey;
+                next.forEach((key, updatedAt) -> {
+                    if (!updatedAt.equals(previous.get(key))) {
+                        stockChartCache.expire(key.ticker(), key.interval());
+                    }
+                });
+            }
+
+            updatedAtByKey = Map.copyOf(next);
+            loaded = true;
+        } catch (Exception e) {
+            log.warn("Stock content version refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 여러 종목 현재가 (/stocks, 일봉 기준)
+     */
+    public Optional<ContentVersion> forPrices(List<String> tickers) {
+        return version(tickers, List.of(DAILY), false);
+    }
+
+    /**
+     * 종목 상세 (/stocks/detail, 요약은 interval 최신 봉, 차트는 최근 30일)
+     */
+    public Optional<ContentVersion> forDetail(String ticker, String interval) {
+        return version(List.of(ticker), List.of(interval, sourceInterval(interval)).stream().distinct().toList(), true);
+    }
+
+    /**
+     * 차트 (/stocks/chart)
+     *
+     * @param relativeToToday 조회 구간이 요청 시각 기준으로 정해지는지 여부 (시작일 미지정)
+     */
+    public Optional<ContentVersion> forChart(String ticker, String interval, boolean relativeToToday) {
+        return version(List.of(ticker), List.of(sourceInterval(interval)), relativeToToday);
+    }
+
+    private Optional<ContentVersion> version(List<String> tickers, List<String> intervals, boolean relativeToToday) {
+        if (!loaded || tickers.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<SeriesKey, Long> snapshot = updatedAtByKey;
+        long lastModified = 0;
+        long hash = 1;
+        for (String ticker : new LinkedHashSet<>(tickers)) {
+            Optional<Stock> stock = stockMasterRegistry.find(ticker);
+            if (stock.isEmpty()) {
+                return Optional.empty();
+            }
+            hash = 31 * hash + masterHash(stock.get());
+
+            for (String interval : intervals) {
+                // 최신 봉이 아직 없는 주기는 0으로 두고, 봉이 생기면 버전이 바뀜
+                long updatedAt = snapshot.getOrDefault(new SeriesKey(ticker, interval), 0L);
+                hash = 31 * hash + Long.hashCode(updatedAt);
+                lastModified = Math.max(lastModified, updatedAt);
+            }
+        }
+
+        String etag = Long.toHexString(lastModified) + "-" + Long.toHexString(hash);
+        if (relativeToToday) {
+            // 날짜가 바뀌면 조회 구간도 바뀌므로 If-Modified-Since만 보내는 클라이언트도 다시 받도록 함
+            LocalDate today = LocalDate.now(KrxTradingCalendar.KRX_ZONE);
+            etag += "-" + today;
+            lastModified = Math.max(lastModified, today.atStartOfDay(KrxTradingCalendar.KRX_ZONE).toInstant().toEpochMilli());
+        }
+        return Optional.of(new ContentVersion(etag, lastModified > 0 ? lastModified : -1));
+    }
+
+    private static String sourceInterval(String interval) {
+        return ChartInterval.fromCode(interval)
+                .filter(ChartInterval::isResampled)
+                .map(ChartInterval::getSourceCode)
+                .orElse(interval);
+    }
+
+    private static int masterHash(Stock stock) {
+        return Objects.hash(stock.getName(), stock.getEngName(), stock.getExchange(), stock.getIndustryName());
+    }
+
+    /**
+     * @param lastModifiedMillis 알 수 없으면 -1
+     */
+    public record ContentVersion(String etag, long lastModifiedMillis) {}
+
+    private record SeriesKey(String ticker, String interval) {}
+}
@@ -0,0 +1,184 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.Stock;
+import com.fimatchplus.backend.stock.event.StockMasterChangedEvent;
+import com.fimatchplus.backend.stock.repository.StockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 종목 마스터(stocks) 메모리 상주 레지스트리
+ * <ul>
+ *     <li>전체 종목을 읽기 전용 스냅샷으로 보관하고, 갱신 시 새 스냅샷으로 통째로 교체 (조회는 잠금 없음)</li>
+ *     <li>주기적으로, 또는 stock:master:changed 채널 알림을 받으면 다시 읽음</li>
+ *     <li>스냅샷에 없는 종목(신규 상장 등)이나 적재 전 조회는 DB로 조회</li>
+ *     <li>변경된 종목이 있으면 {@link StockMasterChangedEvent} 발행</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class StockMasterRegistry implements MessageListener {
+
+    public static final String CHANGE_CHANNEL = "stock:master:changed";
+
+    private final StockRepository stockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StringRedisTemplate redisTemplate;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public StockMasterRegistry(
+            StockRepository stockRepository,
+            ApplicationEventPublisher eventPublisher,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer) {
+        this.stockRepository = stockRepository;
+        this.eventPublisher = eventPublisher;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${stock.master.refresh-ms:600000}",
+            initialDelayString = "${stock.master.refresh-ms:600000}")
+    public void refresh() {
+        try {
+            swap(stockRepository.findAll());
+        } catch (Exception e) {
+            log.warn("Stock master refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 종목 마스터를 수정한 쪽에서 호출하여 모든 노드가 다시 읽도록 알림
+     */
+    public void notifyChanged() {
+        redisTemplate.convertAndSend(CHANGE_CHANNEL, "changed");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        refresh();
+    }
+
+    public boolean isLoaded() {
+        return snapshot.loaded();
+    }
+
+    public Optional<Stock> find(String ticker) {
+        Stock stock = snapshot.byTicker().get(ticker);
+        if (stock != null) {
+            return Optional.of(stock);
+        }
+        return stockRepository.findByTicker(ticker);
+    }
+
+    /**
+     * ticker 목록에 해당하는 종목 (스냅샷에 없는 종목만 DB 조회)
+     */
+    public List<Stock> findByTickers(Collection<String> tickers) {
+        if (tickers == null || tickers.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Stock> byTicker = snapshot.byTicker();
+        List<Stock> result = new ArrayList<>();
+        List<String> misses = new ArrayList<>();
+        for (String ticker : new LinkedHashSet<>(tickers)) {
+            Stock stock = byTicker.get(ticker);
+            if (stock != null) {
+                result.add(stock);
+            } else {
+                misses.add(ticker);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            log.debug("Stock master miss, loading from DB - tickers: {}", misses);
+            result.addAll(stockRepository.findByTickerIn(misses));
+        }
+        return result;
+    }
+
+    public Map<String, String> findNames(Collection<String> tickers) {
+        Map<String, String> names = new HashMap<>();
+        findByTickers(tickers).forEach(stock -> names.put(stock.getTicker(), stock.getName()));
+        return names;
+    }
+
+    public List<Stock> activeStocks() {
+        return snapshot.active();
+    }
+
+    private synchronized void swap(List<Stock> stocks) {
+        Map<String, Stock> next = new HashMap<>();
+        stocks.forEach(stock -> next.put(stock.getTicker(), stock));
+
+        Map<String, Stock> previous = snapshot.byTicker();
+        Set<String> added = new HashSet<>();
+        Set<String> updated = new HashSet<>();
+        next.forEach((ticker, stock) -> {
+            Stock old = previous.get(ticker);
+            if (old == null) {
+                added.add(ticker);
+            } else if (!sameMasterData(old, stock)) {
+                updated.add(ticker);
+            }
+        });
+        Set<String> removed = new HashSet<>(previous.keySet());
+        removed.removeAll(next.keySet());
+
+        boolean firstLoad = !snapshot.loaded();
+        snapshot = new Snapshot(
+                Map.copyOf(next),
+                next.values().stream().filter(Stock::isActive).toList(),
+                true);
+
+        if (firstLoad || !added.isEmpty() || !updated.isEmpty() || !removed.isEmpty()) {
+            log.info("Stock master swapped - total: {}, added: {}, updated: {}, removed: {}",
+                    next.size(), added.size(), updated.size(), removed.size());
+            eventPublisher.publishEvent(new StockMasterChangedEvent(this, Set.copyOf(added), Set.copyOf(updated), Set.copyOf(removed)));
+        }
+    }
+
+    private boolean sameMasterData(Stock a, Stock b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getEngName(), b.getEngName())
+                && Objects.equals(a.getExchange(), b.getExchange())
+                && Objects.equals(a.getIndustryCode(), b.getIndustryCode())
+                && Objects.equals(a.getIndustryName(), b.getIndustryName())
+                && Objects.equals(a.getMajorCode(), b.getMajorCode())
+                && Objects.equals(a.getMediumCode(), b.getMediumCode())
+                && Objects.equals(a.getMinorCode(), b.getMinorCode())
+                && a.getType() == b.getType()
+                && a.isActive() == b.isActive();
+    }
+
+    private record Snapshot(Map<String, Stock> byTicker, List<Stock> active, boolean loaded) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), List.of(), false);
+    }
+}
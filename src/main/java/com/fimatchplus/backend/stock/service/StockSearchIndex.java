@@ -0,0 +1,291 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.Stock;
+import com.fimatchplus.backend.stock.event.StockMasterChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 활성 종목 메모리 검색 색인
+ * <ul>
+ *     <li>티커/종목명/영문명/종목명 초성을 1·2글자 단위(n-gram)로 색인, 검색어의 n-gram 교집합을 후보로 사용</li>
+ *     <li>초성으로만 된 검색어(ㅅㅅ)는 종목명 초성(ㅅㅅㅈㅈ)과 비교</li>
+ *     <li>정렬은 기존 DB 검색과 동일: 티커 일치 > 종목명 일치 > 영문명 일치 > 티커 접두 > 종목명 접두 > 영문명 접두 > 부분 일치, 같은 등급은 종목명 순</li>
+ *     <li>{@link StockMasterChangedEvent}를 받으면 {@link StockMasterRegistry}의 활성 종목과 비교해 바뀐 종목만 제거/추가</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class StockSearchIndex {
+
+    private static final char HANGUL_BASE = '가';
+    private static final char HANGUL_LAST = '힣';
+    private static final int CHOSUNG_STRIDE = 21 * 28;
+    private static final char[] CHOSUNG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private static final int TIER_TICKER_EXACT = 1;
+    private static final int TIER_NAME_EXACT = 2;
+    private static final int TIER_ENG_NAME_EXACT = 3;
+    private static final int TIER_TICKER_PREFIX = 4;
+    private static final int TIER_NAME_PREFIX = 5;
+    private static final int TIER_ENG_NAME_PREFIX = 6;
+    private static final int TIER_CONTAINS = 7;
+
+    private final StockMasterRegistry stockMasterRegistry;
+
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public StockSearchIndex(StockMasterRegistry stockMasterRegistry) {
+        this.stockMasterRegistry = stockMasterRegistry;
+    }
+
+    @EventListener
+    public void handleStockMasterChanged(StockMasterChangedEvent event) {
+        apply(stockMasterRegistry.activeStocks());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 활성 종목 전체 목록을 받아 추가/변경/삭제된 종목만 색인에 반영
+     */
+    public synchronized void apply(Collection<Stock> activeStocks) {
+        Map<String, Document> next = new HashMap<>();
+        for (Stock stock : activeStocks) {
+            Document document = Document.of(stock);
+            next.put(document.ticker(), document);
+        }
+
+        int removed = 0;
+        for (Document current : List.copyOf(documents.values())) {
+            if (!current.equals(next.get(current.ticker()))) {
+                unindex(current);
+                removed++;
+            }
+        }
+
+        int added = 0;
+        for (Document document : next.values()) {
+            if (!documents.containsKey(document.ticker())) {
+                index(document);
+                added++;
+            }
+        }
+
+        ready = true;
+        if (added > 0 || removed > 0) {
+            log.info("Stock search index updated - added: {}, removed: {}, total: {}", added, removed, documents.size());
+        }
+    }
+
+    /**
+     * @return 정렬 등급 순 검색 결과 (최대 limit건)
+     */
+    public List<Entry> search(String keyword, int limit) {
+        String query = keyword.trim().toLowerCase(Locale.ROOT);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        boolean chosungQuery = isChosungQuery(query);
+        List<Hit> hits = new ArrayList<>();
+        for (String ticker : candidates(query)) {
+            Document document = documents.get(ticker);
+            if (document == null) {
+                continue;
+            }
+            int tier = chosungQuery ? document.chosungTier(query) : document.tier(query);
+            if (tier > 0) {
+                hits.add(new Hit(tier, document));
+            }
+        }
+
+        return hits.stream()
+                .sorted(Comparator.comparingInt(Hit::tier).thenComparing(hit -> hit.document().name()))
+                .limit(limit)
+                .map(hit -> hit.document().entry())
+                .toList();
+    }
+
+    /**
+     * 검색어의 모든 n-gram을 포함하는 종목 (작은 목록부터 교집합)
+     */
+    private Set<String> candidates(String query) {
+        List<Set<String>> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Set<String> posting = postings.get(gram);
+            if (posting == null) {
+                return Set.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void index(Document document) {
+        for (String gram : document.grams()) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(document.ticker());
+        }
+        documents.put(document.ticker(), document);
+    }
+
+    private void unindex(Document document) {
+        documents.remove(document.ticker());
+        for (String gram : document.grams()) {
+            postings.computeIfPresent(gram, (key, tickers) -> {
+                tickers.remove(document.ticker());
+                return tickers.isEmpty() ? null : tickers;
+            });
+        }
+    }
+
+    /**
+     * 한 글자 검색어는 1-gram, 그 외에는 2-gram
+     */
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text.length() == 1) {
+            grams.add(text);
+            return grams;
+        }
+        for (int i = 0; i + 2 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    private static boolean isChosungQuery(String query) {
+        boolean hasChosung = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                return false;
+            }
+            if (isChosung(c)) {
+                hasChosung = true;
+            }
+        }
+        return hasChosung;
+    }
+
+    private static boolean isChosung(char c) {
+        for (char chosung : CHOSUNG) {
+            if (chosung == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 한글 음절은 초성으로, 그 외 문자는 그대로 둔 문자열 (삼성전자 → ㅅㅅㅈㅈ)
+     */
+    static String toChosung(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                builder.append(CHOSUNG[(c - HANGUL_BASE) / CHOSUNG_STRIDE]);
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 검색 결과 항목
+     */
+    public record Entry(String ticker, String name, String industryName) {}
+
+    private record Hit(int tier, Document document) {}
+
+    /**
+     * 색인 단위. 비교용 소문자 키를 미리 계산해 둔다. (키는 원본 필드에서만 파생되므로 record 동등성으로 변경 여부 판단)
+     */
+    private record Document(
+            String ticker,
+            String name,
+            String engName,
+            String industryName,
+            String tickerKey,
+            String nameKey,
+            String engNameKey,
+            String chosungKey
+    ) {
+        static Document of(Stock stock) {
+            String nameKey = stock.getName().toLowerCase(Locale.ROOT);
+            return new Document(
+                    stock.getTicker(),
+                    stock.getName(),
+                    stock.getEngName(),
+                    stock.getIndustryName(),
+                    stock.getTicker().toLowerCase(Locale.ROOT),
+                    nameKey,
+                    stock.getEngName() != null ? stock.getEngName().toLowerCase(Locale.ROOT) : "",
+                    toChosung(nameKey)
+            );
+        }
+
+        Entry entry() {
+            return new Entry(ticker, name, industryName);
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String key : List.of(tickerKey, nameKey, engNameKey, chosungKey)) {
+                for (int i = 0; i < key.length(); i++) {
+                    grams.add(key.substring(i, i + 1));
+                    if (i + 2 <= key.length()) {
+                        grams.add(key.substring(i, i + 2));
+                    }
+                }
+            }
+            return grams;
+        }
+
+        int tier(String query) {
+            if (tickerKey.equals(query)) return TIER_TICKER_EXACT;
+            if (nameKey.equals(query)) return TIER_NAME_EXACT;
+            if (engNameKey.equals(query)) return TIER_ENG_NAME_EXACT;
+            if (tickerKey.startsWith(query)) return TIER_TICKER_PREFIX;
+            if (nameKey.startsWith(query)) return TIER_NAME_PREFIX;
+            if (engNameKey.startsWith(query)) return TIER_ENG_NAME_PREFIX;
+            if (tickerKey.contains(query) || nameKey.contains(query) || engNameKey.contains(query)) return TIER_CONTAINS;
+            return 0;
+        }
+
+        int chosungTier(String query) {
+            if (chosungKey.equals(query)) return TIER_NAME_EXACT;
+            if (chosungKey.startsWith(query)) return TIER_NAME_PREFIX;
+            if (chosungKey.contains(query)) return TIER_CONTAINS;
+            return 0;
+        }
+
+    }
+}
@@ -3,7 +3,7 @@ package com.fimatchplus.backend.stock.service;
 import com.fimatchplus.backend.stock.dto.StockDetailResponse;
 import com.fimatchplus.backend.stock.dto.StockPriceResponse;
 import com.fimatchplus.backend.stock.dto.StockSearchResponse;
-import com.fimatchplus.backend.stock.repository.StockPriceRepository;
+import com.fimatchplus.backend.stock.repository.LatestStockPriceRepository;
 import com.fimatchplus.backend.stock.repository.StockRepository;
 import com.fimatchplus.backend.stock.domain.Stock;
 import com.fimatchplus.backend.stock.domain.StockPrice;
@@ -13,15 +13,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 
 @Slf4j
 @Service
@@ -29,13 +28,26 @@ import org.springframework.data.domain.Pageable;
 public class StockService {
 
     private final StockRepository stockRepository;
-    private final StockPriceRepository stockPriceRepository;
+    private final LatestStockPriceRepository latestStockPriceRepository;
     private final KisPriceClient kisPriceClient;
-
-    public StockService(StockRepository stockRepository, StockPriceRepository stockPriceRepository, KisPriceClient kisPriceClient) {
+    private final ResilientPriceService resilientPriceService;
+    private final KisRealtimePriceTable realtimePriceTable;
+    private final StockSearchIndex stockSearchIndex;
+    private final StockMasterRegistry stockMasterRegistry;
+    private final StockChartService stockChartService;
+
+    public StockService(StockRepository stockRepository, LatestStockPriceRepository latestStockPriceRepository,
+                        KisPriceClient kisPriceClient, ResilientPriceService resilientPriceService,
+                        KisRealtimePriceTable realtimePriceTable, StockSearchIndex stockSearchIndex,
+                        StockMasterRegistry stockMasterRegistry, StockChartService stockChartService) {
         this.stockRepository = stockRepository;
-        this.stockPriceRepository = stockPriceRepository;
+        this.latestStockPriceRepository = latestStockPriceRepository;
         this.kisPriceClient = kisPriceClient;
+        this.resilientPriceService = resilientPriceService;
+        this.realtimePriceTable = realtimePriceTable;
+        this.stockSearchIndex = stockSearchIndex;
+        this.stockMasterRegistry = stockMasterRegistry;
+        this.stockChartService = stockChartService;
     }
 
     @Transactional(readOnly = true, timeout = 15) 
@@ -47,70 +59,45 @@ public class StockService {
         return StockPriceResponse.success(priceDataList);
     }
 
+    /**
+     * 단일 종목 현재가를 KIS API로 조회
+     * 종목명 조회(JPA)는 boundedElastic에서, 시세 조회는 논블로킹으로 수행합니다.
+     *
+     * @param ticker 종목 티커
+     * @return StockPriceResponse 형태의 응답
+     */
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
-    public StockPriceResponse getCurrentPriceForSingle(String ticker) {
-        Stock stock = getStockByTickerWithTransaction(ticker);
+    public Mono<StockPriceResponse> getCurrentPriceForSingle(String ticker) {
+        Mono<Stock> stock = Mono.fromCallable(() -> getStockByTickerWithTransaction(ticker))
+                .subscribeOn(Schedulers.boundedElastic());
+        Mono<QuoteRecord> quote = kisPriceClient.fetchQuoteReactive(ticker)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("KIS quote response is empty")));
 
-        KisQuoteResponse quote = kisPriceClient.fetchQuote(ticker);
-        java.util.Map<String, Object> out = quote != null ? quote.output() : null;
-        if (out == null) {
-            throw new RuntimeException("KIS quote response is empty");
-        }
+        return Mono.zip(stock, quote)
+                .map(tuple -> toSinglePriceResponse(tuple.getT1(), tuple.getT2()));
+    }
 
-        KisParsed parsed = parseKisOutput(out);
+    private StockPriceResponse toSinglePriceResponse(Stock stock, QuoteRecord quote) {
         log.info(
-                "KIS quote - status: {}, name: {}, prpr: {}, vrss: {}, sign: {}, ctrt: {}, mcap: {}",
-                parsed.status, parsed.korName, parsed.currentPrice, parsed.dailyChange, parsed.sign, parsed.dailyRate, parsed.marketCap
+                "KIS quote - prpr: {}, vrss: {}, sign: {}, ctrt: {}, mcap: {}",
+                quote.currentPrice(), quote.changePrice(), quote.sign(), quote.changeRate(), quote.marketCap()
         );
 
         List<StockPriceResponse.StockPriceData> data = List.of(
                 new StockPriceResponse.StockPriceData(
                         stock.getTicker(),
                         stock.getName(),
-                        parsed.currentPrice,
-                        parsed.dailyRate,
-                        parsed.dailyChange,
-                        parsed.marketCap,
-                        parsed.sign
+                        quote.currentPrice(),
+                        quote.changeRate(),
+                        quote.changePrice(),
+                        quote.marketCap(),
+                        quote.sign()
                 )
         );
 
         return StockPriceResponse.success(data);
     }
 
-    private double parseDouble(Object value) {
-        if (value == null) return 0.0;
-        try {
-            return Double.parseDouble(String.valueOf(value));
-        } catch (NumberFormatException e) {
-            return 0.0;
-        }
-    }
-
-    private KisParsed parseKisOutput(java.util.Map<String, Object> out) {
-        KisParsed parsed = new KisParsed();
-        parsed.currentPrice = parseDouble(out.get("stck_prpr"));
-        String signCode = String.valueOf(out.get("prdy_vrss_sign"));
-        parsed.sign = PriceChangeSign.fromCode(signCode);
-        parsed.dailyChange = parseDouble(out.get("prdy_vrss"));
-        parsed.dailyRate = parseDouble(out.get("prdy_ctrt"));
-        parsed.marketCap = parseDouble(out.get("hts_avls"));
-        parsed.status = String.valueOf(out.get("iscd_stat_cls_code"));
-        parsed.korName = String.valueOf(out.get("bstp_kor_isnm"));
-        return parsed;
-    }
-
-    private static class KisParsed {
-        double currentPrice;
-        double dailyChange;
-        double dailyRate;
-        double marketCap;
-        String status;
-        String korName;
-        PriceChangeSign sign;
-    }
-
-
     public StockDetailResponse getStockDetail(String ticker, String interval) {
         Stock stock = getStockByTicker(ticker);
         List<StockDetailResponse.ChartData> chartData = getChartDataForDetail(ticker, interval);
@@ -124,20 +111,21 @@ public class StockService {
     }
 
     public List<StockDetailResponse.ChartData> getChartData(String stockId, String intervalUnit, LocalDateTime startDate, LocalDateTime endDate, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        List<StockPrice> prices = stockPriceRepository.findByStockCodeAndInterval(
-                stockId, intervalUnit, startDate, endDate, pageable
-        );
-
-        return convertToChartDataList(prices);
+        return getChartData(stockId, intervalUnit, startDate, endDate, limit, 0);
     }
 
-    public void sendRealTimeStockPrice(String ticker, double price) {
-        System.out.println("Real-time price update - Ticker: " + ticker + ", Price: " + price);
+    /**
+     * 차트 데이터 조회 ({@link StockChartService} 위임)
+     *
+     * @param maxPoints 0보다 크면 구간 전체를 최대 maxPoints개로 추려서 반환
+     */
+    public List<StockDetailResponse.ChartData> getChartData(String stockId, String intervalUnit, LocalDateTime startDate, LocalDateTime endDate, int limit, int maxPoints) {
+        return stockChartService.getChartData(stockId, intervalUnit, startDate, endDate, limit, maxPoints);
     }
 
     /**
      * 종목 이름 또는 티커로 검색 (기본 정보만)
+     * 메모리 색인({@link StockSearchIndex})이 준비되면 색인에서, 그 전에는 DB에서 검색합니다.
      *
      * @param keyword 검색 키워드 (종목명 또는 티커)
      * @param limit 검색 결과 제한 수 (기본값: 20)
@@ -148,6 +136,13 @@ public class StockService {
             return StockSearchResponse.success(List.of());
         }
 
+        if (stockSearchIndex.isReady()) {
+            List<StockSearchResponse.StockSearchData> searchData = stockSearchIndex.search(keyword, limit).stream()
+                    .map(entry -> StockSearchResponse.StockSearchData.of(entry.ticker(), entry.name(), entry.industryName()))
+                    .collect(Collectors.toList());
+            return StockSearchResponse.success(searchData);
+        }
+
         List<Stock> stocks = stockRepository.searchByNameOrTicker(keyword.trim(), 
                 org.springframework.data.domain.PageRequest.of(0, limit));
         
@@ -170,18 +165,18 @@ public class StockService {
      * @throws RuntimeException 종목을 찾을 수 없는 경우
      */
     public Stock getStockByTicker(String ticker) {
-        return stockRepository.findByTicker(ticker)
+        return stockMasterRegistry.find(ticker)
                 .orElseThrow(() -> new RuntimeException("종목을 찾을 수 없습니다: " + ticker));
     }
 
     @Transactional(readOnly = true, timeout = 5)
     public Stock getStockByTickerWithTransaction(String ticker) {
-        return stockRepository.findByTicker(ticker)
+        return stockMasterRegistry.find(ticker)
                 .orElseThrow(() -> new RuntimeException("종목을 찾을 수 없습니다: " + ticker));
     }
 
     /**
-     * 여러 티커로 주식 정보를 배치 조회합니다.
+     * 여러 티커로 주식 정보를 배치 조회합니다. ({@link StockMasterRegistry} 우선, 없는 종목만 DB 조회)
      *
      * @param tickers 종목 티커 리스트
      * @return Stock 객체 리스트
@@ -190,7 +185,7 @@ public class StockService {
         if (tickers == null || tickers.isEmpty()) {
             return List.of();
         }
-        return stockRepository.findByTickerIn(tickers);
+        return stockMasterRegistry.findByTickers(tickers);
     }
 
     /**
@@ -204,7 +199,7 @@ public class StockService {
         if (tickers == null || tickers.isEmpty()) {
             return List.of();
         }
-        return stockRepository.findByTickerIn(tickers);
+        return stockMasterRegistry.findByTickers(tickers);
     }
 
     /**
@@ -215,32 +210,36 @@ public class StockService {
      * @throws RuntimeException 종목을 찾을 수 없거나 가격 데이터가 없는 경우
      */
     public double getCurrentPrice(String ticker) {
-        StockPrice latestPrice = stockPriceRepository.findFirstByStockCodeAndIntervalUnitOrderByDatetimeDesc(ticker, "1d");
-        if (latestPrice == null) {
-            throw new RuntimeException("가격 데이터를 찾을 수 없습니다: " + ticker);
-        }
+        StockPrice latestPrice = latestStockPriceRepository.findByStockCode(ticker, "1d")
+                .orElseThrow(() -> new RuntimeException("가격 데이터를 찾을 수 없습니다: " + ticker));
         return latestPrice.getClosePrice().doubleValue();
     }
 
 
     /**
      * 멀티 종목의 실시간 현재가를 KIS API로 조회
+     * 종목명 조회(JPA)는 boundedElastic에서, 시세 조회는 논블로킹으로 수행합니다.
      *
      * @param tickers 종목 티커 목록
      * @return StockPriceResponse 형태의 응답
      */
-    @Transactional(propagation = Propagation.NOT_SUPPORTED)
-    public StockPriceResponse getRealtimeStockPrices(List<String> tickers) {
+    public Mono<StockPriceResponse> getRealtimeStockPrices(List<String> tickers) {
         if (tickers == null || tickers.isEmpty()) {
-            return StockPriceResponse.success(List.of());
+            return Mono.just(StockPriceResponse.success(List.of()));
         }
 
-        List<Stock> stocks = getStocksWithTransaction(tickers);
-        Map<String, String> tickerNameMap = stocks.stream()
-                .collect(Collectors.toMap(Stock::getTicker, Stock::getName));
+        Mono<Map<String, String>> tickerNames = Mono.fromCallable(() -> getStocksWithTransaction(tickers).stream()
+                        .collect(Collectors.toMap(Stock::getTicker, Stock::getName)))
+                .subscribeOn(Schedulers.boundedElastic());
 
-        Map<String, StockPriceInfo> priceMap = getMultiCurrentPrices(tickers);
+        return Mono.zip(tickerNames, getMultiCurrentPricesReactive(tickers))
+                .map(tuple -> toRealtimeResponse(tickers, tuple.getT1(), tuple.getT2()));
+    }
 
+    private StockPriceResponse toRealtimeResponse(
+            List<String> tickers,
+            Map<String, String> tickerNameMap,
+            Map<String, StockPriceInfo> priceMap) {
         List<StockPriceResponse.StockPriceData> priceDataList = tickers.stream()
                 .map(ticker -> {
                     String name = tickerNameMap.getOrDefault(ticker, "알 수 없음");
@@ -259,7 +258,8 @@ public class StockService {
                             priceInfo.dailyChangeRate(),
                             priceInfo.dailyChangePrice(),
                             0.0,
-                            priceInfo.sign()
+                            priceInfo.sign(),
+                            priceInfo.stale()
                     );
                 })
                 .collect(Collectors.toList());
@@ -268,60 +268,74 @@ public class StockService {
     }
 
     /**
-     * 여러 종목의 현재가와 전일종가를 KIS API로 조회합니다.
+     * 여러 종목의 현재가와 전일종가를 조회합니다.
+     * 실시간 피드가 정상이면 체결 테이블의 시세를 쓰고, 테이블에 없는 종목만 KIS API로 조회합니다.
+     * 30종목을 넘으면 나누어 조회하며, KIS가 느리거나 실패한 종목은 마지막 시세 또는 DB 종가(stale)로 대신합니다.
      *
      * @param tickers 종목 티커 목록
      * @return 종목별 현재가와 전일종가 정보
      */
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, StockPriceInfo> getMultiCurrentPrices(List<String> tickers) {
+        return getMultiCurrentPricesReactive(tickers).block();
+    }
+
+    /**
+     * {@link #getMultiCurrentPrices(List)}의 논블로킹 버전
+     */
+    public Mono<Map<String, StockPriceInfo>> getMultiCurrentPricesReactive(List<String> tickers) {
+        return getMultiCurrentPricesReactive(tickers, KisRateLimiter.Priority.INTERACTIVE);
+    }
+
+    /**
+     * @param priority KIS 호출 한도 대기 우선순위 (주기 작업은 BACKGROUND)
+     */
+    public Mono<Map<String, StockPriceInfo>> getMultiCurrentPricesReactive(List<String> tickers, KisRateLimiter.Priority priority) {
         if (tickers.isEmpty()) {
-            return Map.of();
+            return Mono.just(Map.of());
         }
 
-        try {
-            KisMultiPriceResponse response = kisPriceClient.fetchMultiPrice(tickers);
-            
-            if (!"0".equals(response.rtCd())) {
-                throw new RuntimeException("KIS API 오류: " + response.msg1());
-            }
-
-            Map<String, StockPriceInfo> priceMap = new HashMap<>();
-            
-            for (KisMultiPriceResponse.ResponseBodyOutput output : response.output()) {
-                try {
-                    String ticker = output.interShrnIscd();
-                    double currentPrice = Double.parseDouble(output.inter2Prpr());
-                    PriceChangeSign sign = PriceChangeSign.fromCode(output.prdyVrssSign());
-                    double dailyChangeRate = parseDouble(output.prdyCtrt());
-                    double dailyChangePrice = parseDouble(output.inter2PrdyVrss());
-                    
-                    priceMap.put(ticker, new StockPriceInfo(currentPrice, dailyChangeRate, dailyChangePrice, sign));
-                } catch (NumberFormatException e) {
-                    log.warn("가격 데이터 파싱 오류 - 종목: {}, 현재가: {}, 전일대비: {}", 
-                            output.interShrnIscd(), output.inter2Prpr(), output.inter2PrdyVrss());
-                }
-            }
-            
-            return priceMap;
-        } catch (Exception e) {
-            log.error("KIS 다중 가격 조회 오류: {}", e.getMessage());
-            throw new RuntimeException("가격 조회 실패: " + e.getMessage());
+        Map<String, StockPriceInfo> streamed = new HashMap<>();
+        realtimePriceTable.getAllIfHealthy(tickers).forEach((ticker, price) -> streamed.put(ticker, price.toPriceInfo()));
+
+        List<String> remaining = tickers.stream()
+                .filter(ticker -> !streamed.containsKey(ticker))
+                .distinct()
+                .toList();
+        if (remaining.isEmpty()) {
+            return Mono.just(streamed);
         }
+
+        return resilientPriceService.fetchPrices(remaining, priority)
+                .map(fetched -> {
+                    if (fetched.isEmpty() && streamed.isEmpty()) {
+                        throw new RuntimeException("가격 조회 실패: 사용 가능한 시세가 없습니다");
+                    }
+                    Map<String, StockPriceInfo> priceMap = new HashMap<>(fetched);
+                    priceMap.putAll(streamed);
+                    return priceMap;
+                });
     }
 
     /**
      * 종목 가격 정보를 담는 레코드
+     *
+     * @param stale KIS 장애로 마지막 시세 또는 DB 종가를 대신 사용한 경우 true
      */
-    public record StockPriceInfo(double currentPrice, double dailyChangeRate, double dailyChangePrice, PriceChangeSign sign) {}
+    public record StockPriceInfo(double currentPrice, double dailyChangeRate, double dailyChangePrice, PriceChangeSign sign, boolean stale) {
+
+        public StockPriceInfo(double currentPrice, double dailyChangeRate, double dailyChangePrice, PriceChangeSign sign) {
+            this(currentPrice, dailyChangeRate, dailyChangePrice, sign, false);
+        }
+    }
 
 
     private List<Stock> findStocksByTickers(List<String> tickers) {
-        return stockRepository.findByTickerIn(tickers);
+        return stockMasterRegistry.findByTickers(tickers);
     }
 
     private List<StockPrice> findLatestPricesByTickers(List<String> tickers) {
-        return stockPriceRepository.findLatestByStockCodesAndInterval(tickers, "1d");
+        return latestStockPriceRepository.findByStockCodes(tickers, "1d");
     }
 
     private List<StockPriceResponse.StockPriceData> convertToStockPriceDataList(List<Stock> stocks, List<StockPrice> latestPrices) {
@@ -379,33 +393,11 @@ public class StockService {
     private List<StockDetailResponse.ChartData> getChartDataForDetail(String ticker, String interval) {
         LocalDateTime endDate = LocalDateTime.now();
         LocalDateTime startDate = endDate.minusDays(30);
-        Pageable pageable = PageRequest.of(0, 100);
-        List<StockPrice> chartPrices = stockPriceRepository.findByStockCodeAndInterval(
-                ticker, interval, startDate, endDate, pageable
-        );
-
-        return convertToChartDataList(chartPrices);
-    }
-
-    private List<StockDetailResponse.ChartData> convertToChartDataList(List<StockPrice> prices) {
-        return prices.stream()
-                .map(this::convertToChartData)
-                .collect(Collectors.toList());
-    }
-
-    private StockDetailResponse.ChartData convertToChartData(StockPrice price) {
-        return new StockDetailResponse.ChartData(
-                price.getDatetime().toInstant(ZoneOffset.UTC),
-                price.getOpenPrice().doubleValue(),
-                price.getClosePrice().doubleValue(),
-                price.getHighPrice().doubleValue(),
-                price.getLowPrice().doubleValue(),
-                price.getVolume()
-        );
+        return getChartData(ticker, interval, startDate, endDate, 100);
     }
 
     private StockDetailResponse.SummaryData createSummaryData(Stock stock, String ticker, String interval) {
-        StockPrice latestPrice = stockPriceRepository.findFirstByStockCodeAndIntervalUnitOrderByDatetimeDesc(ticker, interval);
+        StockPrice latestPrice = latestStockPriceRepository.findByStockCode(ticker, interval).orElse(null);
 
         if (latestPrice == null) {
             return createEmptySummaryData(stock);
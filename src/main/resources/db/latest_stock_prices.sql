@@ -0,0 +1,53 @@
+-- 종목/주기별 최신 봉 (stock_prices 최신 행 투영)
+-- stock_prices에 봉이 들어오면 문장 단위 트리거가 한 번에 upsert 한다. (대량 적재 시에도 행마다 실행되지 않음)
+-- 기존 데이터는 애플리케이션 시작 시 LatestStockPriceBackfillJob이 채운다.
+
+CREATE TABLE IF NOT EXISTS latest_stock_prices (
+    stock_code    VARCHAR(20)    NOT NULL,
+    interval_unit VARCHAR(10)    NOT NULL,
+    datetime      TIMESTAMP      NOT NULL,
+    open_price    NUMERIC(15, 2),
+    high_price    NUMERIC(15, 2),
+    low_price     NUMERIC(15, 2),
+    close_price   NUMERIC(15, 2),
+    volume        BIGINT,
+    change_amount NUMERIC(15, 2),
+    change_rate   NUMERIC(15, 2),
+    updated_at    TIMESTAMP      NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (stock_code, interval_unit)
+);
+
+CREATE OR REPLACE FUNCTION upsert_latest_stock_prices() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO latest_stock_prices AS latest
+        (stock_code, interval_unit, datetime, open_price, high_price, low_price, close_price, volume, change_amount, change_rate, updated_at)
+    SELECT DISTINCT ON (stock_code, interval_unit)
+        stock_code, interval_unit, datetime, open_price, high_price, low_price, close_price, volume, change_amount, change_rate, NOW()
+    FROM new_rows
+    ORDER BY stock_code, interval_unit, datetime DESC
+    ON CONFLICT (stock_code, interval_unit) DO UPDATE SET
+        datetime      = EXCLUDED.datetime,
+        open_price    = EXCLUDED.open_price,
+        high_price    = EXCLUDED.high_price,
+        low_price     = EXCLUDED.low_price,
+        close_price   = EXCLUDED.close_price,
+        volume        = EXCLUDED.volume,
+        change_amount = EXCLUDED.change_amount,
+        change_rate   = EXCLUDED.change_rate,
+        updated_at    = EXCLUDED.updated_at
+    WHERE latest.datetime <= EXCLUDED.datetime;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS stock_prices_latest_insert ON stock_prices;
+CREATE TRIGGER stock_prices_latest_insert
+    AFTER INSERT ON stock_prices
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION upsert_latest_stock_prices();
+
+DROP TRIGGER IF EXISTS stock_prices_latest_update ON stock_prices;
+CREATE TRIGGER stock_prices_latest_update
+    AFTER UPDATE ON stock_prices
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION upsert_latest_stock_prices();
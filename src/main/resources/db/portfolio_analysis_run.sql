@@ -0,0 +1,4 @@
+-- 분석 실행 ID (PortfolioCommandService#startAnalysisRun)
+-- 분석 결과/리포트/실패 콜백은 이 값이 요청 시점의 실행 ID와 같을 때만 반영된다.
+
+ALTER TABLE portfolios ADD COLUMN IF NOT EXISTS analysis_run_id VARCHAR(36);
@@ -0,0 +1,8 @@
+-- 가격 봉 대량 적재(PriceBulkCopyRepository)의 ON CONFLICT 대상 키
+-- 기존 중복 행이 있으면 먼저 정리해야 생성된다.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_stock_prices_code_interval_datetime
+    ON stock_prices (stock_code, interval_unit, datetime);
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS ux_benchmark_prices_code_datetime
+    ON benchmark_prices (index_code, datetime);
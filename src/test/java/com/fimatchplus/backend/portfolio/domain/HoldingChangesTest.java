@@ -0,0 +1,68 @@
+package com.fimatchplus.backend.portfolio.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HoldingChangesTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 10, 1, 9, 0);
+
+    @Test
+    void unchangedHoldingsProduceNoChanges() {
+        List<Holding> existing = List.of(stored(1L, "005930", 10, 0.6), stored(2L, "000660", 5, 0.4));
+
+        HoldingChanges changes = HoldingChanges.between(existing, List.of(
+                desired("005930", 10, 0.6), desired("000660", 5, 0.4)));
+
+        assertThat(changes.isEmpty()).isTrue();
+    }
+
+    @Test
+    void changedHoldingKeepsIdAndCreatedAt() {
+        HoldingChanges changes = HoldingChanges.between(
+                List.of(stored(1L, "005930", 10, 1.0)),
+                List.of(desired("005930", 12, 1.0)));
+
+        assertThat(changes.inserts()).isEmpty();
+        assertThat(changes.deleteIds()).isEmpty();
+        assertThat(changes.updates()).singleElement().satisfies(updated -> {
+            assertThat(updated.id()).isEqualTo(1L);
+            assertThat(updated.createdAt()).isEqualTo(CREATED_AT);
+            assertThat(updated.shares()).isEqualTo(12);
+        });
+    }
+
+    @Test
+    void addedAndRemovedSymbolsBecomeInsertsAndDeletes() {
+        HoldingChanges changes = HoldingChanges.between(
+                List.of(stored(1L, "005930", 10, 0.5), stored(2L, "000660", 5, 0.5)),
+                List.of(desired("005930", 10, 0.5), desired("035420", 3, 0.5)));
+
+        assertThat(changes.inserts()).extracting(Holding::symbol).containsExactly("035420");
+        assertThat(changes.updates()).isEmpty();
+        assertThat(changes.deleteIds()).containsExactly(2L);
+    }
+
+    @Test
+    void duplicateSymbolsArePairedInOrder() {
+        HoldingChanges changes = HoldingChanges.between(
+                List.of(stored(1L, "005930", 10, 0.5), stored(2L, "005930", 5, 0.5)),
+                List.of(desired("005930", 10, 0.5)));
+
+        assertThat(changes.updates()).isEmpty();
+        assertThat(changes.inserts()).isEmpty();
+        assertThat(changes.deleteIds()).containsExactly(2L);
+    }
+
+    private static Holding stored(Long id, String symbol, int shares, double weight) {
+        return Holding.of(id, 7L, symbol, shares, 1000, shares * 1000.0, 10.0, 1.0, weight, CREATED_AT, CREATED_AT);
+    }
+
+    private static Holding desired(String symbol, int shares, double weight) {
+        return Holding.create(7L, symbol, shares, 1000, shares * 1000.0, 10.0, 1.0, weight);
+    }
+}
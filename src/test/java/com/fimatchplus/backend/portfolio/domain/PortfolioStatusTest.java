@@ -0,0 +1,31 @@
+package com.fimatchplus.backend.portfolio.domain;
+
+import com.fimatchplus.backend.portfolio.domain.Portfolio.PortfolioStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PortfolioStatusTest {
+
+    @Test
+    void runningFollowsOnlyIdleStatuses() {
+        assertThat(PortfolioStatus.RUNNING.allowedPrevious())
+                .containsExactlyInAnyOrder(PortfolioStatus.PENDING, PortfolioStatus.COMPLETED, PortfolioStatus.FAILED);
+    }
+
+    @Test
+    void completedOnlyFollowsRunning() {
+        assertThat(PortfolioStatus.COMPLETED.allowedPrevious()).containsExactly(PortfolioStatus.RUNNING);
+    }
+
+    @Test
+    void failedFollowsPendingOrRunning() {
+        assertThat(PortfolioStatus.FAILED.allowedPrevious())
+                .containsExactlyInAnyOrder(PortfolioStatus.PENDING, PortfolioStatus.RUNNING);
+    }
+
+    @Test
+    void pendingFollowsAnyStatus() {
+        assertThat(PortfolioStatus.PENDING.allowedPrevious()).containsExactlyInAnyOrder(PortfolioStatus.values());
+    }
+}
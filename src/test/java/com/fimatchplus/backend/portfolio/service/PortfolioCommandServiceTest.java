@@ -0,0 +1,151 @@
+package com.fimatchplus.backend.portfolio.service;
+
+import com.fimatchplus.backend.common.exception.BusinessException;
+import com.fimatchplus.backend.common.exception.ResourceNotFoundException;
+import com.fimatchplus.backend.portfolio.domain.Portfolio.PortfolioStatus;
+import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
+import com.fimatchplus.backend.portfolio.repository.RulesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PortfolioCommandServiceTest {
+
+    private static final long LEASE_MILLIS = 60_000;
+
+    private PortfolioRepository portfolioRepository;
+    private PortfolioCommandService service;
+
+    @BeforeEach
+    void setUp() {
+        portfolioRepository = mock(PortfolioRepository.class);
+        service = new PortfolioCommandService(
+                portfolioRepository, mock(RulesRepository.class), mock(BenchmarkDeterminerService.class),
+                event -> { }, LEASE_MILLIS);
+    }
+
+    @Test
+    void startRunningAllowsRestartOnlyAfterLease() {
+        when(portfolioRepository.updateStatusToRunning(eq(1L), any(), any(), anyString())).thenReturn(true);
+
+        LocalDateTime before = LocalDateTime.now();
+        String runId = service.startAnalysisRun(1L);
+
+        ArgumentCaptor<LocalDateTime> leaseExpiredBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(portfolioRepository).updateStatusToRunning(
+                eq(1L), eq(EnumSet.of(PortfolioStatus.PENDING, PortfolioStatus.COMPLETED, PortfolioStatus.FAILED)),
+                leaseExpiredBefore.capture(), eq(runId));
+        assertThat(leaseExpiredBefore.getValue())
+                .isBetween(before.minusNanos(LEASE_MILLIS * 1_000_000), LocalDateTime.now().minusNanos(LEASE_MILLIS * 1_000_000));
+        verify(portfolioRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void startRunningWithinLeaseIsRejected() {
+        when(portfolioRepository.updateStatusToRunning(eq(1L), any(), any(), anyString())).thenReturn(false);
+        when(portfolioRepository.findStatusById(1L)).thenReturn(Optional.of(PortfolioStatus.RUNNING));
+
+        assertThatThrownBy(() -> service.startAnalysisRun(1L))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void lateAnalysisResultIsDroppedWithoutFailing() {
+        when(portfolioRepository.updateAnalysisResult(eq(1L), eq("run"), anyString(), eq(PortfolioStatus.COMPLETED), any()))
+                .thenReturn(false);
+        when(portfolioRepository.findStatusById(1L)).thenReturn(Optional.of(PortfolioStatus.PENDING));
+
+        assertThat(service.savePortfolioAnalysisResult(1L, "run", "{}")).isFalse();
+        verify(portfolioRepository, never()).updateRunStatus(eq(1L), any(), eq(PortfolioStatus.FAILED), any());
+    }
+
+    @Test
+    void lateReportAndFailureAreDropped() {
+        when(portfolioRepository.updateReportResult(1L, "run", "report", PortfolioStatus.COMPLETED)).thenReturn(false);
+        when(portfolioRepository.updateRunStatus(eq(1L), eq("run"), eq(PortfolioStatus.FAILED), any())).thenReturn(false);
+        when(portfolioRepository.findStatusById(1L)).thenReturn(Optional.of(PortfolioStatus.COMPLETED));
+
+        assertThat(service.savePortfolioReportResult(1L, "run", "report")).isFalse();
+        assertThat(service.markPortfolioFailed(1L, "run")).isFalse();
+    }
+
+    @Test
+    void resultForMissingPortfolioIsNotFound() {
+        when(portfolioRepository.updateAnalysisResult(eq(1L), any(), anyString(), any(), any())).thenReturn(false);
+        when(portfolioRepository.findStatusById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.savePortfolioAnalysisResult(1L, "run", "{}"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void savedAnalysisResultCompletesRunningPortfolio() {
+        when(portfolioRepository.updateAnalysisResult(1L, "run", "{}", PortfolioStatus.COMPLETED, EnumSet.of(PortfolioStatus.RUNNING)))
+                .thenReturn(true);
+
+        assertThat(service.savePortfolioAnalysisResult(1L, "run", "{}")).isTrue();
+    }
+
+    @Test
+    void callbacksOfRunBeforeEditAreDroppedAndNewRunIsSaved() {
+        AtomicReference<String> currentRunId = new AtomicReference<>();
+        AtomicReference<PortfolioStatus> status = new AtomicReference<>(PortfolioStatus.PENDING);
+        AtomicReference<String> savedResult = new AtomicReference<>();
+        when(portfolioRepository.findStatusById(1L)).thenAnswer(invocation -> Optional.of(status.get()));
+        when(portfolioRepository.updateStatusToRunning(eq(1L), any(), any(), anyString())).thenAnswer(invocation -> {
+            Set<PortfolioStatus> expected = invocation.getArgument(1);
+            if (!expected.contains(status.get())) {
+                return false;
+            }
+            status.set(PortfolioStatus.RUNNING);
+            currentRunId.set(invocation.getArgument(3));
+            return true;
+        });
+        when(portfolioRepository.updateAnalysisResult(eq(1L), anyString(), anyString(), any(), any())).thenAnswer(invocation -> {
+            Set<PortfolioStatus> expected = invocation.getArgument(4);
+            if (!invocation.getArgument(1).equals(currentRunId.get()) || !expected.contains(status.get())) {
+                return false;
+            }
+            savedResult.set(invocation.getArgument(2));
+            status.set(invocation.getArgument(3));
+            return true;
+        });
+        when(portfolioRepository.updateRunStatus(eq(1L), anyString(), any(), any())).thenAnswer(invocation -> {
+            Set<PortfolioStatus> expected = invocation.getArgument(3);
+            if (!invocation.getArgument(1).equals(currentRunId.get()) || !expected.contains(status.get())) {
+                return false;
+            }
+            status.set(invocation.getArgument(2));
+            return true;
+        });
+
+        String oldRun = service.startAnalysisRun(1L);
+        // 분석 중 수정: updatePortfolio가 PENDING으로 저장한 뒤 다시 분석 시작
+        status.set(PortfolioStatus.PENDING);
+        String newRun = service.startAnalysisRun(1L);
+
+        assertThat(service.savePortfolioAnalysisResult(1L, oldRun, "old")).isFalse();
+        assertThat(service.markPortfolioFailed(1L, oldRun)).isFalse();
+        assertThat(status.get()).isEqualTo(PortfolioStatus.RUNNING);
+
+        assertThat(service.savePortfolioAnalysisResult(1L, newRun, "new")).isTrue();
+        assertThat(savedResult.get()).isEqualTo("new");
+        assertThat(status.get()).isEqualTo(PortfolioStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,83 @@
+package com.fimatchplus.backend.portfolio.service;
+
+import com.fimatchplus.backend.portfolio.domain.Holding;
+import com.fimatchplus.backend.portfolio.domain.PortfolioHoldings;
+import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+import com.fimatchplus.backend.stock.service.KisRateLimiter;
+import com.fimatchplus.backend.stock.service.KisRealtimePriceTable;
+import com.fimatchplus.backend.stock.service.StockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PortfolioValuationEngineTest {
+
+    private static final long ACTIVE_WINDOW_MILLIS = 50;
+
+    private PortfolioRepository portfolioRepository;
+    private StockService stockService;
+    private PortfolioValuationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        portfolioRepository = mock(PortfolioRepository.class);
+        stockService = mock(StockService.class);
+        engine = new PortfolioValuationEngine(
+                portfolioRepository, stockService, new PortfolioCalculator(), mock(KisRealtimePriceTable.class),
+                mock(StringRedisTemplate.class), mock(RedisMessageListenerContainer.class), Runnable::run,
+                100, 600_000, ACTIVE_WINDOW_MILLIS);
+
+        when(portfolioRepository.findPortfolioHoldingsByUserId(1L)).thenReturn(List.of(portfolio(10L, "005930")));
+        when(portfolioRepository.findPortfolioHoldingsByUserId(2L)).thenReturn(List.of(portfolio(20L, "000660")));
+        when(stockService.getMultiCurrentPrices(anyList())).thenReturn(Map.of(
+                "005930", price(70000), "000660", price(120000)));
+    }
+
+    @Test
+    void pollOnlyFetchesTickersOfRecentlyActiveUsersInBackground() throws InterruptedException {
+        engine.userTotals(1L);
+        engine.userTotals(2L);
+        Thread.sleep(ACTIVE_WINDOW_MILLIS * 2);
+        engine.cachedUserTotals(2L);
+
+        when(stockService.getMultiCurrentPricesReactive(List.of("000660"), KisRateLimiter.Priority.BACKGROUND))
+                .thenReturn(Mono.just(Map.of("000660", price(121000))));
+        engine.pollPrices();
+
+        verify(stockService).getMultiCurrentPricesReactive(List.of("000660"), KisRateLimiter.Priority.BACKGROUND);
+        assertThat(engine.userTotals(2L).totalAssets()).isEqualTo(121000 * 10);
+    }
+
+    @Test
+    void pollIsSkippedWhenNoUserIsActive() throws InterruptedException {
+        engine.userTotals(1L);
+        Thread.sleep(ACTIVE_WINDOW_MILLIS * 2);
+
+        engine.pollPrices();
+
+        verify(stockService, never()).getMultiCurrentPricesReactive(anyList(), any());
+    }
+
+    private static PortfolioHoldings portfolio(Long id, String ticker) {
+        return new PortfolioHoldings(id, "portfolio", null, List.of(
+                Holding.create(id, ticker, 10, 0, 0, null, null, 1.0)));
+    }
+
+    private static StockService.StockPriceInfo price(double currentPrice) {
+        return new StockService.StockPriceInfo(currentPrice, 0.0, 0.0, PriceChangeSign.FLAT);
+    }
+}
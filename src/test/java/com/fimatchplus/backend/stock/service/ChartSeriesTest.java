@@ -0,0 +1,88 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.dto.StockDetailResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChartSeriesTest {
+
+    @Test
+    void appendsNewerBarsAndIgnoresOlderOnes() {
+        ChartSeries series = new ChartSeries();
+        series.append(60, 1, 1, 1, 1, 1);
+        series.append(120, 2, 2, 2, 2, 2);
+        series.append(90, 9, 9, 9, 9, 9);
+
+        assertThat(closes(series)).containsExactly(1.0, 2.0);
+    }
+
+    @Test
+    void sameTimestampReplacesLastBar() {
+        ChartSeries series = new ChartSeries();
+        series.append(60, 1, 1, 1, 1, 1);
+        series.append(60, 1, 3, 1, 2, 5);
+
+        List<StockDetailResponse.ChartData> bars = series.sliceDescending(Long.MIN_VALUE, Long.MAX_VALUE, 10);
+        assertThat(bars).singleElement().satisfies(bar -> {
+            assertThat(bar.high()).isEqualTo(3.0);
+            assertThat(bar.close()).isEqualTo(2.0);
+            assertThat(bar.volume()).isEqualTo(5L);
+        });
+    }
+
+    @Test
+    void readerInProgressNeverSeesLastBarRewrittenUnderIt() {
+        ChartSeries series = new ChartSeries();
+        series.append(60, 1, 1, 1, 1, 1);
+        series.append(120, 100, 110, 90, 105, 10);
+
+        List<double[]> seen = new ArrayList<>();
+        series.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (time, open, high, low, close, volume) -> {
+            if (time == 60) {
+                series.append(120, 100, 200, 50, 199, 20);
+            }
+            seen.add(new double[]{high, close});
+        });
+
+        assertThat(seen.get(1)).containsExactly(110, 105);
+        assertThat(closes(series)).containsExactly(1.0, 199.0);
+    }
+
+    @Test
+    void growsPastInitialCapacity() {
+        ChartSeries series = new ChartSeries();
+        for (int i = 0; i < 1000; i++) {
+            series.append(i * 60L, i, i, i, i, i);
+        }
+
+        assertThat(series.size()).isEqualTo(1000);
+        assertThat(series.firstEpochSecond()).isZero();
+        assertThat(series.lastEpochSecond()).isEqualTo(999 * 60L);
+    }
+
+    @Test
+    void downsampleKeepsEndpointsAndNeverGoesBelowMinimum() {
+        ChartSeries series = new ChartSeries();
+        for (int i = 0; i < 100; i++) {
+            series.append(i * 60L, i, i, i, i % 7 == 0 ? 50 : i, i);
+        }
+
+        List<StockDetailResponse.ChartData> ten = series.downsampleDescending(10);
+        assertThat(ten).hasSize(10);
+        assertThat(ten.get(0).timestamp().getEpochSecond()).isEqualTo(99 * 60L);
+        assertThat(ten.get(9).timestamp().getEpochSecond()).isZero();
+
+        assertThat(series.downsampleDescending(1)).hasSize(ChartSeries.MIN_DOWNSAMPLE_POINTS);
+        assertThat(series.downsampleDescending(500)).hasSize(100);
+    }
+
+    private static List<Double> closes(ChartSeries series) {
+        List<Double> closes = new ArrayList<>();
+        series.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE, (time, open, high, low, close, volume) -> closes.add(close));
+        return closes;
+    }
+}
@@ -0,0 +1,131 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.exception.KisCircuitOpenException;
+import com.fimatchplus.backend.stock.exception.KisRateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class KisCircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 50;
+
+    private KisCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new KisCircuitBreaker(new SimpleMeterRegistry(), 2, OPEN_MILLIS);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsWithoutCalling() {
+        fail();
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.CLOSED);
+        fail();
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.OPEN);
+
+        boolean[] called = {false};
+        assertThatThrownBy(() -> breaker.protect(() -> {
+            called[0] = true;
+            return Mono.just("ok");
+        }).block())
+                .isInstanceOf(KisCircuitOpenException.class);
+        assertThat(called[0]).isFalse();
+    }
+
+    @Test
+    void successResetsConsecutiveFailures() {
+        fail();
+        succeed();
+        fail();
+
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void rateLimitErrorsAreNotFailures() {
+        rateLimited();
+        rateLimited();
+        rateLimited();
+
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void successfulTrialClosesCircuit() {
+        open();
+        awaitOpenElapsed();
+
+        succeed();
+
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedTrialReopensCircuit() {
+        open();
+        awaitOpenElapsed();
+
+        fail();
+
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+    }
+
+    @Test
+    void rateLimitedTrialReleasesTrialSoNextCallCanTry() {
+        open();
+        awaitOpenElapsed();
+
+        rateLimited();
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isFalse();
+
+        succeed();
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void cancelledTrialReleasesTrial() {
+        open();
+        awaitOpenElapsed();
+
+        breaker.protect(Mono::never).subscribe().dispose();
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.OPEN);
+
+        succeed();
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.CLOSED);
+    }
+
+    private void open() {
+        fail();
+        fail();
+        assertThat(breaker.state()).isEqualTo(KisCircuitBreaker.State.OPEN);
+    }
+
+    private void awaitOpenElapsed() {
+        await().atMost(Duration.ofSeconds(1)).until(() -> !breaker.isOpen());
+    }
+
+    private void succeed() {
+        assertThat(breaker.protect(() -> Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    private void fail() {
+        assertThatThrownBy(() -> breaker.protect(() -> Mono.error(new IllegalStateException("KIS 500"))).block())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void rateLimited() {
+        assertThatThrownBy(() -> breaker.protect(
+                () -> Mono.error(new KisRateLimitExceededException("EGW00201"))).block())
+                .isInstanceOf(KisRateLimitExceededException.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.fimatchplus.backend.stock.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisLatencyTrackerTest {
+
+    private static final KisLatencyTracker.Endpoint QUOTE = KisLatencyTracker.Endpoint.QUOTE;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KisLatencyTracker tracker = new KisLatencyTracker(
+            meterRegistry, 64, 32, 3, 500, 10_000, true, 50, 500, 0.1);
+
+    @Test
+    void refusedPermitDoesNotConsumeHedgeBudgetOrCountAsSent() {
+        assertThat(tracker.tryStartHedge(QUOTE, () -> false)).isFalse();
+        assertThat(sent()).isZero();
+
+        assertThat(tracker.tryStartHedge(QUOTE, () -> true)).isTrue();
+        assertThat(sent()).isEqualTo(1);
+    }
+
+    @Test
+    void permitIsNotRequestedOnceHedgeBudgetIsUsed() {
+        assertThat(tracker.tryStartHedge(QUOTE, () -> true)).isTrue();
+
+        AtomicInteger permitRequests = new AtomicInteger();
+        assertThat(tracker.tryStartHedge(QUOTE, () -> permitRequests.incrementAndGet() > 0)).isFalse();
+        assertThat(permitRequests).hasValue(0);
+    }
+
+    @Test
+    void hedgeDelayFollowsP95OnceEnoughSamples() {
+        assertThat(tracker.hedgeDelay(QUOTE)).isEqualTo(Duration.ofMillis(500));
+
+        for (int i = 1; i <= 64; i++) {
+            tracker.record(QUOTE, Duration.ofMillis(i * 10L).toNanos());
+        }
+
+        assertThat(tracker.hedgeDelay(QUOTE)).isEqualTo(Duration.ofMillis(610));
+    }
+
+    private double sent() {
+        return meterRegistry.get("kis.hedge").tag("endpoint", "quote").tag("outcome", "sent").counter().count();
+    }
+}
@@ -0,0 +1,111 @@
+package com.fimatchplus.backend.stock.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class KisQuoteBatcherTest {
+
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+    private KisQuoteBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    void requestsWithinWindowShareOneCall() throws Exception {
+        batcher = new KisQuoteBatcher(echoLoader(), 50, 30);
+
+        CompletableFuture<Map<String, KisMultiPriceResponse.ResponseBodyOutput>> first =
+                batcher.fetch(List.of("005930", "000660"), KisRateLimiter.Priority.BACKGROUND);
+        CompletableFuture<Map<String, KisMultiPriceResponse.ResponseBodyOutput>> second =
+                batcher.fetch(List.of("000660", "035420"), KisRateLimiter.Priority.INTERACTIVE);
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).containsOnlyKeys("005930", "000660");
+        assertThat(second.get(1, TimeUnit.SECONDS)).containsOnlyKeys("000660", "035420");
+        assertThat(calls).singleElement().satisfies(call -> {
+            assertThat(call.tickers()).containsExactlyInAnyOrder("005930", "000660", "035420");
+            assertThat(call.priority()).isEqualTo(KisRateLimiter.Priority.INTERACTIVE);
+        });
+    }
+
+    @Test
+    void fullBatchIsDispatchedWithoutWaitingForWindow() throws Exception {
+        batcher = new KisQuoteBatcher(echoLoader(), 60_000, 2);
+
+        Map<String, KisMultiPriceResponse.ResponseBodyOutput> result = batcher
+                .fetch(List.of("005930", "000660"), KisRateLimiter.Priority.BACKGROUND)
+                .get(1, TimeUnit.SECONDS);
+
+        assertThat(result).containsOnlyKeys("005930", "000660");
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void inFlightTickerIsNotRequestedAgain() throws Exception {
+        Sinks.One<KisMultiPriceResponse> response = Sinks.one();
+        batcher = new KisQuoteBatcher((tickers, priority) -> {
+            calls.add(new Call(tickers, priority));
+            return response.asMono();
+        }, 10, 30);
+
+        CompletableFuture<Map<String, KisMultiPriceResponse.ResponseBodyOutput>> first =
+                batcher.fetch(List.of("005930"), KisRateLimiter.Priority.BACKGROUND);
+        await().atMost(Duration.ofSeconds(1)).until(() -> calls.size() == 1);
+
+        CompletableFuture<Map<String, KisMultiPriceResponse.ResponseBodyOutput>> second =
+                batcher.fetch(List.of("005930"), KisRateLimiter.Priority.INTERACTIVE);
+        response.tryEmitValue(ok(List.of("005930")));
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).containsOnlyKeys("005930");
+        assertThat(second.get(1, TimeUnit.SECONDS)).containsOnlyKeys("005930");
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void errorResponseFailsEveryWaiter() {
+        batcher = new KisQuoteBatcher((tickers, priority) -> {
+            calls.add(new Call(tickers, priority));
+            return Mono.just(new KisMultiPriceResponse("1", "EGW00201", "초당 거래건수를 초과하였습니다.", null));
+        }, 10, 30);
+
+        CompletableFuture<Map<String, KisMultiPriceResponse.ResponseBodyOutput>> result =
+                batcher.fetch(List.of("005930"), KisRateLimiter.Priority.BACKGROUND);
+
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("초당 거래건수");
+    }
+
+    private BiFunction<List<String>, KisRateLimiter.Priority, Mono<KisMultiPriceResponse>> echoLoader() {
+        return (tickers, priority) -> {
+            calls.add(new Call(tickers, priority));
+            return Mono.just(ok(tickers));
+        };
+    }
+
+    private static KisMultiPriceResponse ok(List<String> tickers) {
+        return new KisMultiPriceResponse("0", "MCA00000", "정상처리", tickers.stream()
+                .map(ticker -> new KisMultiPriceResponse.ResponseBodyOutput(
+                        ticker, null, "1000", "10", "2", "1.01", "990", "995", "1005", "985", "100", "100000"))
+                .toList());
+    }
+
+    private record Call(List<String> tickers, KisRateLimiter.Priority priority) {}
+}
@@ -0,0 +1,93 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KisQuoteCacheTest {
+
+    private RedisTemplate<String, byte[]> redisTemplate;
+    private KisQuoteCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        KrxTradingCalendar calendar = new KrxTradingCalendar(new ByteArrayResource(new byte[0]), "08:30", "09:00", "15:30", 1, 5000);
+        cache = new KisQuoteCache(redisTemplate, mock(ReactiveRedisTemplate.class), calendar, mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(cache, "localMaxSize", 2);
+        ReflectionTestUtils.setField(cache, "localMaxTtlMillis", 60_000L);
+    }
+
+    @Test
+    void secondReadIsServedFromLocalCache() {
+        redisReturns(quote(70000), quote(120000));
+
+        assertThat(cache.getAll(List.of("005930", "000660"))).containsOnlyKeys("005930", "000660");
+        assertThat(cache.getAll(List.of("005930", "000660"))).containsOnlyKeys("005930", "000660");
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void localCacheEvictsLeastRecentlyReadTicker() {
+        redisReturns(quote(70000), quote(120000));
+        cache.getAll(List.of("005930", "000660"));
+        cache.get("005930");
+
+        redisReturns(quote(250000));
+        cache.get("035420");
+
+        cache.get("005930");
+        cache.get("035420");
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+
+        redisReturns(quote(120000));
+        cache.get("000660");
+        verify(redisTemplate, times(3)).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void invalidatedTickerIsReadFromRedisAgain() {
+        redisReturns(quote(70000));
+        cache.get("005930");
+
+        cache.invalidateLocal(List.of("005930"));
+        redisReturns(quote(71000));
+
+        assertThat(cache.get("005930").currentPrice()).isEqualTo(71000);
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+    }
+
+    /**
+     * 파이프라인 응답: [multiGet 값 목록, 종목별 잔여 TTL(ms)...]
+     */
+    private void redisReturns(QuoteRecord... quotes) {
+        List<byte[]> values = Arrays.stream(quotes).map(QuoteRecordCodec::encode).toList();
+        List<Object> replies = new ArrayList<>();
+        replies.add(values);
+        values.forEach(value -> replies.add(5_000L));
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenReturn(replies);
+    }
+
+    private static QuoteRecord quote(long price) {
+        return new QuoteRecord(price, 100, 14, PriceChangeSign.RISE, price - 100, price, price, price, 1000, price * 1000, 0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.exception.KisRateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class KisRateLimiterTest {
+
+    private static final KisRateLimiter.Priority INTERACTIVE = KisRateLimiter.Priority.INTERACTIVE;
+    private static final KisRateLimiter.Priority BACKGROUND = KisRateLimiter.Priority.BACKGROUND;
+
+    @Test
+    void burstIsGrantedImmediatelyThenRefillsAtRate() {
+        KisRateLimiter limiter = limiter(10, 2, 10, 1000);
+
+        assertThat(limiter.tryAcquire(INTERACTIVE)).isTrue();
+        assertThat(limiter.tryAcquire(INTERACTIVE)).isTrue();
+        assertThat(limiter.tryAcquire(INTERACTIVE)).isFalse();
+
+        long start = System.nanoTime();
+        limiter.acquireReactive(INTERACTIVE).block(Duration.ofSeconds(1));
+        long waitedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(waitedMillis).isBetween(50L, 500L);
+    }
+
+    @Test
+    void reactiveWaitersCountTowardsQueueDepthAndLimit() {
+        KisRateLimiter limiter = limiter(1, 1, 1, 5000);
+        assertThat(limiter.tryAcquire(INTERACTIVE)).isTrue();
+
+        Disposable waiter = limiter.acquireReactive(INTERACTIVE).subscribe();
+        assertThat(limiter.queueDepth(INTERACTIVE)).isEqualTo(1);
+
+        assertThatThrownBy(() -> limiter.acquireReactive(BACKGROUND).block(Duration.ofSeconds(1)))
+                .isInstanceOf(KisRateLimitExceededException.class)
+                .hasMessageContaining("queue_full");
+        assertThatThrownBy(() -> limiter.acquire(BACKGROUND))
+                .isInstanceOf(KisRateLimitExceededException.class)
+                .hasMessageContaining("queue_full");
+
+        waiter.dispose();
+        assertThat(limiter.queueDepth(INTERACTIVE)).isZero();
+    }
+
+    @Test
+    void reactiveWaiterTimesOutAndLeavesQueue() {
+        KisRateLimiter limiter = limiter(0.5, 1, 10, 100);
+        assertThat(limiter.tryAcquire(INTERACTIVE)).isTrue();
+
+        assertThatThrownBy(() -> limiter.acquireReactive(INTERACTIVE).block(Duration.ofSeconds(1)))
+                .isInstanceOf(KisRateLimitExceededException.class)
+                .hasMessageContaining("timeout");
+        assertThat(limiter.queueDepth(INTERACTIVE)).isZero();
+    }
+
+    @Test
+    void backgroundYieldsWhileInteractiveIsWaiting() {
+        KisRateLimiter limiter = limiter(5, 1, 10, 2000);
+        assertThat(limiter.tryAcquire(INTERACTIVE)).isTrue();
+
+        StringBuilder order = new StringBuilder();
+        Disposable background = limiter.acquireReactive(BACKGROUND).doOnSuccess(v -> order.append("B")).subscribe();
+        Disposable interactive = limiter.acquireReactive(INTERACTIVE).doOnSuccess(v -> order.append("I")).subscribe();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> order.length() == 2);
+        assertThat(order).hasToString("IB");
+
+        background.dispose();
+        interactive.dispose();
+    }
+
+    private static KisRateLimiter limiter(double permitsPerSecond, double burst, int maxQueue, long maxWaitMillis) {
+        return new KisRateLimiter(new SimpleMeterRegistry(), permitsPerSecond, burst, maxQueue, maxWaitMillis);
+    }
+}
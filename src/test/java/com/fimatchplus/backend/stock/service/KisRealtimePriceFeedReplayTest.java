@@ -0,0 +1,80 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fimatchplus.backend.portfolio.repository.PortfolioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link KisRealtimeReplayServer}에 붙여 수신, 순서 처리, 재연결을 확인
+ */
+class KisRealtimePriceFeedReplayTest {
+
+    private KisRealtimeReplayServer server;
+    private KisRealtimePriceTable table;
+    private KisRealtimePriceFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        server = KisRealtimeReplayServer.fromResource("/kis/realtime-replay.txt");
+
+        KrxTradingCalendar calendar = new KrxTradingCalendar(new ByteArrayResource(new byte[0]), "08:30", "09:00", "15:30", 1, 5000);
+        table = new KisRealtimePriceTable(event -> { }, calendar, 30_000, Long.MAX_VALUE);
+
+        PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+        when(portfolioRepository.findDistinctHeldSymbols()).thenReturn(List.of("005930", "000660"));
+
+        feed = new KisRealtimePriceFeed(WebClient.create(), new ObjectMapper(), table, portfolioRepository, calendar);
+        ReflectionTestUtils.setField(feed, "enabled", true);
+        ReflectionTestUtils.setField(feed, "wsUrl", server.url());
+        ReflectionTestUtils.setField(feed, "configuredApprovalKey", "replay-approval-key");
+        ReflectionTestUtils.setField(feed, "maxSubscriptions", 41);
+        feed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+        server.close();
+    }
+
+    @Test
+    void appliesReplayedTicksAndIgnoresOutOfOrderTick() {
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(table.get("005930")).isNotNull();
+            assertThat(table.get("000660")).isNotNull();
+        });
+
+        assertThat(server.subscribeCount("005930")).isEqualTo(1);
+        assertThat(server.subscribeCount("000660")).isEqualTo(1);
+        assertThat(table.get("005930").currentPrice()).isEqualTo(71100);
+        assertThat(table.get("000660").currentPrice()).isEqualTo(180000);
+        assertThat(feed.isHealthy()).isTrue();
+    }
+
+    @Test
+    void reconnectsAndResubscribesAfterServerDropsConnection() {
+        await().atMost(Duration.ofSeconds(5)).until(() -> table.get("005930") != null);
+
+        server.dropConnections();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(server.connections()).isGreaterThanOrEqualTo(2);
+            assertThat(server.subscribeCount("005930")).isGreaterThanOrEqualTo(2);
+            assertThat(table.get("005930")).isNotNull();
+            assertThat(feed.isHealthy()).isTrue();
+        });
+    }
+}
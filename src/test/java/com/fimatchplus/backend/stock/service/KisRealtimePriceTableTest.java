@@ -0,0 +1,70 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+import com.fimatchplus.backend.stock.event.StockPriceUpdatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisRealtimePriceTableTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private KisRealtimePriceTable table;
+
+    @BeforeEach
+    void setUp() {
+        KrxTradingCalendar calendar = new KrxTradingCalendar(new ByteArrayResource(new byte[0]), "08:30", "09:00", "15:30", 1, 5000);
+        table = new KisRealtimePriceTable(events::add, calendar, 30_000, 120_000);
+    }
+
+    @Test
+    void keepsLatestTickWhenTicksArriveOutOfOrder() {
+        table.update(tick(71100, LocalDateTime.of(2025, 10, 16, 9, 0, 3)));
+        table.update(tick(70900, LocalDateTime.of(2025, 10, 16, 9, 0, 0)));
+
+        assertThat(table.get("005930").currentPrice()).isEqualTo(71100);
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void nextDayMorningTickReplacesPreviousCloseTick() {
+        table.update(tick(71100, LocalDateTime.of(2025, 10, 16, 15, 30, 0)));
+        table.update(tick(71500, LocalDateTime.of(2025, 10, 17, 9, 0, 1)));
+
+        assertThat(table.get("005930").currentPrice()).isEqualTo(71500);
+        assertThat(table.get("005930").tradedAt()).isEqualTo(LocalDateTime.of(2025, 10, 17, 9, 0, 1));
+    }
+
+    @Test
+    void publishesEventOnlyWhenPriceChanges() {
+        table.update(tick(71100, LocalDateTime.of(2025, 10, 16, 9, 0, 3)));
+        table.update(tick(71100, LocalDateTime.of(2025, 10, 16, 9, 0, 4)));
+        table.update(tick(71200, LocalDateTime.of(2025, 10, 16, 9, 0, 5)));
+
+        assertThat(events).hasSize(2);
+        assertThat(((StockPriceUpdatedEvent) events.get(1)).getPriceInfo().currentPrice()).isEqualTo(71200);
+    }
+
+    @Test
+    void disconnectMarksUnhealthyAndClearsTable() {
+        table.markConnected(true);
+        table.update(tick(71100, LocalDateTime.of(2025, 10, 16, 9, 0, 3)));
+        assertThat(table.isHealthy()).isTrue();
+
+        table.markConnected(false);
+
+        assertThat(table.isHealthy()).isFalse();
+        assertThat(table.size()).isZero();
+        assertThat(table.getAllIfHealthy(List.of("005930"))).isEmpty();
+    }
+
+    private static KisRealtimePriceTable.RealtimePrice tick(double price, LocalDateTime tradedAt) {
+        return new KisRealtimePriceTable.RealtimePrice("005930", price, 500, 0.7, PriceChangeSign.RISE, tradedAt);
+    }
+}
@@ -0,0 +1,132 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * KIS 실시간 WebSocket 대역 (로컬 재생 서버)
+ * <ul>
+ *     <li>구독 요청(tr_type=1)에 KIS와 같은 형식의 응답을 보내고, 첫 구독 후 재생 파일의 프레임을 순서대로 전송</li>
+ *     <li>{@link #dropConnections()}로 서버 쪽에서 연결을 끊어 재연결을 시험</li>
+ *     <li>kis.realtime.ws-url에 {@link #url()}, kis.realtime.approval-key에 아무 값이나 넣어 사용</li>
+ * </ul>
+ */
+final class KisRealtimeReplayServer implements AutoCloseable {
+
+    static final String PATH = "/tryitout/H0STCNT0";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> frames;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Map<String, AtomicInteger> subscribeCounts = new ConcurrentHashMap<>();
+    private final Set<Sinks.Many<String>> sessions = ConcurrentHashMap.newKeySet();
+    private final DisposableServer server;
+
+    private KisRealtimeReplayServer(List<String> frames) {
+        this.frames = frames;
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.ws(PATH, (in, out) -> {
+                    connections.incrementAndGet();
+                    Sinks.Many<String> outbound = Sinks.many().unicast().onBackpressureBuffer();
+                    AtomicBoolean replayed = new AtomicBoolean();
+                    sessions.add(outbound);
+                    in.receive().asString()
+                            .doOnNext(message -> handle(message, outbound, replayed))
+                            .doFinally(signal -> {
+                                sessions.remove(outbound);
+                                outbound.tryEmitComplete();
+                            })
+                            .subscribe();
+                    return out.sendString(outbound.asFlux());
+                }))
+                .bindNow();
+    }
+
+    /**
+     * classpath 재생 파일 (한 줄에 한 프레임, 빈 줄과 #으로 시작하는 줄은 무시)
+     */
+    static KisRealtimeReplayServer fromResource(String resource) {
+        try (InputStream input = KisRealtimeReplayServer.class.getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("Replay resource not found: " + resource);
+            }
+            List<String> frames = new ArrayList<>();
+            for (String line : new String(input.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                String frame = line.strip();
+                if (!frame.isEmpty() && !frame.startsWith("#")) {
+                    frames.add(frame);
+                }
+            }
+            return new KisRealtimeReplayServer(frames);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String url() {
+        return "ws://localhost:" + server.port() + PATH;
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    int subscribeCount(String ticker) {
+        AtomicInteger count = subscribeCounts.get(ticker);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * 열린 연결을 모두 서버 쪽에서 종료
+     */
+    void dropConnections() {
+        sessions.forEach(Sinks.Many::tryEmitComplete);
+        sessions.clear();
+    }
+
+    @Override
+    public void close() {
+        dropConnections();
+        server.disposeNow();
+    }
+
+    private void handle(String message, Sinks.Many<String> outbound, AtomicBoolean replayed) {
+        try {
+            JsonNode request = objectMapper.readTree(message);
+            String trType = request.path("header").path("tr_type").asText();
+            String ticker = request.path("body").path("input").path("tr_key").asText();
+            if (!"1".equals(trType)) {
+                return;
+            }
+
+            outbound.tryEmitNext(objectMapper.writeValueAsString(Map.of(
+                    "header", Map.of("tr_id", KisRealtimeTickParser.TR_ID, "tr_key", ticker, "encrypt", "N"),
+                    "body", Map.of("rt_cd", "0", "msg_cd", "OPSP0000", "msg1", "SUBSCRIBE SUCCESS")
+            )));
+
+            subscribeCounts.computeIfAbsent(ticker, key -> new AtomicInteger()).incrementAndGet();
+            if (replayed.compareAndSet(false, true)) {
+                frames.forEach(outbound::tryEmitNext);
+            }
+        } catch (IOException e) {
+            outbound.tryEmitError(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KisRealtimeTickParserTest {
+
+    private static final LocalDate TRADE_DATE = LocalDate.of(2025, 10, 16);
+
+    @Test
+    void parsesEveryRecordInMultiRecordFrame() {
+        String frame = frame(
+                record("005930", "090003", "71100", "2", "600", "0.85"),
+                record("000660", "090004", "180000", "5", "-1000", "-0.55"));
+
+        List<KisRealtimePriceTable.RealtimePrice> ticks = KisRealtimeTickParser.parse(frame, TRADE_DATE);
+
+        assertThat(ticks).hasSize(2);
+        assertThat(ticks.get(0)).isEqualTo(new KisRealtimePriceTable.RealtimePrice(
+                "005930", 71100, 600, 0.85, PriceChangeSign.RISE, LocalDateTime.of(2025, 10, 16, 9, 0, 3)));
+        assertThat(ticks.get(1).ticker()).isEqualTo("000660");
+        assertThat(ticks.get(1).dailyChangePrice()).isEqualTo(-1000);
+        assertThat(ticks.get(1).sign()).isEqualTo(PriceChangeSign.FALL);
+        assertThat(ticks.get(1).tradedAt()).isEqualTo(LocalDateTime.of(2025, 10, 16, 9, 0, 4));
+    }
+
+    @Test
+    void ignoresEncryptedAndOtherTrFrames() {
+        String fields = String.join("^", record("005930", "090003", "71100", "2", "600", "0.85"));
+
+        assertThat(KisRealtimeTickParser.parse("1|H0STCNT0|001|" + fields, TRADE_DATE)).isEmpty();
+        assertThat(KisRealtimeTickParser.parse("0|H0STASP0|001|" + fields, TRADE_DATE)).isEmpty();
+        assertThat(KisRealtimeTickParser.parse("0|H0STCNT0", TRADE_DATE)).isEmpty();
+    }
+
+    @Test
+    void distinguishesDataFramesFromJsonControlMessages() {
+        assertThat(KisRealtimeTickParser.isDataFrame("0|H0STCNT0|001|...")).isTrue();
+        assertThat(KisRealtimeTickParser.isDataFrame("1|H0STCNT0|001|...")).isTrue();
+        assertThat(KisRealtimeTickParser.isDataFrame("{\"header\":{\"tr_id\":\"PINGPONG\"}}")).isFalse();
+        assertThat(KisRealtimeTickParser.isDataFrame("")).isFalse();
+    }
+
+    @SafeVarargs
+    static String frame(List<String>... records) {
+        List<String> fields = new ArrayList<>();
+        for (List<String> record : records) {
+            fields.addAll(record);
+        }
+        return "0|H0STCNT0|%03d|%s".formatted(records.length, String.join("^", fields));
+    }
+
+    static List<String> record(String ticker, String time, String price, String sign, String change, String rate) {
+        List<String> fields = new ArrayList<>(List.of(ticker, time, price, sign, change, rate));
+        fields.addAll(Collections.nCopies(40, "0"));
+        return fields;
+    }
+}
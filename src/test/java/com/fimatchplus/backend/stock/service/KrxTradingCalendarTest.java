@@ -0,0 +1,91 @@
+package com.fimatchplus.backend.stock.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KrxTradingCalendarTest {
+
+    private final KrxTradingCalendar calendar = calendar("""
+            # 개천절, 추석 연휴
+            2025-10-03
+            2025-10-06
+            2025-10-07
+
+            2025-10-08
+            """);
+
+    @Test
+    void weekendsAndHolidaysAreNotTradingDays() {
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 10, 2))).isTrue();
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 10, 3))).isFalse();
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 10, 4))).isFalse();
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 10, 5))).isFalse();
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 10, 8))).isFalse();
+        assertThat(calendar.isTradingDay(LocalDate.of(2025, 10, 9))).isTrue();
+    }
+
+    @Test
+    void quoteActiveFromPreOpenUntilSettleMargin() {
+        assertThat(calendar.isQuoteActive(krx(2025, 10, 2, 8, 29))).isFalse();
+        assertThat(calendar.isQuoteActive(krx(2025, 10, 2, 8, 30))).isTrue();
+        assertThat(calendar.isQuoteActive(krx(2025, 10, 2, 15, 30))).isTrue();
+        assertThat(calendar.isQuoteActive(krx(2025, 10, 2, 15, 31))).isFalse();
+        assertThat(calendar.isQuoteActive(krx(2025, 10, 3, 10, 0))).isFalse();
+    }
+
+    @Test
+    void quoteActiveConvertsToKrxZone() {
+        ZonedDateTime utc = ZonedDateTime.of(2025, 10, 2, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        assertThat(calendar.isQuoteActive(utc)).isTrue();
+        assertThat(calendar.isRegularSession(utc)).isTrue();
+    }
+
+    @Test
+    void regularSessionExcludesPreOpenAndClose() {
+        assertThat(calendar.isRegularSession(krx(2025, 10, 2, 8, 59))).isFalse();
+        assertThat(calendar.isRegularSession(krx(2025, 10, 2, 9, 0))).isTrue();
+        assertThat(calendar.isRegularSession(krx(2025, 10, 2, 15, 29))).isTrue();
+        assertThat(calendar.isRegularSession(krx(2025, 10, 2, 15, 30))).isFalse();
+    }
+
+    @Test
+    void nextQuoteActivationSkipsWeekendsAndHolidays() {
+        assertThat(calendar.nextQuoteActivation(krx(2025, 10, 2, 7, 0))).isEqualTo(krx(2025, 10, 2, 8, 30));
+        assertThat(calendar.nextQuoteActivation(krx(2025, 10, 2, 16, 0))).isEqualTo(krx(2025, 10, 9, 8, 30));
+        assertThat(calendar.nextQuoteActivation(krx(2025, 10, 9, 8, 30))).isEqualTo(krx(2025, 10, 10, 8, 30));
+    }
+
+    @Test
+    void quoteTtlIsNeverShorterThanSessionTtl() {
+        assertThat(calendar.quoteTtl()).isGreaterThanOrEqualTo(Duration.ofMillis(5000));
+    }
+
+    @Test
+    void bundledHolidayFileIsLoaded() {
+        KrxTradingCalendar bundled = new KrxTradingCalendar(
+                new ClassPathResource("krx/holidays.txt"), "08:30", "09:00", "15:30", 1, 5000);
+
+        assertThat(bundled.isTradingDay(LocalDate.of(2025, 10, 6))).isFalse();
+        assertThat(bundled.isTradingDay(LocalDate.of(2026, 2, 17))).isFalse();
+        assertThat(bundled.isTradingDay(LocalDate.of(2026, 2, 19))).isTrue();
+    }
+
+    private static KrxTradingCalendar calendar(String holidays) {
+        return new KrxTradingCalendar(
+                new ByteArrayResource(holidays.getBytes(StandardCharsets.UTF_8)), "08:30", "09:00", "15:30", 1, 5000);
+    }
+
+    private static ZonedDateTime krx(int year, int month, int day, int hour, int minute) {
+        return ZonedDateTime.of(year, month, day, hour, minute, 0, 0, KrxTradingCalendar.KRX_ZONE);
+    }
+}
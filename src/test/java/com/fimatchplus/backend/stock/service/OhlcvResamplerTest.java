@@ -0,0 +1,66 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.ChartInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OhlcvResamplerTest {
+
+    @Test
+    void mergesMinuteBarsIntoFiveMinuteBars() {
+        OhlcvResampler resampler = new OhlcvResampler(ChartInterval.MINUTE_5);
+        resampler.accept(minute(9, 0), 100, 105, 99, 104, 10);
+        resampler.accept(minute(9, 1), 104, 108, 103, 107, 20);
+        resampler.accept(minute(9, 4), 107, 107, 95, 96, 5);
+        resampler.accept(minute(9, 5), 96, 98, 94, 97, 7);
+
+        List<Bar> bars = bars(resampler.finish());
+
+        assertThat(bars).containsExactly(
+                new Bar(minute(9, 0), 100, 108, 95, 96, 35),
+                new Bar(minute(9, 5), 96, 98, 94, 97, 7));
+    }
+
+    @Test
+    void weeklyBarsStartOnMonday() {
+        OhlcvResampler resampler = new OhlcvResampler(ChartInterval.WEEK_1);
+        resampler.accept(day(2025, 10, 1), 100, 110, 90, 105, 1);
+        resampler.accept(day(2025, 10, 2), 105, 120, 100, 115, 2);
+        resampler.accept(day(2025, 10, 9), 115, 118, 111, 112, 3);
+
+        List<Bar> bars = bars(resampler.finish());
+
+        assertThat(bars).containsExactly(
+                new Bar(day(2025, 9, 29), 100, 120, 90, 115, 3),
+                new Bar(day(2025, 10, 6), 115, 118, 111, 112, 3));
+    }
+
+    @Test
+    void emptyInputProducesNoBars() {
+        assertThat(bars(new OhlcvResampler(ChartInterval.MONTH_1).finish())).isEmpty();
+    }
+
+    private static List<Bar> bars(ChartSeries series) {
+        List<Bar> bars = new ArrayList<>();
+        series.forEachInRange(Long.MIN_VALUE, Long.MAX_VALUE,
+                (time, open, high, low, close, volume) -> bars.add(new Bar(time, open, high, low, close, volume)));
+        return bars;
+    }
+
+    private static long minute(int hour, int minute) {
+        return LocalDateTime.of(2025, 10, 2, hour, minute).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long day(int year, int month, int day) {
+        return LocalDate.of(year, month, day).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private record Bar(long time, double open, double high, double low, double close, long volume) {}
+}
@@ -0,0 +1,47 @@
+package com.fimatchplus.backend.stock.service;
+
+import com.fimatchplus.backend.stock.domain.PriceChangeSign;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuoteRecordCodecTest {
+
+    @Test
+    void roundTripsEveryField() {
+        QuoteRecord quote = new QuoteRecord(
+                71500, -300, -42, PriceChangeSign.FALL, 71800, 71900, 72100, 71200,
+                12_345_678L, 883_456_789_000L, 4_268_000L);
+
+        byte[] encoded = QuoteRecordCodec.encode(quote);
+
+        assertThat(encoded).hasSize(QuoteRecordCodec.ENCODED_SIZE);
+        assertThat(QuoteRecordCodec.decode(encoded)).isEqualTo(quote);
+    }
+
+    @Test
+    void roundTripsExtremeValues() {
+        QuoteRecord quote = new QuoteRecord(
+                Long.MAX_VALUE, Long.MIN_VALUE, Integer.MIN_VALUE, PriceChangeSign.UPPER_LIMIT,
+                0, 0, 0, 0, 0, 0, 0);
+
+        assertThat(QuoteRecordCodec.decode(QuoteRecordCodec.encode(quote))).isEqualTo(quote);
+    }
+
+    @Test
+    void malformedValuesDecodeAsMiss() {
+        byte[] encoded = QuoteRecordCodec.encode(
+                new QuoteRecord(1, 0, 0, PriceChangeSign.FLAT, 1, 1, 1, 1, 0, 0, 0));
+
+        byte[] unknownVersion = encoded.clone();
+        unknownVersion[0] = 99;
+        byte[] unknownSign = encoded.clone();
+        unknownSign[1] = (byte) PriceChangeSign.values().length;
+
+        assertThat(QuoteRecordCodec.decode(null)).isNull();
+        assertThat(QuoteRecordCodec.decode(new byte[0])).isNull();
+        assertThat(QuoteRecordCodec.decode(new byte[QuoteRecordCodec.ENCODED_SIZE - 1])).isNull();
+        assertThat(QuoteRecordCodec.decode(unknownVersion)).isNull();
+        assertThat(QuoteRecordCodec.decode(unknownSign)).isNull();
+    }
+}